@@ -7,10 +7,16 @@ its x / y positions at its TOP LEFT CORNER (as done with JLabels).
 Parameters:
 - WIDTH = width of the general bullet object
 - HEIGHT = height of the general bullet object
-- velX = velocity to the x direction of the bullet
-- velY = velocity to the y direction of the bullet
+- velX = velocity to the x direction of the bullet, as a 16.16 fixed-point number of pixels per tick
+(see FixedPoint), so that a bullet fired at any angle keeps its speed
+- velY = velocity to the y direction of the bullet, as a 16.16 fixed-point number of pixels per tick
+- fractionX / fractionY = the fixed-point offset between the exact position of the bullet and its x / y
+position, which is the exact position rounded to the nearest pixel; between -FixedPoint.HALF and
+FixedPoint.HALF
 - bounceCount = count of how many times this bullet has bounced against walls.
  Once this reaches a certain number, the bullet will be removed from the TankGame.
+- bulletStore / storeRow = the store and row this bullet is attached to while in a game (see BulletStore),
+ which then hold its position, velocity and bounce count instead of this object; null / -1 otherwise
 
 For velocities of objects, the positive direction is the direction as x and y increase.
 
@@ -27,63 +33,144 @@ public class Bullet extends TankGameObject {
     public static final int HEIGHT = 5;
     private int velX;
     private int velY;
+    private int fractionX;
+    private int fractionY;
     private int bounceCount;
+    private BulletStore bulletStore;
+    private int storeRow;
 
-    //EFFECTS: creates a bullet at given coordinates with given velocity and bounce count 0
+    //EFFECTS: creates a bullet at given coordinates with given velocity in whole pixels per tick and bounce
+    // count 0
     public Bullet(int posX, int posY, int velX, int velY) {
         super(posX, posY);
-        this.velX = velX;
-        this.velY = velY;
+        this.velX = FixedPoint.toFixed(velX);
+        this.velY = FixedPoint.toFixed(velY);
+        this.fractionX = 0;
+        this.fractionY = 0;
         this.bounceCount = 0;
+        this.bulletStore = null;
+        this.storeRow = -1;
     }
 
     //MODIFIES: this
-    //EFFECTS: moves the bullet by the bullet's velocity
+    //EFFECTS: moves the bullet by the bullet's velocity, to its exact position rounded to the nearest pixel
     public void moveBullet() {
-        setLocation(getX() + this.velX, getY() + this.velY);
+        int nextFractionX = getFractionX() + getFixedVelX();
+        int nextFractionY = getFractionY() + getFixedVelY();
+        int moveX = FixedPoint.round(nextFractionX);
+        int moveY = FixedPoint.round(nextFractionY);
+        setLocation(getX() + moveX, getY() + moveY);
+        setFraction(nextFractionX - FixedPoint.toFixed(moveX), nextFractionY - FixedPoint.toFixed(moveY));
+    }
+
+    @Override
+    //MODIFIES: this
+    //EFFECTS: moves the TOP LEFT CORNER of this bullet to the given coordinates
+    public void setLocation(int posX, int posY) {
+        if (this.bulletStore == null) {
+            super.setLocation(posX, posY);
+        } else {
+            this.bulletStore.setLocation(this.storeRow, posX, posY);
+        }
     }
 
     //SETTER SEEMING SIMPLE ENOUGH TO NOT NEED ANY TESTS
     //MODIFIES: this
-    //EFFECTS: sets the bullet's velocity to the given one
+    //EFFECTS: sets the bullet's velocity to the given one, in whole pixels per tick
     public void setBulletVelocity(int velX, int velY) {
-        this.velX = velX;
-        this.velY = velY;
+        setFixedPointVelocity(FixedPoint.toFixed(velX), FixedPoint.toFixed(velY));
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sets the bullet's velocity to the given one, in 16.16 fixed-point pixels per tick
+    public void setFixedPointVelocity(int fixedVelX, int fixedVelY) {
+        if (this.bulletStore == null) {
+            this.velX = fixedVelX;
+            this.velY = fixedVelY;
+        } else {
+            this.bulletStore.setFixedVelocity(this.storeRow, fixedVelX, fixedVelY);
+        }
+    }
+
+    //REQUIRES: -FixedPoint.HALF <= fractionX, fractionY <= FixedPoint.HALF
+    //MODIFIES: this
+    //EFFECTS: sets the fixed-point offset between the exact position of the bullet and its position
+    public void setFraction(int fractionX, int fractionY) {
+        if (this.bulletStore == null) {
+            this.fractionX = fractionX;
+            this.fractionY = fractionY;
+        } else {
+            this.bulletStore.setFraction(this.storeRow, fractionX, fractionY);
+        }
     }
 
     //MODIFIES: this
     //EFFECTS: increases the bounce count against walls by 1
     public void increaseBounceCount() {
-        this.bounceCount++;
+        if (this.bulletStore == null) {
+            this.bounceCount++;
+        } else {
+            this.bulletStore.increaseBounceCount(this.storeRow);
+        }
     }
 
     @Override
     //EFFECTS: returns a JSON object equivalent to this bullet
     public JSONObject toJson() {
         JSONObject jsonObject = super.toJson();
-        jsonObject.put("velX", this.velX);
-        jsonObject.put("velY", this.velY);
-        jsonObject.put("bounceCount", this.bounceCount);
+        jsonObject.put("velX", getVelX());
+        jsonObject.put("velY", getVelY());
+        jsonObject.put("fixedVelX", getFixedVelX());
+        jsonObject.put("fixedVelY", getFixedVelY());
+        jsonObject.put("bounceCount", getBounceCount());
         return jsonObject;
     }
 
     //EFFECTS: returns true if the given bullet and this bullet have the same parameters
     public boolean hasIdenticalProperties(Bullet comparedBullet) {
         return (super.hasIdenticalProperties(comparedBullet)
-                && (this.getVelX() == comparedBullet.getVelX())
-                && (this.getVelY() == comparedBullet.getVelY()));
+                && (this.getFixedVelX() == comparedBullet.getFixedVelX())
+                && (this.getFixedVelY() == comparedBullet.getFixedVelY()));
+    }
+
+    @Override
+    public int getX() {
+        return (this.bulletStore == null) ? super.getX() : this.bulletStore.getX(this.storeRow);
+    }
+
+    @Override
+    public int getY() {
+        return (this.bulletStore == null) ? super.getY() : this.bulletStore.getY(this.storeRow);
     }
 
+    //EFFECTS: returns the x velocity of this bullet, rounded to whole pixels per tick
     public int getVelX() {
-        return this.velX;
+        return FixedPoint.round(getFixedVelX());
     }
 
+    //EFFECTS: returns the y velocity of this bullet, rounded to whole pixels per tick
     public int getVelY() {
-        return this.velY;
+        return FixedPoint.round(getFixedVelY());
+    }
+
+    public int getFixedVelX() {
+        return (this.bulletStore == null) ? this.velX : this.bulletStore.getFixedVelX(this.storeRow);
+    }
+
+    public int getFixedVelY() {
+        return (this.bulletStore == null) ? this.velY : this.bulletStore.getFixedVelY(this.storeRow);
+    }
+
+    public int getFractionX() {
+        return (this.bulletStore == null) ? this.fractionX : this.bulletStore.getFractionX(this.storeRow);
+    }
+
+    public int getFractionY() {
+        return (this.bulletStore == null) ? this.fractionY : this.bulletStore.getFractionY(this.storeRow);
     }
 
     public int getBounceCount() {
-        return this.bounceCount;
+        return (this.bulletStore == null) ? this.bounceCount : this.bulletStore.getBounceCount(this.storeRow);
     }
 
     @Override
@@ -121,4 +208,39 @@ public class Bullet extends TankGameObject {
         return Bullet.COLOR;
     }
 
+    //MODIFIES: this
+    //EFFECTS: attaches this bullet to the given row of the given store, which holds its state from now on;
+    // a bullet attached to another store is detached from it first
+    void attachTo(BulletStore bulletStore, int storeRow) {
+        if (this.bulletStore != null && this.bulletStore != bulletStore) {
+            detachFrom(this.bulletStore);
+        }
+        this.bulletStore = bulletStore;
+        this.storeRow = storeRow;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: if this bullet is attached to the given store, keeps the state its row holds and detaches from it
+    void detachFrom(BulletStore bulletStore) {
+        if (this.bulletStore != bulletStore) {
+            return;
+        }
+        super.setLocation(getX(), getY());
+        this.velX = getFixedVelX();
+        this.velY = getFixedVelY();
+        this.fractionX = getFractionX();
+        this.fractionY = getFractionY();
+        this.bounceCount = getBounceCount();
+        this.bulletStore = null;
+        this.storeRow = -1;
+    }
+
+    BulletStore getBulletStore() {
+        return this.bulletStore;
+    }
+
+    int getStoreRow() {
+        return this.storeRow;
+    }
+
 }
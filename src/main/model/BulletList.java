@@ -0,0 +1,51 @@
+package model;
+
+/*
+Represents the list of bullets of a tank, which counts every change made to it, so that the bullet store of a
+game can tell whether the list changed since it was last copied into the store, whatever the change: bullets
+added, removed or replaced in place, even when the size of the list stays the same.
+Ranges of the list (see subList) can only be read, so that no change goes around the count.
+Has fields:
+- replacements = the number of bullets replaced in place with set, which ArrayList does not count as changes
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class BulletList extends ArrayList<Bullet> {
+    private int replacements;
+
+    //EFFECTS: creates an empty list of bullets
+    public BulletList() {
+        super();
+    }
+
+    //EFFECTS: creates a list of the given bullets, in order
+    public BulletList(Collection<? extends Bullet> bullets) {
+        super(bullets);
+    }
+
+    @Override
+    //MODIFIES: this
+    //EFFECTS: replaces the bullet at the given index with the given bullet, counting it as a change, and returns
+    // the bullet replaced
+    public Bullet set(int index, Bullet bullet) {
+        this.replacements++;
+        return super.set(index, bullet);
+    }
+
+    @Override
+    //EFFECTS: returns a view of the bullets from index from, included, to index to, which cannot be modified
+    public List<Bullet> subList(int from, int to) {
+        return Collections.unmodifiableList(super.subList(from, to));
+    }
+
+    //EFFECTS: returns the number of changes made to this list since it was created; it differs from one call to
+    // the next if and only if the list was changed in between
+    public int getModificationCount() {
+        return this.modCount + this.replacements;
+    }
+
+}
@@ -0,0 +1,602 @@
+package model;
+
+/*
+Represents the bullets of a tank game stored as parallel columns of ints (struct of arrays), one row per bullet,
+so that the passes moving bullets and checking their collisions go through contiguous memory instead of
+following a reference to each Bullet object.
+Every column lies in one buffer of ints, held on the heap or off it (see StateBackend), column after column,
+each capacity rows long; growing the store or changing its backend copies the rows in use into a new buffer.
+A Bullet added to the store is attached to its row: its getters and setters read and write the row, so the
+Bullet objects held in the lists of the game stay valid handles on the bullets. A removed row is filled with
+the last row (swap-remove), the Bullet of the moved row being attached to its new row; a removed bullet is
+detached, keeping the values it had in the store.
+Each bullet also gets an entity id when added, made of a slot index and the generation of that slot, which
+stays valid wherever its row moves (swap-remove or compaction), and no longer matches any bullet once the
+bullet is gone, even if its slot is reused; a bullet removed and added again gets a new id. A slot whose
+generation runs out of bits is retired instead of reused, so that its ids never come back: each slot serves
+2^(31 - SLOT_BITS) bullets. Clearing the store starts the ids over, reclaiming every slot, so that a store
+reused for game after game does not run out of them: ids must not be kept past a clear. Adding a bullet while
+all 2^SLOT_BITS slots are taken or retired, without a clear, throws IllegalStateException.
+A bullet can also be destroyed in O(1) during a pass over the rows: it is detached and its id released at
+once, but its row stays in place, empty, until removeDestroyed drops every destroyed row in one compaction
+pass keeping the order of the others. Until then, rows keep their index, and destroyed rows still count for
+their owner.
+The rows can be written to a buffer and read back (see writeRows) with one bulk copy per column, the ids
+being left out: rows read back get new ids.
+Rows can also be added straight from ints (see addRow). Rows added that way or read back are given the Bullet
+objects of the bullets removed by clearReusingBullets, and new ones only once those run out, so that a store
+emptied and filled again game after game keeps the same Bullet objects.
+Has fields:
+- NO_OWNER = the owner of a bullet without tank owner
+- NO_ID = an id never given to a bullet
+- SNAPSHOT_COLUMNS = the number of columns writeRows writes: every column but ID
+- ROW_FIELDS = the number of ints addRow reads for a row: every column but OWNER and ID
+- columns = the buffer holding the columns, in the memory of stateBackend:
+  - POSITION_X / POSITION_Y = the coordinate of the TOP LEFT CORNER of each bullet
+  - VELOCITY_X / VELOCITY_Y = the velocity of each bullet, in 16.16 fixed-point pixels per tick (see Bullet)
+  - FRACTION_X / FRACTION_Y = the fixed-point offset between the exact position of each bullet and its position
+  - BOUNCE_COUNT = the number of times each bullet bounced against walls
+  - OWNER = the owner id of each bullet, given by the game (see CollisionHandler), or NO_OWNER
+  - ID = the entity id of the bullet of each row: its generation in the high bits and its slot in the low
+  SLOT_BITS bits
+- capacity = the number of rows each column can hold
+- bullets = the Bullet object attached to each row; null for a destroyed row
+- size = the number of rows in the store, destroyed ones included
+- ownerCounts = the number of rows of each owner, at index owner + 1
+- slotRows = the row of the bullet holding each slot; -1 if the slot is free
+- slotGenerations = the generation of each slot, increased every time the slot is released; a slot released
+with generation GENERATION_MASK is retired, its generation then matching no id
+- freeSlots = a stack of the released slots not retired, numberOfFreeSlots long; numberOfSlots slots were ever
+used
+- numberOfDestroyed = the number of destroyed rows not removed yet
+- spareBullets = the Bullet objects kept by clearReusingBullets to be attached to rows again,
+numberOfSpareBullets long, and never more than capacity
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BulletStore {
+    public static final int NO_OWNER = -1;
+    public static final int NO_ID = -1;
+    public static final int SNAPSHOT_COLUMNS = 8;
+    public static final int ROW_FIELDS = 7;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+    private static final int POSITION_X = 0;
+    private static final int POSITION_Y = 1;
+    private static final int VELOCITY_X = 2;
+    private static final int VELOCITY_Y = 3;
+    private static final int FRACTION_X = 4;
+    private static final int FRACTION_Y = 5;
+    private static final int BOUNCE_COUNT = 6;
+    private static final int OWNER = 7;
+    private static final int ID = 8;
+    private static final int NUMBER_OF_COLUMNS = 9;
+
+    private StateBackend stateBackend;
+    private IntBuffer columns;
+    private int capacity;
+    private Bullet[] bullets;
+    private int size;
+    private int[] ownerCounts;
+    private int[] slotRows;
+    private int[] slotGenerations;
+    private int[] freeSlots;
+    private int numberOfFreeSlots;
+    private int numberOfSlots;
+    private int numberOfDestroyed;
+    private Bullet[] spareBullets;
+    private int numberOfSpareBullets;
+
+    //EFFECTS: creates a store holding no bullet, on the heap
+    public BulletStore() {
+        this(StateBackend.HEAP);
+    }
+
+    //EFFECTS: creates a store holding no bullet, in the memory of the given backend
+    public BulletStore(StateBackend stateBackend) {
+        this.stateBackend = stateBackend;
+        this.columns = stateBackend.allocateInts(NUMBER_OF_COLUMNS * INITIAL_CAPACITY);
+        this.capacity = INITIAL_CAPACITY;
+        this.bullets = new Bullet[INITIAL_CAPACITY];
+        this.size = 0;
+        this.ownerCounts = new int[1];
+        this.slotRows = new int[INITIAL_CAPACITY];
+        this.slotGenerations = new int[INITIAL_CAPACITY];
+        this.freeSlots = new int[INITIAL_CAPACITY];
+        this.numberOfFreeSlots = 0;
+        this.numberOfSlots = 0;
+        this.numberOfDestroyed = 0;
+        this.spareBullets = new Bullet[0];
+        this.numberOfSpareBullets = 0;
+    }
+
+    //REQUIRES: owner >= NO_OWNER
+    //MODIFIES: this and bullet
+    //EFFECTS: adds a row holding the current state of the given bullet under the given owner, with a new
+    // entity id, attaches the bullet to it and returns the row; a bullet already in this store is moved to
+    // the new row. Throws IllegalStateException, changing nothing, if no slot is left for its id
+    public int add(Bullet bullet, int owner) {
+        checkIdLeft();
+        if (bullet.getBulletStore() == this) {
+            remove(bullet.getStoreRow());
+        }
+        ensureCapacity(this.size + 1, owner);
+        int row = this.size;
+        put(POSITION_X, row, bullet.getX());
+        put(POSITION_Y, row, bullet.getY());
+        put(VELOCITY_X, row, bullet.getFixedVelX());
+        put(VELOCITY_Y, row, bullet.getFixedVelY());
+        put(FRACTION_X, row, bullet.getFractionX());
+        put(FRACTION_Y, row, bullet.getFractionY());
+        put(BOUNCE_COUNT, row, bullet.getBounceCount());
+        put(OWNER, row, owner);
+        attachRow(row, bullet);
+        return row;
+    }
+
+    //REQUIRES: owner >= NO_OWNER, and fields holds ROW_FIELDS ints from offset on: x, y, fixed-point x and y
+    // velocity, x and y sub-pixel offset, and bounce count
+    //MODIFIES: this
+    //EFFECTS: adds a row holding the given ints under the given owner, with a new entity id, attaches a Bullet
+    // kept by clearReusingBullets to it, or a new Bullet if none is left, and returns the row. Throws
+    // IllegalStateException, changing nothing, if no slot is left for its id
+    public int addRow(int[] fields, int offset, int owner) {
+        checkIdLeft();
+        ensureCapacity(this.size + 1, owner);
+        int row = this.size;
+        for (int column = 0; column < ROW_FIELDS; column++) {
+            put(column, row, fields[offset + column]);
+        }
+        put(OWNER, row, owner);
+        attachRow(row, takeSpareBullet());
+        return row;
+    }
+
+    //REQUIRES: 0 <= row < size()
+    //MODIFIES: this and the bullets of the given row and of the last row
+    //EFFECTS: detaches the bullet of the given row and releases its id, unless the row was destroyed, and
+    // fills the row with the last row
+    public void remove(int row) {
+        Bullet removedBullet = this.bullets[row];
+        if (removedBullet != null) {
+            removedBullet.detachFrom(this);
+            releaseId(row);
+        } else {
+            this.numberOfDestroyed--;
+        }
+        this.ownerCounts[getOwner(row) + 1]--;
+        int last = this.size - 1;
+        if (row != last) {
+            moveRow(last, row);
+        }
+        this.bullets[last] = null;
+        this.size--;
+    }
+
+    //REQUIRES: 0 <= row < size()
+    //MODIFIES: this and the bullet of the given row
+    //EFFECTS: detaches the bullet of the given row and releases its id, leaving the row in place until
+    // removeDestroyed is called; does nothing if the row was already destroyed
+    public void destroy(int row) {
+        Bullet destroyedBullet = this.bullets[row];
+        if (destroyedBullet == null) {
+            return;
+        }
+        destroyedBullet.detachFrom(this);
+        releaseId(row);
+        this.bullets[row] = null;
+        this.numberOfDestroyed++;
+    }
+
+    //MODIFIES: this and the bullets moved to another row
+    //EFFECTS: removes every destroyed row in one pass, keeping the order of the other rows
+    public void removeDestroyed() {
+        if (this.numberOfDestroyed == 0) {
+            return;
+        }
+        int kept = 0;
+        for (int row = 0; row < this.size; row++) {
+            if (this.bullets[row] == null) {
+                this.ownerCounts[getOwner(row) + 1]--;
+            } else {
+                if (kept != row) {
+                    moveRow(row, kept);
+                }
+                kept++;
+            }
+        }
+        Arrays.fill(this.bullets, kept, this.size, null);
+        this.size = kept;
+        this.numberOfDestroyed = 0;
+    }
+
+    //MODIFIES: this and every bullet of the given owner
+    //EFFECTS: removes every bullet of the given owner
+    public void removeBulletsOf(int owner) {
+        for (int row = this.size - 1; row >= 0 && countBulletsOf(owner) > 0; row--) {
+            if (getOwner(row) == owner) {
+                remove(row);
+            }
+        }
+    }
+
+    //MODIFIES: this and every bullet in the store
+    //EFFECTS: removes every bullet, and starts the entity ids over: every slot is free again, retired ones
+    // included, and ids given before no longer tell bullets apart
+    public void clear() {
+        for (int row = 0; row < this.size; row++) {
+            if (this.bullets[row] != null) {
+                this.bullets[row].detachFrom(this);
+                this.bullets[row] = null;
+            }
+        }
+        Arrays.fill(this.ownerCounts, 0);
+        this.size = 0;
+        this.numberOfDestroyed = 0;
+        Arrays.fill(this.slotGenerations, 0, this.numberOfSlots, 0);
+        this.numberOfFreeSlots = 0;
+        this.numberOfSlots = 0;
+    }
+
+    //MODIFIES: this and every bullet in the store
+    //EFFECTS: removes every bullet as clear does, keeping their Bullet objects, up to capacity of them in all,
+    // to attach them to the rows added later by addRow or readRows; the Bullet objects removed must no longer
+    // be used, as they may come back as handles on other bullets
+    public void clearReusingBullets() {
+        if (this.spareBullets.length < this.capacity) {
+            this.spareBullets = Arrays.copyOf(this.spareBullets, this.capacity);
+        }
+        for (int row = 0; row < this.size && this.numberOfSpareBullets < this.capacity; row++) {
+            if (this.bullets[row] != null) {
+                this.spareBullets[this.numberOfSpareBullets++] = this.bullets[row];
+            }
+        }
+        clear();
+    }
+
+    //REQUIRES: no row is destroyed
+    //MODIFIES: buffer
+    //EFFECTS: writes the rows into the given buffer from its position on, advancing it past them: the number
+    // of rows, and then each of the first SNAPSHOT_COLUMNS columns in order, one int per row, each column
+    // copied in one bulk copy
+    public void writeRows(ByteBuffer buffer) {
+        buffer.putInt(this.size);
+        IntBuffer target = buffer.asIntBuffer();
+        for (int column = 0; column < SNAPSHOT_COLUMNS; column++) {
+            target.put(column * this.size, this.columns, column * this.capacity, this.size);
+        }
+        buffer.position(buffer.position() + Integer.BYTES * SNAPSHOT_COLUMNS * this.size);
+    }
+
+    //REQUIRES: this store is empty, and the buffer holds rows written by writeRows from its position on
+    //MODIFIES: this and buffer
+    //EFFECTS: reads the rows at the position of the given buffer, advancing it past them, each column in one
+    // bulk copy, and attaches a Bullet, as addRow does, with a new entity id to each row
+    public void readRows(ByteBuffer buffer) {
+        int numberOfRows = buffer.getInt();
+        ensureCapacity(numberOfRows, NO_OWNER);
+        IntBuffer source = buffer.asIntBuffer();
+        for (int column = 0; column < SNAPSHOT_COLUMNS; column++) {
+            this.columns.put(column * this.capacity, source, column * numberOfRows, numberOfRows);
+        }
+        buffer.position(buffer.position() + Integer.BYTES * SNAPSHOT_COLUMNS * numberOfRows);
+        for (int row = 0; row < numberOfRows; row++) {
+            ensureCapacity(numberOfRows, getOwner(row));
+            attachRow(row, takeSpareBullet());
+        }
+    }
+
+    //REQUIRES: newOwner >= NO_OWNER
+    //MODIFIES: this
+    //EFFECTS: gives every bullet of the given owner to newOwner
+    public void changeOwner(int owner, int newOwner) {
+        int count = countBulletsOf(owner);
+        if (count == 0 || owner == newOwner) {
+            return;
+        }
+        ensureCapacity(this.size, newOwner);
+        for (int row = 0; row < this.size; row++) {
+            if (getOwner(row) == owner) {
+                put(OWNER, row, newOwner);
+            }
+        }
+        this.ownerCounts[owner + 1] = 0;
+        this.ownerCounts[newOwner + 1] += count;
+    }
+
+    //EFFECTS: returns the number of bullets of the given owner
+    public int countBulletsOf(int owner) {
+        return (owner + 1 < this.ownerCounts.length) ? this.ownerCounts[owner + 1] : 0;
+    }
+
+    //EFFECTS: returns a new list of the bullets of the given owner, in row order, leaving destroyed rows out
+    public List<Bullet> getBulletsOf(int owner) {
+        List<Bullet> bulletsOfOwner = new ArrayList<>(countBulletsOf(owner));
+        for (int row = 0; row < this.size && bulletsOfOwner.size() < countBulletsOf(owner); row++) {
+            if (getOwner(row) == owner && this.bullets[row] != null) {
+                bulletsOfOwner.add(this.bullets[row]);
+            }
+        }
+        return bulletsOfOwner;
+    }
+
+    //EFFECTS: returns the row of the given bullet; or -1 if it is not in this store
+    public int rowOf(Bullet bullet) {
+        return (bullet.getBulletStore() == this) ? bullet.getStoreRow() : -1;
+    }
+
+    //EFFECTS: returns the row of the bullet with the given entity id; or -1 if that bullet was destroyed or
+    // removed, or the id was never given
+    public int rowOfId(int id) {
+        int slot = id & SLOT_MASK;
+        if (id < 0 || slot >= this.numberOfSlots || this.slotGenerations[slot] != id >>> SLOT_BITS) {
+            return -1;
+        }
+        return this.slotRows[slot];
+    }
+
+    //EFFECTS: returns true if the bullet with the given entity id is in the store and was not destroyed
+    public boolean isAlive(int id) {
+        return rowOfId(id) != -1;
+    }
+
+    //EFFECTS: returns true if the given row was destroyed and not removed yet
+    public boolean isDestroyed(int row) {
+        return this.bullets[row] == null;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: moves the bullet of the given row to the given coordinate
+    public void setLocation(int row, int posX, int posY) {
+        put(POSITION_X, row, posX);
+        put(POSITION_Y, row, posY);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sets the velocity of the bullet of the given row, in whole pixels per tick
+    public void setVelocity(int row, int velX, int velY) {
+        setFixedVelocity(row, FixedPoint.toFixed(velX), FixedPoint.toFixed(velY));
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sets the velocity of the bullet of the given row, in 16.16 fixed-point pixels per tick
+    public void setFixedVelocity(int row, int fixedVelX, int fixedVelY) {
+        put(VELOCITY_X, row, fixedVelX);
+        put(VELOCITY_Y, row, fixedVelY);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sets the fixed-point offset between the exact position of the bullet of the given row and its
+    // position
+    public void setFraction(int row, int fractionX, int fractionY) {
+        put(FRACTION_X, row, fractionX);
+        put(FRACTION_Y, row, fractionY);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds the x velocity of the bullet of the given row to its exact x position, and returns by how
+    // many whole pixels its position moves so that it stays the exact position rounded; the position itself
+    // is left unchanged
+    public int advanceFractionX(int row) {
+        int nextFraction = get(FRACTION_X, row) + get(VELOCITY_X, row);
+        int move = FixedPoint.round(nextFraction);
+        put(FRACTION_X, row, nextFraction - FixedPoint.toFixed(move));
+        return move;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: same as advanceFractionX, along y
+    public int advanceFractionY(int row) {
+        int nextFraction = get(FRACTION_Y, row) + get(VELOCITY_Y, row);
+        int move = FixedPoint.round(nextFraction);
+        put(FRACTION_Y, row, nextFraction - FixedPoint.toFixed(move));
+        return move;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: reflects the velocity and the exact position of the bullet of the given row along the x axis if
+    // alongX, and along the y axis if alongY, as it bounces off a wall
+    public void reflect(int row, boolean alongX, boolean alongY) {
+        if (alongX) {
+            put(VELOCITY_X, row, -get(VELOCITY_X, row));
+            put(FRACTION_X, row, -get(FRACTION_X, row));
+        }
+        if (alongY) {
+            put(VELOCITY_Y, row, -get(VELOCITY_Y, row));
+            put(FRACTION_Y, row, -get(FRACTION_Y, row));
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: increases the bounce count of the bullet of the given row by 1
+    public void increaseBounceCount(int row) {
+        put(BOUNCE_COUNT, row, get(BOUNCE_COUNT, row) + 1);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: moves the rows of the store into the memory of the given backend
+    public void setStateBackend(StateBackend stateBackend) {
+        if (stateBackend != this.stateBackend) {
+            this.stateBackend = stateBackend;
+            this.columns = copyColumns(this.capacity);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getX(int row) {
+        return get(POSITION_X, row);
+    }
+
+    public int getY(int row) {
+        return get(POSITION_Y, row);
+    }
+
+    //EFFECTS: returns the x velocity of the bullet of the given row, rounded to whole pixels per tick
+    public int getVelX(int row) {
+        return FixedPoint.round(get(VELOCITY_X, row));
+    }
+
+    //EFFECTS: returns the y velocity of the bullet of the given row, rounded to whole pixels per tick
+    public int getVelY(int row) {
+        return FixedPoint.round(get(VELOCITY_Y, row));
+    }
+
+    public int getFixedVelX(int row) {
+        return get(VELOCITY_X, row);
+    }
+
+    public int getFixedVelY(int row) {
+        return get(VELOCITY_Y, row);
+    }
+
+    public int getFractionX(int row) {
+        return get(FRACTION_X, row);
+    }
+
+    public int getFractionY(int row) {
+        return get(FRACTION_Y, row);
+    }
+
+    public int getBounceCount(int row) {
+        return get(BOUNCE_COUNT, row);
+    }
+
+    public int getOwner(int row) {
+        return get(OWNER, row);
+    }
+
+    //EFFECTS: returns the bullet of the given row; or null if the row was destroyed
+    public Bullet getBullet(int row) {
+        return this.bullets[row];
+    }
+
+    //EFFECTS: returns the entity id of the bullet of the given row; or an id no longer matching any bullet
+    // if the row was destroyed
+    public int getId(int row) {
+        return get(ID, row);
+    }
+
+    public int getNumberOfDestroyed() {
+        return this.numberOfDestroyed;
+    }
+
+    public StateBackend getStateBackend() {
+        return this.stateBackend;
+    }
+
+    //EFFECTS: returns the value of the given column in the given row
+    private int get(int column, int row) {
+        return this.columns.get(column * this.capacity + row);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sets the value of the given column in the given row
+    private void put(int column, int row, int value) {
+        this.columns.put(column * this.capacity + row, value);
+    }
+
+    //MODIFIES: this and the bullet of the row moved
+    //EFFECTS: copies the row from into the row to, attaching its bullet to its new row unless it was destroyed
+    private void moveRow(int from, int to) {
+        for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+            put(column, to, get(column, from));
+        }
+        this.bullets[to] = this.bullets[from];
+        if (this.bullets[to] != null) {
+            this.bullets[to].attachTo(this, to);
+            this.slotRows[getId(to) & SLOT_MASK] = to;
+        }
+    }
+
+    //REQUIRES: row == size(), and every column of the row but ID is set
+    //MODIFIES: this and bullet
+    //EFFECTS: makes the given row part of the store, with a new entity id, and attaches the given bullet to it
+    private void attachRow(int row, Bullet bullet) {
+        put(ID, row, allocateId(row));
+        this.bullets[row] = bullet;
+        this.ownerCounts[getOwner(row) + 1]++;
+        this.size++;
+        bullet.attachTo(this, row);
+    }
+
+    //EFFECTS: returns a Bullet kept by clearReusingBullets and not added to a store since, taking it; or a new
+    // Bullet if none is left
+    private Bullet takeSpareBullet() {
+        while (this.numberOfSpareBullets > 0) {
+            Bullet bullet = this.spareBullets[--this.numberOfSpareBullets];
+            this.spareBullets[this.numberOfSpareBullets] = null;
+            if (bullet.getBulletStore() == null) {
+                return bullet;
+            }
+        }
+        return new Bullet(0, 0, 0, 0);
+    }
+
+    //EFFECTS: throws IllegalStateException if every slot is taken or retired, so that no id can be given
+    private void checkIdLeft() {
+        if (this.numberOfFreeSlots == 0 && this.numberOfSlots > SLOT_MASK) {
+            throw new IllegalStateException("No entity id is left; the store must be cleared");
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: takes a free slot, or a slot never used, for the bullet of the given row and returns its id
+    private int allocateId(int row) {
+        if (this.numberOfFreeSlots == 0 && this.numberOfSlots == this.slotRows.length) {
+            int newLength = this.slotRows.length * 2;
+            this.slotRows = Arrays.copyOf(this.slotRows, newLength);
+            this.slotGenerations = Arrays.copyOf(this.slotGenerations, newLength);
+            this.freeSlots = Arrays.copyOf(this.freeSlots, newLength);
+        }
+        int slot = (this.numberOfFreeSlots > 0) ? this.freeSlots[--this.numberOfFreeSlots] : this.numberOfSlots++;
+        this.slotRows[slot] = row;
+        return (this.slotGenerations[slot] << SLOT_BITS) | slot;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: releases the slot of the bullet of the given row, moving its generation on so that its id no
+    // longer matches any bullet; the slot is retired if its generation went past GENERATION_MASK
+    private void releaseId(int row) {
+        int slot = getId(row) & SLOT_MASK;
+        this.slotRows[slot] = -1;
+        this.slotGenerations[slot]++;
+        if (this.slotGenerations[slot] <= GENERATION_MASK) {
+            this.freeSlots[this.numberOfFreeSlots++] = slot;
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: grows the columns and arrays so that they fit the given number of rows, and the given owner
+    private void ensureCapacity(int capacity, int owner) {
+        if (capacity > this.capacity) {
+            int newCapacity = Math.max(capacity, this.capacity * 2);
+            this.columns = copyColumns(newCapacity);
+            this.capacity = newCapacity;
+            this.bullets = Arrays.copyOf(this.bullets, newCapacity);
+        }
+        if (owner + 1 >= this.ownerCounts.length) {
+            this.ownerCounts = Arrays.copyOf(this.ownerCounts, Math.max(owner + 2, this.ownerCounts.length * 2));
+        }
+    }
+
+    //EFFECTS: returns a new buffer in the memory of stateBackend holding the rows in use, with columns of the
+    // given capacity
+    private IntBuffer copyColumns(int newCapacity) {
+        IntBuffer newColumns = this.stateBackend.allocateInts(NUMBER_OF_COLUMNS * newCapacity);
+        for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+            newColumns.put(column * newCapacity, this.columns, column * this.capacity, this.size);
+        }
+        return newColumns;
+    }
+
+}
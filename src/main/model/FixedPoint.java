@@ -0,0 +1,36 @@
+package model;
+
+/*
+Represents 16.16 fixed-point numbers, held in plain ints: the high 16 bits are the whole part, and the low
+FRACTION_BITS bits the fraction, in 1 / ONE steps. Adding and comparing them is integer arithmetic, exact
+and identical on every machine, so a simulation stepping with them replays the same from the same state.
+Has fields:
+- FRACTION_BITS = the number of bits of the fraction
+- ONE / HALF = the fixed-point numbers 1 and 0.5
+ */
+
+public final class FixedPoint {
+    public static final int FRACTION_BITS = 16;
+    public static final int ONE = 1 << FRACTION_BITS;
+    public static final int HALF = ONE >> 1;
+
+    //EFFECTS: the class only has static conversions, and is never instantiated
+    private FixedPoint() {
+    }
+
+    //EFFECTS: returns the fixed-point number equal to the given whole number
+    public static int toFixed(int value) {
+        return value << FRACTION_BITS;
+    }
+
+    //EFFECTS: returns the fixed-point number nearest to the given value
+    public static int fromDouble(double value) {
+        return (int) Math.round(value * ONE);
+    }
+
+    //EFFECTS: returns the whole number nearest to the given fixed-point number, halves rounded up
+    public static int round(int fixed) {
+        return (fixed + HALF) >> FRACTION_BITS;
+    }
+
+}
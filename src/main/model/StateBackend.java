@@ -0,0 +1,26 @@
+package model;
+
+/*
+Denotes the memory the numeric state of a tank game can be held in, so that it can be chosen per game:
+- HEAP = ordinary Java arrays on the heap, the default, which suits a few games
+- OFF_HEAP = direct buffers outside the heap, which suits running thousands of games at once: their state
+is never scanned nor moved by the garbage collector, and each store of it is one contiguous block of memory
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+public enum StateBackend {
+    HEAP, OFF_HEAP;
+
+    //REQUIRES: length >= 0
+    //EFFECTS: returns a new buffer of the given number of ints, all 0, held in the memory of this backend
+    public IntBuffer allocateInts(int length) {
+        if (this == OFF_HEAP) {
+            return ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return IntBuffer.allocate(length);
+    }
+
+}
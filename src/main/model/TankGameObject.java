@@ -3,10 +3,11 @@ package model;
 /*
 Class representing a general tank game object upon which different objects could be built.
 Used so that this type of object can be used to calculate collisions with walls.
-It is extending a JLabel, given that every TankGameObject will be displayed as a JLabel.
+It only holds plain int fields, and is drawn by the ui package, so that the model runs without any display
+and a moving object only updates its two coordinates.
 Has the basic parameters of:
-- An X position on the screen (inherited from Component, indicating the TOP LEFT CORNER of the object)
-- A Y position on the scree (inherited from Component, indicating the TOP LEFT CORNER of the object)
+- An X position on the screen (indicating the TOP LEFT CORNER of the object)
+- A Y position on the screen (indicating the TOP LEFT CORNER of the object)
 - A width
 - A height
 
@@ -15,20 +16,27 @@ LAST REVISED: 03/31/2022
 
 import org.json.JSONObject;
 
-import javax.swing.*;
 import java.awt.*;
 
-//fixme might not have to extend a jlabel, but rather just have its top left corner pos
-public abstract class TankGameObject extends JLabel implements Writable {
+public abstract class TankGameObject implements Writable {
     public static final int WIDTH = -1;
     public static final int HEIGHT = -1;
     //A set color for each TankGameObject type
 
+    private int posX;
+    private int posY;
+
     //EFFECTS: Creates a new TankGameObject with the given positions X and Y, and the width and height
     // unique of this object's class
     public TankGameObject(int posX, int posY) {
         setLocation(posX, posY);
-        setSize(getPreferredSize());
+    }
+
+    //MODIFIES: this
+    //EFFECTS: moves the TOP LEFT CORNER of this object to the given coordinates
+    public void setLocation(int posX, int posY) {
+        this.posX = posX;
+        this.posY = posY;
     }
 
     //EFFECTS: convert this specific object into its JSON Object form
@@ -57,6 +65,14 @@ public abstract class TankGameObject extends JLabel implements Writable {
                 && (tankGameObject.getBottomEdgeY() >= getTopEdgeY()));
     }
 
+    public int getX() {
+        return this.posX;
+    }
+
+    public int getY() {
+        return this.posY;
+    }
+
     public abstract int getTopEdgeY();
 
     public abstract int getBottomEdgeY();
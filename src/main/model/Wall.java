@@ -218,24 +218,33 @@ public class Wall extends TankGameObject {
         return coordinateYIfObjectCollidesAndIsPushedBack(bullet.getVelX(), bullet.getVelY(), bullet);
     }
 
-    //fixme change it to overriding equals and hashcode
     //EFFECTS: returns true if the given wall object has posX and posY equal to that of this wall
     public boolean hasIdenticalProperties(Wall comparedWall) {
         return (super.hasIdenticalProperties(comparedWall));
     }
 
-    //fixme CHANGE hashCode AND equals, and then remove this method
     //EFFECTS: returns true if the given list of walls includes an object with identical posX and posY
     // to this wall object
     public boolean wallWithIdenticalPropertyContained(List<Wall> wallList) {
-        boolean result = false;
-        for (Wall w : wallList) {
-            if (hasIdenticalProperties(w)) {
-                result = true;
-                break;
-            }
+        return wallList.contains(this);
+    }
+
+    //EFFECTS: returns true if the given object is a wall with posX and posY equal to that of this wall
+    @Override
+    public boolean equals(Object other) {
+        if (other == null) {
+            return false;
         }
-        return result;
+        if (other.getClass() != this.getClass()) {
+            return false;
+        }
+        return hasIdenticalProperties((Wall) other);
+    }
+
+    //EFFECTS: returns a hash code packing posX and posY of this wall, equal for walls that are equal
+    @Override
+    public int hashCode() {
+        return (getX() << 16) ^ getY();
     }
 
     //EFFECTS: given the x coordinate of a point, return the x coordinate of the TOP LEFT CORNER of the wall
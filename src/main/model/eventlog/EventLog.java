@@ -24,10 +24,10 @@ public class EventLog implements Iterable<Event> {
     private Collection<Event> events;
 
     /**
-     * Prevent external construction.
-     * (Singleton Design Pattern).
+     * Creates an event log of its own, apart from the instance,
+     * for a game run alongside others (see TankGame.setEventLog).
      */
-    private EventLog() {
+    public EventLog() {
         events = new ArrayList<>();
     }
 
@@ -37,7 +37,7 @@ public class EventLog implements Iterable<Event> {
      * (Singleton Design Pattern)
      * @return  instance of EventLog
      */
-    public static EventLog getInstance() {
+    public static synchronized EventLog getInstance() {
         if (theLog == null) {
             theLog = new EventLog();
         }
@@ -0,0 +1,70 @@
+package model.tankgame;
+
+/*
+Represents the part shared by every BroadPhase implementation: the edges of every box added since the
+last clear, stored by index in growing arrays that are kept from one tick to the next.
+Has fields:
+- lefts / tops / rights / bottoms = the edges of each box
+- numberOfBoxes = the number of boxes added since the last clear
+ */
+
+import java.util.Arrays;
+
+public abstract class AbstractBroadPhase implements BroadPhase {
+    private static final int INITIAL_CAPACITY = 64;
+
+    protected int[] lefts;
+    protected int[] tops;
+    protected int[] rights;
+    protected int[] bottoms;
+    protected int numberOfBoxes;
+
+    //EFFECTS: creates a broad phase holding no box
+    public AbstractBroadPhase() {
+        this.lefts = new int[INITIAL_CAPACITY];
+        this.tops = new int[INITIAL_CAPACITY];
+        this.rights = new int[INITIAL_CAPACITY];
+        this.bottoms = new int[INITIAL_CAPACITY];
+        this.numberOfBoxes = 0;
+    }
+
+    @Override
+    public void clear() {
+        this.numberOfBoxes = 0;
+    }
+
+    @Override
+    public int add(int left, int top, int right, int bottom) {
+        if (this.numberOfBoxes == this.lefts.length) {
+            int newCapacity = this.numberOfBoxes * 2;
+            this.lefts = Arrays.copyOf(this.lefts, newCapacity);
+            this.tops = Arrays.copyOf(this.tops, newCapacity);
+            this.rights = Arrays.copyOf(this.rights, newCapacity);
+            this.bottoms = Arrays.copyOf(this.bottoms, newCapacity);
+        }
+        int index = this.numberOfBoxes;
+        this.lefts[index] = left;
+        this.tops[index] = top;
+        this.rights[index] = right;
+        this.bottoms[index] = bottom;
+        this.numberOfBoxes++;
+        return index;
+    }
+
+    @Override
+    public int getNumberOfBoxes() {
+        return this.numberOfBoxes;
+    }
+
+    //EFFECTS: returns true if the box at the given index overlaps the box with the given edges
+    protected boolean overlaps(int index, int left, int top, int right, int bottom) {
+        return this.lefts[index] <= right && this.rights[index] >= left
+                && this.tops[index] <= bottom && this.bottoms[index] >= top;
+    }
+
+    //EFFECTS: returns true if the boxes at the two given indices overlap
+    protected boolean overlaps(int index1, int index2) {
+        return overlaps(index1, this.lefts[index2], this.tops[index2], this.rights[index2], this.bottoms[index2]);
+    }
+
+}
@@ -0,0 +1,120 @@
+package model.tankgame;
+
+/*
+Represents a batch of independent tank games stepped at once on a pool of worker threads, as when running
+large numbers of matches to train AI on. The games are split into one contiguous shard per worker; a shard is
+only ever stepped by one thread at a time, and each game gets an event log of its own, so that games never
+share mutable state.
+The batch steps either in lockstep, every game finishing a tick before any game starts the next, or freely,
+every shard stepping all of its ticks on its own. A game which ends is no longer stepped.
+Has fields:
+- worlds = the games of the batch
+- ticksStepped = the number of ticks each game was stepped
+- shards = the bounds of each shard: shard k holds the games from shards[k], included, to shards[k + 1]
+- pool = the worker threads stepping the shards
+ */
+
+import model.eventlog.EventLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntBinaryOperator;
+
+public class BatchSimulation implements AutoCloseable {
+    private final List<TankGame> worlds;
+    private final int[] ticksStepped;
+    private final int[] shards;
+    private final ForkJoinPool pool;
+
+    //REQUIRES: threads > 0
+    //MODIFIES: every game in worlds
+    //EFFECTS: creates a batch of the given games, giving each one an event log of its own, stepped by the given
+    // number of worker threads
+    public BatchSimulation(List<TankGame> worlds, int threads) {
+        this.worlds = new ArrayList<>(worlds);
+        this.ticksStepped = new int[worlds.size()];
+        int numberOfShards = Math.max(1, Math.min(threads, worlds.size()));
+        this.shards = new int[numberOfShards + 1];
+        for (int shard = 0; shard <= numberOfShards; shard++) {
+            this.shards[shard] = (int) ((long) worlds.size() * shard / numberOfShards);
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.worlds.forEach(world -> world.setEventLog(new EventLog()));
+    }
+
+    //MODIFIES: this and every game of the batch
+    //EFFECTS: steps every game not over the given number of ticks, all games finishing a tick before any
+    // starts the next; the player tank of each game is given inputs.applyAsInt(game index, tick) every tick,
+    // ticks being counted from 0 in this call
+    public void stepInLockstep(int ticks, IntBinaryOperator inputs) {
+        for (int tick = 0; tick < ticks; tick++) {
+            stepShards(tick, tick + 1, inputs);
+        }
+    }
+
+    //MODIFIES: this and every game of the batch
+    //EFFECTS: steps every game not over the given number of ticks, each shard going through its ticks without
+    // waiting for the others; the player tank of each game is given inputs as in stepInLockstep
+    public void stepFreely(int ticks, IntBinaryOperator inputs) {
+        stepShards(0, ticks, inputs);
+    }
+
+    //EFFECTS: returns the number of games of the batch which are over
+    public int countGamesOver() {
+        return (int) this.worlds.stream().filter(TankGame::isGameOver).count();
+    }
+
+    //EFFECTS: returns the number of games of the batch won by their player tank
+    public int countGamesWon() {
+        return (int) this.worlds.stream().filter(TankGame::isWon).count();
+    }
+
+    public int getNumberOfWorlds() {
+        return this.worlds.size();
+    }
+
+    public TankGame getWorld(int index) {
+        return this.worlds.get(index);
+    }
+
+    public int getTicksStepped(int index) {
+        return this.ticksStepped[index];
+    }
+
+    @Override
+    //MODIFIES: this
+    //EFFECTS: stops the worker threads of the batch
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    //MODIFIES: this and every game of the batch
+    //EFFECTS: steps every shard from tick first, included, to tick last on the worker threads, and returns
+    // once they are all done, throwing again what any of them threw
+    private void stepShards(int first, int last, IntBinaryOperator inputs) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(this.shards.length - 1);
+        for (int shard = 0; shard < this.shards.length - 1; shard++) {
+            int from = this.shards[shard];
+            int to = this.shards[shard + 1];
+            tasks.add(this.pool.submit(() -> stepShard(from, to, first, last, inputs)));
+        }
+        tasks.forEach(ForkJoinTask::join);
+    }
+
+    //MODIFIES: this and the games of the shard
+    //EFFECTS: steps each game from index from, included, to index to, from tick first, included, to tick last,
+    // stopping a game once it is over
+    private void stepShard(int from, int to, int first, int last, IntBinaryOperator inputs) {
+        for (int index = from; index < to; index++) {
+            TankGame world = this.worlds.get(index);
+            for (int tick = first; tick < last && !world.isGameOver(); tick++) {
+                world.handlePlayerTank(inputs.applyAsInt(index, tick));
+                world.update();
+                this.ticksStepped[index]++;
+            }
+        }
+    }
+
+}
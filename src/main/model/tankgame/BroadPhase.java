@@ -0,0 +1,59 @@
+package model.tankgame;
+
+/*
+This interface describes the broad phase of collision detection between the moving objects of a tank game:
+a structure holding the boxes of objects, which finds the pairs of boxes overlapping each other and
+the boxes overlapping a given box, without testing every pair of objects.
+A box is given by its left, top, right and bottom edges, all included, as done in
+TankGameObject.isCollidingWith; a box is identified by its index, the order in which it was added
+since the last clear, starting from 0.
+Implementations (see BroadPhaseType):
+- BruteForceBroadPhase = tests every pair of boxes; the reference the others are checked against
+- UniformGridBroadPhase = buckets the boxes into the cells of a uniform grid
+- SweepAndPruneBroadPhase = sorts the boxes along x, and only tests boxes whose x ranges overlap
+- IncrementalSweepAndPruneBroadPhase = keeps the edges of the boxes sorted along x and y from one tick to
+  the next, updating the overlapping pairs as the edges pass each other
+ */
+
+import model.TankGameObject;
+
+public interface BroadPhase {
+
+    //MODIFIES: this
+    //EFFECTS: removes every box
+    void clear();
+
+    //REQUIRES: left <= right and top <= bottom
+    //MODIFIES: this
+    //EFFECTS: adds the box with the given edges, and returns its index
+    int add(int left, int top, int right, int bottom);
+
+    //MODIFIES: this
+    //EFFECTS: adds the box of the given object, and returns its index
+    default int add(TankGameObject tankGameObject) {
+        return add(tankGameObject.getLeftEdgeX(), tankGameObject.getTopEdgeY(),
+                tankGameObject.getRightEdgeX(), tankGameObject.getBottomEdgeY());
+    }
+
+    //MODIFIES: this and pairs
+    //EFFECTS: replaces the content of pairs with every pair of overlapping boxes, each given once as
+    // (smaller index, larger index), in no particular order
+    void findOverlappingPairs(OverlapPairs pairs);
+
+    //MODIFIES: this
+    //EFFECTS: returns the smallest index of a box overlapping the box with the given edges, or -1 if
+    // there is no such box
+    int findFirstOverlapping(int left, int top, int right, int bottom);
+
+    //MODIFIES: this
+    //EFFECTS: returns the smallest index of a box overlapping the box of the given object, or -1 if
+    // there is no such box
+    default int findFirstOverlapping(TankGameObject tankGameObject) {
+        return findFirstOverlapping(tankGameObject.getLeftEdgeX(), tankGameObject.getTopEdgeY(),
+                tankGameObject.getRightEdgeX(), tankGameObject.getBottomEdgeY());
+    }
+
+    //EFFECTS: returns the number of boxes added since the last clear
+    int getNumberOfBoxes();
+
+}
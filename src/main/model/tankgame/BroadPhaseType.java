@@ -0,0 +1,25 @@
+package model.tankgame;
+
+/*
+Denotes the BroadPhase implementations a tank game can detect collisions between its moving objects with,
+so that the implementation can be chosen per game; see BroadPhase for what each one suits.
+ */
+
+public enum BroadPhaseType {
+    BRUTE_FORCE, UNIFORM_GRID, SWEEP_AND_PRUNE, INCREMENTAL_SWEEP_AND_PRUNE;
+
+    //EFFECTS: returns a new broad phase of this type, holding no box
+    public BroadPhase createBroadPhase() {
+        switch (this) {
+            case BRUTE_FORCE:
+                return new BruteForceBroadPhase();
+            case SWEEP_AND_PRUNE:
+                return new SweepAndPruneBroadPhase();
+            case INCREMENTAL_SWEEP_AND_PRUNE:
+                return new IncrementalSweepAndPruneBroadPhase();
+            default:
+                return new UniformGridBroadPhase();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package model.tankgame;
+
+/*
+Represents a broad phase testing every pair of boxes against each other, as the collision handler
+used to do with nested loops. Quadratic in the number of boxes, but has no structure to maintain;
+used as the reference that the other BroadPhase implementations are checked and measured against.
+ */
+
+public class BruteForceBroadPhase extends AbstractBroadPhase {
+
+    //EFFECTS: creates a brute force broad phase holding no box
+    public BruteForceBroadPhase() {
+        super();
+    }
+
+    @Override
+    public void findOverlappingPairs(OverlapPairs pairs) {
+        pairs.clear();
+        for (int i = 0; i < this.numberOfBoxes; i++) {
+            for (int j = i + 1; j < this.numberOfBoxes; j++) {
+                if (overlaps(i, j)) {
+                    pairs.add(i, j);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int findFirstOverlapping(int left, int top, int right, int bottom) {
+        for (int i = 0; i < this.numberOfBoxes; i++) {
+            if (overlaps(i, left, top, right, bottom)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
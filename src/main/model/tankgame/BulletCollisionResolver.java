@@ -0,0 +1,124 @@
+package model.tankgame;
+
+/*
+Represents the removal of bullets colliding with each other in a tank game, rebuilt each tick and used by the
+CollisionHandler. The colliding pairs of bullets are found by a BroadPhase holding every bullet of a
+BulletStore, instead of testing every pair of bullets.
+Every bullet colliding with another bullet is removed, all at once, whichever tanks own them; only two bullets
+without tank owner never collide with each other. Destroyed rows of the store (see BulletStore.destroy) collide
+with nothing.
+Has fields:
+- bulletStore = the store of the bullets resolved this tick
+- broadPhase = holds the box of every bullet in the store, under the same index as its row
+- overlapPairs = the pairs of colliding bullets found by the broad phase
+- removed = true for each bullet colliding with another bullet
+ */
+
+import model.Bullet;
+import model.BulletStore;
+
+import java.util.Arrays;
+
+public class BulletCollisionResolver {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private BulletStore bulletStore;
+
+    private final BroadPhase broadPhase;
+    private final OverlapPairs overlapPairs;
+    private boolean[] removed;
+    private int numberOfBullets;
+
+    //EFFECTS: creates a resolver holding no bullet, finding colliding bullets with a uniform grid
+    public BulletCollisionResolver() {
+        this(new UniformGridBroadPhase());
+    }
+
+    //EFFECTS: creates a resolver holding no bullet, finding colliding bullets with the given broad phase
+    public BulletCollisionResolver(BroadPhase broadPhase) {
+        this.broadPhase = broadPhase;
+        this.overlapPairs = new OverlapPairs();
+        this.removed = new boolean[INITIAL_CAPACITY];
+        clear();
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every bullet from this resolver
+    public void clear() {
+        this.broadPhase.clear();
+        this.bulletStore = null;
+        this.numberOfBullets = 0;
+    }
+
+    //MODIFIES: this and bulletStore
+    //EFFECTS: removes every bullet colliding with another bullet from the given store, as described at the
+    // top of this class, along with every row of the store destroyed before
+    public void removeCollidingBullets(BulletStore bulletStore) {
+        destroyCollidingBullets(bulletStore);
+        bulletStore.removeDestroyed();
+    }
+
+    //MODIFIES: this and bulletStore
+    //EFFECTS: destroys every bullet colliding with another bullet in the given store, as described at the
+    // top of this class, leaving their rows in the store until BulletStore.removeDestroyed is called
+    public void destroyCollidingBullets(BulletStore bulletStore) {
+        clear();
+        this.bulletStore = bulletStore;
+        addBullets();
+        findCollidingPairs();
+        destroyBulletsInStore();
+    }
+
+    public int getNumberOfBullets() {
+        return this.numberOfBullets;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds the box of every bullet in the store to the broad phase
+    private void addBullets() {
+        this.numberOfBullets = this.bulletStore.size();
+        ensureBulletCapacity(this.numberOfBullets);
+        Arrays.fill(this.removed, 0, this.numberOfBullets, false);
+        for (int row = 0; row < this.numberOfBullets; row++) {
+            int posX = this.bulletStore.getX(row);
+            int posY = this.bulletStore.getY(row);
+            this.broadPhase.add(posX, posY, posX + Bullet.WIDTH, posY + Bullet.HEIGHT);
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: marks both bullets of every colliding pair found with the broad phase as removed, unless
+    // neither of them has a tank owner, or either of them was destroyed
+    private void findCollidingPairs() {
+        this.broadPhase.findOverlappingPairs(this.overlapPairs);
+        for (int n = 0; n < this.overlapPairs.size(); n++) {
+            int i = this.overlapPairs.getFirst(n);
+            int j = this.overlapPairs.getSecond(n);
+            if (!this.bulletStore.isDestroyed(i) && !this.bulletStore.isDestroyed(j)
+                    && (this.bulletStore.getOwner(i) != BulletStore.NO_OWNER
+                    || this.bulletStore.getOwner(j) != BulletStore.NO_OWNER)) {
+                this.removed[i] = true;
+                this.removed[j] = true;
+            }
+        }
+    }
+
+    //MODIFIES: the bullet store
+    //EFFECTS: destroys the removed bullets in the store
+    private void destroyBulletsInStore() {
+        for (int row = 0; row < this.numberOfBullets; row++) {
+            if (this.removed[row]) {
+                this.bulletStore.destroy(row);
+            }
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: grows the array holding bullets so that it fits the given number of bullets
+    private void ensureBulletCapacity(int capacity) {
+        if (capacity > this.removed.length) {
+            this.removed = new boolean[Math.max(capacity, this.removed.length * 2)];
+        }
+    }
+
+}
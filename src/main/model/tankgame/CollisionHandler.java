@@ -2,150 +2,461 @@ package model.tankgame;
 
 /*
 Represents a handler for collision between tank game objects, working as a part of the TankGame object
+The bullets of the game are all held in one BulletStore, each bullet carrying the owner id of the tank that
+fired it: PLAYER_TANK_OWNER for the player tank, and a distinct id for each enemy tank, given when the enemy
+tanks are first seen and kept until the tank is removed. A tank removed from the game only clears the owner
+id of its bullets to BulletStore.NO_OWNER, and no bullet is ever moved from one list to another.
+The bullet list of each tank is kept as a view of its bullets in the store: the store is updated from the
+lists at the start of every pass, as bullets can be added to the lists outside of this handler, and bullets
+removed from the store are removed from the lists of their tanks at the end of it. The lists stay, as tanks
+live outside of any game too (they are saved, loaded and drawn with their lists), but a list is only
+reconciled with the store when its modification count (see BulletList) moved since it was last stored: the
+bullets it gained are added to the store and the rows of those it lost are removed, so that the other bullets
+keep their rows and entity ids. A bullet fired through addBulletOf goes into the store and the list at once,
+leaving the list stored.
+Each pass comes in a version deferring removal: bullets are only destroyed in the store (see
+BulletStore.destroy), in O(1) and without moving any row, and removeDestroyedBullets then drops them from the
+store and from the bullet lists in one compaction pass, which the game does once at the end of each tick.
+The bullets can be written to a buffer and read back (see snapshotBullets): the rows of the store with one
+bulk copy per column (see BulletStore.writeRows), with the owner ids of the tanks and the order of each bullet
+list, so that a game restored from it goes on exactly as the game it was written from. Each bullet is still a
+Bullet object on the heap, as the bullet lists hold them as handles on their rows.
 
 LAST REVISED: 03/31/2022
  */
 
 import model.Bullet;
+import model.BulletList;
+import model.BulletStore;
 import model.TankGameObject;
 import model.Wall;
 import model.tanks.EnemyTank;
 import model.tanks.PlayerTank;
 import model.tanks.Tank;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 public class CollisionHandler {
+    public static final int PLAYER_TANK_OWNER = 0;
+    public static final int SNAPSHOT_BULLET_INTS = BulletStore.SNAPSHOT_COLUMNS;
+
     private PlayerTank playerTank;
     private List<EnemyTank> enemyTanks;
     private List<Wall> walls;
-    private List<Bullet> bulletsWithoutTankOwner;
+    private WallOccupancyGrid wallGrid;
+    private final BulletStore bulletStore;
+    private final BulletStore detachedBulletStore;
+    private int[] enemyTankOwners;
+    private final List<BulletList> storedBulletLists;
+    private int[] storedModificationCounts;
+    private boolean[] listedRows;
+    private SweptCollision sweptCollision;
+    private BroadPhaseType broadPhaseType;
+    private BulletCollisionResolver bulletCollisionResolver;
+    private BroadPhase enemyTankBroadPhase;
+    private BroadPhase tankBroadPhase;
+    private OverlapPairs nearbyTankPairs;
+    private int[] nearbyTankStarts;
+    private int[] nearbyTanks;
+    private boolean[] enemyTankHit;
+    private boolean[] bulletOwnerHittingPlayerTank;
+
+    //EFFECTS: creates a new collision handler object which handles the given objects' collision,
+    // building its own occupancy grid from the given walls, and its own bullet store
+    public CollisionHandler(PlayerTank playerTank, List<EnemyTank> enemyTanks, List<Wall> walls) {
+        this(playerTank, enemyTanks, walls, new WallOccupancyGrid(walls));
+    }
+
+    //REQUIRES: wallGrid holds exactly the walls in the given list
+    //EFFECTS: creates a new collision handler object which handles the given objects' collision,
+    // querying walls through the given occupancy grid, and tanks and bullets through uniform grids
+    public CollisionHandler(PlayerTank playerTank, List<EnemyTank> enemyTanks, List<Wall> walls,
+                            WallOccupancyGrid wallGrid) {
+        this(playerTank, enemyTanks, walls, wallGrid, new BulletStore(), BroadPhaseType.UNIFORM_GRID);
+    }
 
-    //EFFECTS: creates a new collision handler object which handles the given objects' collision
+    //REQUIRES: wallGrid holds exactly the walls in the given list, and bulletStore only holds bullets
+    // without tank owner
+    //EFFECTS: creates a new collision handler object which handles the given objects' collision,
+    // querying walls through the given occupancy grid, holding every bullet in the given store, and
+    // querying tanks and bullets through broad phases of the given type
     public CollisionHandler(PlayerTank playerTank, List<EnemyTank> enemyTanks, List<Wall> walls,
-                            List<Bullet> bulletsWithoutTankOwner) {
+                            WallOccupancyGrid wallGrid, BulletStore bulletStore, BroadPhaseType broadPhaseType) {
         this.playerTank = playerTank;
         this.enemyTanks = enemyTanks;
         this.walls = walls;
-        this.bulletsWithoutTankOwner = bulletsWithoutTankOwner;
+        this.wallGrid = wallGrid;
+        this.bulletStore = bulletStore;
+        this.detachedBulletStore = new BulletStore();
+        this.storedBulletLists = new ArrayList<>();
+        this.storedModificationCounts = new int[0];
+        this.listedRows = new boolean[0];
+        assignOwners();
+        this.sweptCollision = new SweptCollision();
+        this.nearbyTankPairs = new OverlapPairs();
+        this.nearbyTankStarts = new int[0];
+        this.nearbyTanks = new int[0];
+        setBroadPhaseType(broadPhaseType);
+        this.enemyTankHit = new boolean[0];
+        this.bulletOwnerHittingPlayerTank = new boolean[0];
     }
 
     //EFFECTS: returns the coordinate that the given object would be if it collides and is pushed
     // back; or the position it would be by advancing, if the object is not colliding
     public int[] getPushedBackPositionIfCollidingOrAdvance(int velX, int velY, TankGameObject tankGameObject) {
-        if (isCollidingWithAWallInGame(velX, velY, tankGameObject)) {
-            Wall collidingWall = getFirstCollidingWall(velX, velY, tankGameObject);
-            int newPosX = collidingWall.coordinateXIfObjectCollidesAndIsPushedBack(velX,
+        int[] newPosition = new int[2];
+        findPushedBackPositionIfCollidingOrAdvance(velX, velY, tankGameObject, newPosition);
+        return newPosition;
+    }
+
+    //MODIFIES: newPosition
+    //EFFECTS: writes into newPosition the coordinate given by getPushedBackPositionIfCollidingOrAdvance,
+    // without creating any object
+    public void findPushedBackPositionIfCollidingOrAdvance(int velX, int velY, TankGameObject tankGameObject,
+                                                           int[] newPosition) {
+        Wall collidingWall = this.wallGrid.getFirstCollidingWall(velX, velY, tankGameObject);
+        if (collidingWall != null) {
+            newPosition[0] = collidingWall.coordinateXIfObjectCollidesAndIsPushedBack(velX,
                     velY, tankGameObject);
-            int newPosY = collidingWall.coordinateYIfObjectCollidesAndIsPushedBack(velX,
+            newPosition[1] = collidingWall.coordinateYIfObjectCollidesAndIsPushedBack(velX,
                     velY, tankGameObject);
-            return new int[]{newPosX, newPosY};
         } else {
-            return new int[]{tankGameObject.getX() + velX, tankGameObject.getY() + velY};
+            newPosition[0] = tankGameObject.getX() + velX;
+            newPosition[1] = tankGameObject.getY() + velY;
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: finds, through a broad phase, every pair of tanks close enough to collide with each other if
+    // both move by Tank.SPEED; tanks are then only checked against those nearby tanks as they move, until
+    // this is called again. The tank index of enemy tank i is i, and that of the player tank is the number
+    // of enemy tanks
+    public void findTanksNearEachOther() {
+        int numberOfTanks = this.enemyTanks.size() + 1;
+        this.tankBroadPhase.clear();
+        for (int i = 0; i < numberOfTanks; i++) {
+            Tank t = getTankAt(i);
+            if (t != null) {
+                this.tankBroadPhase.add(t.getLeftEdgeX() - Tank.SPEED, t.getTopEdgeY() - Tank.SPEED,
+                        t.getRightEdgeX() + Tank.SPEED, t.getBottomEdgeY() + Tank.SPEED);
+            }
+        }
+        this.tankBroadPhase.findOverlappingPairs(this.nearbyTankPairs);
+        if (this.nearbyTankStarts.length < numberOfTanks + 1) {
+            this.nearbyTankStarts = new int[numberOfTanks + 1];
+        }
+        if (this.nearbyTanks.length < this.nearbyTankPairs.size() * 2) {
+            this.nearbyTanks = new int[this.nearbyTankPairs.size() * 2];
+        }
+        listNearbyTanks(numberOfTanks);
+    }
+
+    //REQUIRES: 0 <= |velX|, |velY| <= Tank.SPEED, and findTanksNearEachOther was called since tanks were last
+    // added or removed, and no tank moved by more than Tank.SPEED along an axis since then
+    //EFFECTS: returns the coordinate that the tank of the given tank index (see findTanksNearEachOther) would
+    // be if it advances by the given velocity and is pushed back by walls; or its current coordinate if it
+    // would then collide with another tank it is not already colliding with
+    public int[] getPositionAfterMovingTank(int velX, int velY, int tankIndex) {
+        int[] newPosition = new int[2];
+        findPositionAfterMovingTank(velX, velY, tankIndex, newPosition);
+        return newPosition;
+    }
+
+    //REQUIRES: same as getPositionAfterMovingTank
+    //MODIFIES: newPosition
+    //EFFECTS: writes into newPosition the coordinate given by getPositionAfterMovingTank, without creating
+    // any object
+    public void findPositionAfterMovingTank(int velX, int velY, int tankIndex, int[] newPosition) {
+        Tank movedTank = getTankAt(tankIndex);
+        findPushedBackPositionIfCollidingOrAdvance(velX, velY, movedTank, newPosition);
+        if (isBlockedByAnotherTank(newPosition[0], newPosition[1], tankIndex)) {
+            newPosition[0] = movedTank.getX();
+            newPosition[1] = movedTank.getY();
         }
     }
 
     //EFFECTS: returns true if the given object would collide with any wall in the game, given
     // its current x and y velocity
     public boolean isCollidingWithAWallInGame(int velX, int velY, TankGameObject tankGameObject) {
-        boolean isCollidingWithAWall = false;
-        for (Wall w : this.walls) {
-            if (w.isCollidingWithWall(velX, velY, tankGameObject)) {
-                isCollidingWithAWall = true;
-                break;
-            }
-        }
-        return isCollidingWithAWall;
+        return this.wallGrid.isCollidingWithAWall(velX, velY, tankGameObject);
     }
 
-    //REQUIRES: given bullet has to be colliding to a wall after moving at its speed
-    //MODIFIES: bullet
-    //EFFECTS: sets the given bullet's position to that if the bullet advances by its speed,
-    // and it bounces off the wall
-    public void dealWithBulletWallCollision(Bullet bullet) {
-        Wall collidingWall = getFirstCollidingWall(bullet.getVelX(), bullet.getVelY(), bullet);
-        //get the new position
-        int[] newPositions = getBulletBouncedBackPosition(bullet, collidingWall);
-        //increase the count
-        bullet.increaseBounceCount();
-        //flip the speed
-        flipSpeed(bullet, collidingWall);
-        //set new coordinate
-        bullet.setLocation(newPositions[0], newPositions[1]);
+    //MODIFIES: this and bullet
+    //EFFECTS: moves the given bullet by the whole pixels its exact, fixed-point position moves at its velocity
+    // (see Bullet), resolving every contact with walls it meets on its way in this tick (even with walls lying
+    // between its position and its destination): at each contact, the bullet moves to where it touches the
+    // walls, and the rest of its movement is reflected off the faces that were hit, flipping the matching
+    // speeds and sub-pixel offsets and increasing its bounce count by 1.
+    // Contacts stop being resolved once the bounce count reaches TankGame.MAX_BOUNCE_COUNT
+    public void moveBulletInGame(Bullet bullet) {
+        int row = this.bulletStore.rowOf(bullet);
+        if (row != -1) {
+            moveStoredBullet(this.bulletStore, row);
+        } else {
+            row = this.detachedBulletStore.add(bullet, BulletStore.NO_OWNER);
+            moveStoredBullet(this.detachedBulletStore, row);
+            this.detachedBulletStore.remove(row);
+        }
     }
 
+    //REQUIRES: 0 <= row < the size of the bullet store (see updateBulletStore), and the row is not destroyed
     //MODIFIES: this
-    //EFFECTS: check for collision between every bullet and other bullets and tanks,
-    // and remove those colliding to each other
-    public void dealWithCollisionForBullets() {
-        //deal with bullet collision between bullets within every tank
-        dealWithBulletCollisionForBulletsInOneTank(playerTank);
-        this.enemyTanks.forEach(this::dealWithBulletCollisionForBulletsInOneTank);
-        //deal with bullet collision between different tanks
-        this.enemyTanks.forEach(et -> dealWithBulletCollisionForTwoTanks(playerTank, et));
-        for (int i = 0; i < enemyTanks.size(); i++) {
-            for (int j = i + 1; j < enemyTanks.size(); j++) {
-                Tank enemyTank1 = enemyTanks.get(i);
-                Tank enemyTank2 = enemyTanks.get(j);
-                dealWithBulletCollisionForTwoTanks(enemyTank1, enemyTank2);
-            }
+    //EFFECTS: moves the bullet at the given row of the bullet store, as done with moveBulletInGame
+    public void moveBulletAt(int row) {
+        moveStoredBullet(this.bulletStore, row);
+    }
+
+    //MODIFIES: this and every bullet in the game
+    //EFFECTS: brings the bullet store up to date with the bullet lists of the tanks in the game, and returns
+    // it: every list that is not the one stored for its tank, that was changed since it was stored, or whose
+    // size differs from the number of bullets of its owner id in the store, is reconciled with the store.
+    // If enemy tanks were added to or removed from the game outside of this handler, every tank is given a new
+    // owner id first
+    public BulletStore updateBulletStore() {
+        if (this.enemyTankOwners.length != this.enemyTanks.size()) {
+            assignOwners();
+        }
+        if (this.playerTank != null) {
+            storeBulletsIfChanged(PLAYER_TANK_OWNER, this.playerTank.getBullets());
+        }
+        for (int i = 0; i < this.enemyTankOwners.length; i++) {
+            storeBulletsIfChanged(this.enemyTankOwners[i], this.enemyTanks.get(i).getBullets());
         }
-        //deal with collision of bullets between bullets without owner
-        dealWithBulletCollisionForBulletsWithoutTankOwnerAndOneTank(playerTank);
-        this.enemyTanks.forEach(this::dealWithBulletCollisionForBulletsWithoutTankOwnerAndOneTank);
+        return this.bulletStore;
     }
 
-    //MODIFIES: this and enemy tanks in enemyTanks
-    //EFFECTS: checks for collision between bullets and every enemy tank, removing the colliding bullet
-    // & tank and moving the bullets from the colliding tank to the bullets without tank owner list.
-    // Returns true if there is no more tank in the game, false otherwise.
-    public boolean dealWithCollisionBetweenEnemyTanksAndBullets() {
-        List<Tank> enemyTankToBeRemoved = new ArrayList<>();
+    //REQUIRES: the bullet lists of the tanks in the game are empty
+    //MODIFIES: this and every bullet in the game
+    //EFFECTS: removes every bullet from the bullet store, keeping their Bullet objects to be reused (see
+    // BulletStore.clearReusingBullets), makes the given tank the player tank again, and gives every tank in the
+    // game a new owner id, as when this handler was created, reusing its store and arrays
+    public void resetTo(PlayerTank playerTank) {
+        this.bulletStore.clearReusingBullets();
+        this.playerTank = playerTank;
+        assignOwners();
+    }
+
+    //REQUIRES: the given tank is in the game, its bullet list holds exactly its bullets in the bullet store, and
+    // bulletFields holds BulletStore.ROW_FIELDS ints for each bullet, in the order of BulletStore.addRow
+    //MODIFIES: this and tank
+    //EFFECTS: adds a row for each bullet of bulletFields to the bullet store, under the owner id of the given
+    // tank, and appends the Bullet attached to each row to the bullet list of the tank, which stays stored
+    public void addBulletRowsOf(Tank tank, int[] bulletFields) {
+        int owner = getOwnerOf(tank);
+        BulletList bullets = tank.getBullets();
+        for (int offset = 0; offset < bulletFields.length; offset += BulletStore.ROW_FIELDS) {
+            bullets.add(this.bulletStore.getBullet(this.bulletStore.addRow(bulletFields, offset, owner)));
+        }
+        markStored(owner, bullets);
+    }
 
-        for (Tank etForCollision : enemyTanks) {
-            //adding "null" object when the collision is not happening //fixme
-            enemyTankToBeRemoved.add(dealWithCollisionBetweenATankAndTankBullets(etForCollision, playerTank));
-            for (Tank etForBullets : enemyTanks) {
-                //adding "null" object when the collision is not happening //fixme
-                enemyTankToBeRemoved.add(dealWithCollisionBetweenATankAndTankBullets(etForCollision, etForBullets));
+    //MODIFIES: this, buffer and every bullet in the game
+    //EFFECTS: drops destroyed bullets, if any, and brings the bullet store up to date, and then writes every
+    // bullet in the game into the given buffer from its position on, advancing it by at most the
+    // getBulletSnapshotSize() taken before the call, and by exactly that between ticks: the
+    // owner id of each enemy tank, the rows of the store as written by BulletStore.writeRows (SNAPSHOT_BULLET_INTS
+    // columns: x, y, fixed-point x and y velocity, x and y sub-pixel offset, bounce count and owner id), and
+    // then for each tank index (see findTanksNearEachOther) the size of the bullet list of the tank followed by
+    // the row of each of its bullets
+    public void snapshotBullets(ByteBuffer buffer) {
+        if (this.bulletStore.getNumberOfDestroyed() > 0) {
+            removeDestroyedBullets();
+        }
+        updateBulletStore();
+        for (int i = 0; i < this.enemyTankOwners.length; i++) {
+            buffer.putInt(this.enemyTankOwners[i]);
+        }
+        this.bulletStore.writeRows(buffer);
+        for (int tankIndex = 0; tankIndex <= this.enemyTanks.size(); tankIndex++) {
+            Tank tank = getTankAt(tankIndex);
+            int numberOfBullets = (tank == null) ? 0 : tank.getBullets().size();
+            buffer.putInt(numberOfBullets);
+            for (int i = 0; i < numberOfBullets; i++) {
+                buffer.putInt(this.bulletStore.rowOf(tank.getBullets().get(i)));
             }
         }
+    }
 
-        for (Tank etToBeRemoved : enemyTankToBeRemoved) {
-            if (etToBeRemoved != null) {
-                this.bulletsWithoutTankOwner.addAll(etToBeRemoved.getBullets());
+    //REQUIRES: resetTo was called since the tanks of the game were last set, their bullet lists are empty, and
+    // the buffer holds, from its position on, bullets written by snapshotBullets of a game with as many enemy
+    // tanks, whose player tank was hit if and only if that of this game was
+    //MODIFIES: this, buffer and the bullet lists of the tanks in the game
+    //EFFECTS: reads the bullets at the position of the given buffer, advancing it past them: gives each enemy
+    // tank the owner id of the enemy tank of the same index, reads the rows into the bullet store (see
+    // BulletStore.readRows), and fills the bullet list of each tank in the same order
+    public void restoreBullets(ByteBuffer buffer) {
+        restoreOwners(buffer);
+        this.bulletStore.readRows(buffer);
+        for (int tankIndex = 0; tankIndex <= this.enemyTanks.size(); tankIndex++) {
+            Tank tank = getTankAt(tankIndex);
+            int numberOfBullets = buffer.getInt();
+            for (int i = 0; i < numberOfBullets; i++) {
+                tank.getBullets().add(this.bulletStore.getBullet(buffer.getInt()));
             }
+            if (tank != null) {
+                markStored(getOwnerAt(tankIndex), tank.getBullets());
+            }
+        }
+    }
+
+    //EFFECTS: returns the number of bytes snapshotBullets writes for the bullets in the game, changing nothing:
+    // the rows it writes are counted as the rows without tank owner and the bullets in the lists of the tanks
+    // in the game, which the store holds once up to date. It is exact between ticks, when no row is destroyed,
+    // and an upper bound while destroyed rows wait to be removed
+    public int getBulletSnapshotSize() {
+        int listedBullets = 0;
+        for (int tankIndex = 0; tankIndex <= this.enemyTanks.size(); tankIndex++) {
+            Tank tank = getTankAt(tankIndex);
+            listedBullets += (tank == null) ? 0 : tank.getBullets().size();
         }
-        this.enemyTanks.removeAll(enemyTankToBeRemoved);
+        int rows = this.bulletStore.countBulletsOf(BulletStore.NO_OWNER) + listedBullets;
+        return Integer.BYTES * (this.enemyTanks.size() + 1 + rows * SNAPSHOT_BULLET_INTS + this.enemyTanks.size()
+                + 1 + listedBullets);
+    }
 
-        return this.enemyTanks.isEmpty();
+    //MODIFIES: this and the bullet lists of the tanks in the game
+    //EFFECTS: removes every destroyed bullet from the bullet store, and then every bullet no longer in the
+    // store from the lists of the tanks they are in
+    public void removeDestroyedBullets() {
+        this.bulletStore.removeDestroyed();
+        removeBulletsOutOfStoreFromLists();
     }
 
-    //MODIFIES: this and playerTank
-    //EFFECTS: checks for collision between bullets and the player tank, removing the colliding bullet
-    // & player tank if colliding, moving its bullets to the list of bullets without tank owner
-    // Returns true if the player tank is removed, or false if it is not.
-    public boolean dealWithCollisionBetweenPlayerTankAndBullets() { //fixme
-        boolean removePlayerTank = (dealWithCollisionBetweenATankAndTankBullets(playerTank, playerTank) != null);
-        if (!removePlayerTank) {
-            for (Tank et : enemyTanks) { //fixme
-                removePlayerTank = (dealWithCollisionBetweenATankAndTankBullets(playerTank, et) != null);
-                if (removePlayerTank) {
-                    break;
+    //MODIFIES: the bullet lists of the tanks in the game
+    //EFFECTS: removes the bullets no longer in the bullet store from the lists of the tanks they are in,
+    // keeping the order of the others; only lists whose size differs from the number of bullets of their
+    // owner id are looked at. A list unchanged since it was stored is still taken as stored afterwards
+    public void removeBulletsOutOfStoreFromLists() {
+        for (int owner = 0; owner < this.storedBulletLists.size(); owner++) {
+            BulletList bullets = this.storedBulletLists.get(owner);
+            if (bullets != null && bullets.size() != this.bulletStore.countBulletsOf(owner)) {
+                boolean unchangedSinceStored = bullets.getModificationCount() == this.storedModificationCounts[owner];
+                removeBulletsOutOfStoreFrom(bullets);
+                if (unchangedSinceStored) {
+                    markStored(owner, bullets);
                 }
             }
         }
-        if (removePlayerTank) {
-            this.bulletsWithoutTankOwner.addAll(this.playerTank.getBullets());
-            this.playerTank = null;
-            return true;
-        } else {
-            return false;
+    }
+
+    //EFFECTS: returns the owner id of the bullets of the given tank; or BulletStore.NO_OWNER if the tank is
+    // not in the game
+    public int getOwnerOf(Tank tank) {
+        if (tank != null && tank == this.playerTank) {
+            return PLAYER_TANK_OWNER;
+        }
+        int index = this.enemyTanks.indexOf(tank);
+        return (index == -1 || index >= this.enemyTankOwners.length) ? BulletStore.NO_OWNER
+                : this.enemyTankOwners[index];
+    }
+
+    //EFFECTS: returns the number of bullets of the given tank, counted by its owner id in the bullet store if
+    // its bullet list is stored and unchanged since; or the size of its bullet list otherwise, which is what
+    // the next update stores
+    public int countBulletsOf(Tank tank) {
+        int owner = getOwnerOf(tank);
+        BulletList bullets = tank.getBullets();
+        if (owner != BulletStore.NO_OWNER && bullets == this.storedBulletLists.get(owner)
+                && bullets.getModificationCount() == this.storedModificationCounts[owner]) {
+            return this.bulletStore.countBulletsOf(owner);
+        }
+        return bullets.size();
+    }
+
+    //MODIFIES: this, tank and bullet
+    //EFFECTS: adds the given bullet to the given tank's bullet list, and to the bullet store under the tank's
+    // owner id if the tank is in the game; the list stays stored if it was, so that the next update leaves
+    // the other bullets of the tank in their rows
+    public void addBulletOf(Tank tank, Bullet bullet) {
+        int owner = getOwnerOf(tank);
+        boolean stored = owner != BulletStore.NO_OWNER && isStored(owner, tank.getBullets());
+        tank.addBullet(bullet);
+        if (owner != BulletStore.NO_OWNER) {
+            this.bulletStore.add(bullet, owner);
+        }
+        if (stored) {
+            markStored(owner, tank.getBullets());
         }
     }
 
+    //REQUIRES: given bullet has to be colliding to a wall after moving at its speed
+    //MODIFIES: bullet
+    //EFFECTS: sets the given bullet's position to that if the bullet advances by its speed,
+    // and it bounces off every wall it meets
+    public void dealWithBulletWallCollision(Bullet bullet) {
+        if (!this.wallGrid.sweepThroughWalls(bullet.getVelX(), bullet.getVelY(), bullet, this.sweptCollision)) {
+            throw new RuntimeException();
+        }
+        moveBulletInGame(bullet);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: check for collision between every bullet and other bullets, and remove every bullet colliding
+    // with another one, except for two bullets both without tank owner
+    public void dealWithCollisionForBullets() {
+        dealWithCollisionForBulletsWithDeferredRemoval();
+        removeDestroyedBullets();
+    }
+
+    //MODIFIES: this
+    //EFFECTS: same as dealWithCollisionForBullets, but the colliding bullets are only destroyed; they are
+    // removed with removeDestroyedBullets
+    public void dealWithCollisionForBulletsWithDeferredRemoval() {
+        updateBulletStore();
+        this.bulletCollisionResolver.destroyCollidingBullets(this.bulletStore);
+    }
+
+    //MODIFIES: this, every tank in the game and the list of bullets without tank owner
+    //EFFECTS: checks for collision between bullets of every tank and the tanks in one pass over the bullets:
+    // - a bullet colliding with enemy tanks is removed, and the earliest such enemy tank in enemyTanks is hit
+    // - then, among the bullets left that collide with the player tank, the bullets of the first owner
+    // (the player tank, then the enemy tanks not hit, in order) are removed and the player tank is hit
+    // Hit tanks are removed from the game, and the owner id of their bullets is cleared; the player tank is
+    // replaced with null if it was hit.
+    public void dealWithCollisionBetweenTanksAndBullets() {
+        dealWithCollisionBetweenTanksAndBulletsWithDeferredRemoval();
+        removeDestroyedBullets();
+    }
+
+    //MODIFIES: this, every tank in the game and the list of bullets without tank owner
+    //EFFECTS: same as dealWithCollisionBetweenTanksAndBullets, but the bullets hitting tanks are only
+    // destroyed; they are removed with removeDestroyedBullets. Hit tanks are still removed at once
+    public void dealWithCollisionBetweenTanksAndBulletsWithDeferredRemoval() {
+        updateBulletStore();
+        if (this.enemyTankHit.length < this.enemyTanks.size()) {
+            this.enemyTankHit = new boolean[this.enemyTanks.size()];
+        }
+        if (this.bulletOwnerHittingPlayerTank.length < this.storedBulletLists.size()) {
+            this.bulletOwnerHittingPlayerTank = new boolean[this.storedBulletLists.size()];
+        }
+        Arrays.fill(this.enemyTankHit, false);
+        Arrays.fill(this.bulletOwnerHittingPlayerTank, false);
+        this.enemyTankBroadPhase.clear();
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            this.enemyTankBroadPhase.add(this.enemyTanks.get(i));
+        }
+
+        destroyBulletsHittingEnemyTanks();
+        boolean playerTankHit = dealWithBulletsHittingPlayerTank();
+        removeHitTanks(playerTankHit);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: makes this handler find collisions between tanks and bullets with broad phases of the given type
+    public void setBroadPhaseType(BroadPhaseType broadPhaseType) {
+        this.broadPhaseType = broadPhaseType;
+        this.bulletCollisionResolver = new BulletCollisionResolver(broadPhaseType.createBroadPhase());
+        this.enemyTankBroadPhase = broadPhaseType.createBroadPhase();
+        this.tankBroadPhase = broadPhaseType.createBroadPhase();
+    }
+
+    public BroadPhaseType getBroadPhaseType() {
+        return broadPhaseType;
+    }
+
     public PlayerTank getPlayerTank() {
         return playerTank;
     }
@@ -158,115 +469,212 @@ public class CollisionHandler {
         return walls;
     }
 
+    public WallOccupancyGrid getWallGrid() {
+        return wallGrid;
+    }
+
+    //EFFECTS: returns a new list of the bullets in the game without tank owner
     public List<Bullet> getBulletsWithoutTankOwner() {
-        return bulletsWithoutTankOwner;
+        return this.bulletStore.getBulletsOf(BulletStore.NO_OWNER);
+    }
+
+    public BulletStore getBulletStore() {
+        return bulletStore;
+    }
+
+    //EFFECTS: returns the tank of the given tank index (see findTanksNearEachOther), which is null for the
+    // player tank once it was hit
+    private Tank getTankAt(int tankIndex) {
+        return (tankIndex < this.enemyTanks.size()) ? this.enemyTanks.get(tankIndex) : this.playerTank;
     }
 
-    //REQUIRES: the object needs to be colliding with at least one wall
-    //EFFECTS: returns the first wall to which the given object would collide, given its current
-    // x and y velocity; or throws a RunTimeException if no such wall exist
-    private Wall getFirstCollidingWall(int velX, int velY, TankGameObject tankGameObject) {
-        for (Wall w : this.walls) {
-            if (w.isCollidingWithWall(velX, velY, tankGameObject)) {
-                return w;
+    //EFFECTS: returns the owner id of the tank of the given tank index (see findTanksNearEachOther)
+    private int getOwnerAt(int tankIndex) {
+        return (tankIndex < this.enemyTanks.size()) ? this.enemyTankOwners[tankIndex] : PLAYER_TANK_OWNER;
+    }
+
+    //REQUIRES: resetTo was called since the enemy tanks of the game were last set
+    //MODIFIES: this and buffer
+    //EFFECTS: reads the owner id of each enemy tank written by snapshotBullets at the position of the given
+    // buffer, advancing it past them, and gives it to the enemy tank of the same index
+    private void restoreOwners(ByteBuffer buffer) {
+        this.storedBulletLists.clear();
+        this.storedBulletLists.add(null);
+        for (int i = 0; i < this.enemyTankOwners.length; i++) {
+            this.enemyTankOwners[i] = buffer.getInt();
+            while (this.storedBulletLists.size() <= this.enemyTankOwners[i]) {
+                this.storedBulletLists.add(null);
             }
         }
-        throw new RuntimeException();
-    }
-
-    //HELPER FUNCTION for moveBulletInGame(): set the new bullet position
-    //REQUIRES: bullet needs to be colliding with the given wall
-    //EFFECTS: returns the bullet's position when it would have bounced back
-    private int[] getBulletBouncedBackPosition(Bullet bullet, Wall collidingWall) {
-        int[] temporalPos = getPushedBackPositionIfCollidingOrAdvance(bullet.getVelX(), bullet.getVelY(), bullet);
-        int temporalPosX = temporalPos[0];
-        int temporalPosY = temporalPos[1];
-        int newPosX = temporalPosX;
-        int newPosY = temporalPosY;
-        //if the bullet is colliding with a wall to the sides
-        if (collidingWall.isCollidingWithLeftWall(bullet.getVelX(), bullet.getVelY(), bullet)
-                || collidingWall.isCollidingWithRightWall(bullet.getVelX(), bullet.getVelY(), bullet)) {
-            newPosX = bullet.getX() + (temporalPosX - bullet.getX()) * 2 - bullet.getVelX();
-            //otherwise, (the bullet is naturally colliding with a wall at the top or bottom)
-        } else {
-            newPosY = bullet.getY() + (temporalPosY - bullet.getY()) * 2 - bullet.getVelY();
+        if (this.storedModificationCounts.length < this.storedBulletLists.size()) {
+            this.storedModificationCounts = new int[this.storedBulletLists.size()];
         }
-        return new int[]{newPosX, newPosY};
     }
 
-    // HELPER FUNCTION for moveBulletInGame(): flip the speeds
-    //REQUIRES: bullet has to collide with a wall
-    //MODIFIES: bullet
-    //EFFECTS: updates the speed of the bullet according to which wall it has collided, flipping
-    // the appropriate speeds; or does nothing if the bullet is not colliding with any wall
-    private void flipSpeed(Bullet bullet, Wall collidingWall) {
-        if (collidingWall.isCollidingWithLeftWall(bullet.getVelX(), bullet.getVelY(), bullet)
-                || collidingWall.isCollidingWithRightWall(bullet.getVelX(), bullet.getVelY(), bullet)) {
-            bullet.setBulletVelocity(-bullet.getVelX(), bullet.getVelY());
-        }
-        //collision to the Top or Bottom wall
-        if (collidingWall.isCollidingWithTopWall(bullet.getVelX(), bullet.getVelY(), bullet)
-                || collidingWall.isCollidingWithBottomWall(bullet.getVelX(), bullet.getVelY(), bullet)) {
-            bullet.setBulletVelocity(bullet.getVelX(), -bullet.getVelY());
-        }
-    }
-
-    //MODIFIES: tank
-    //EFFECTS: check for collision between every bullet for the given tank, and
-    // remove those colliding to each other
-    private void dealWithBulletCollisionForBulletsInOneTank(Tank tank) {
-        List<Bullet> bulletToBeRemovedFromTank = new ArrayList<>();
-
-        for (int i = 0; i < tank.getBullets().size(); i++) {
-            for (int j = i + 1; j < tank.getBullets().size(); j++) {
-                Bullet tankBullet1 = tank.getBullets().get(i);
-                Bullet tankBullet2 = tank.getBullets().get(j);
-                if (tankBullet1.isCollidingWith(tankBullet2)) {
-                    bulletToBeRemovedFromTank.add(tankBullet1);
-                    bulletToBeRemovedFromTank.add(tankBullet2);
-                }
+    //REQUIRES: 0 <= row < the size of the given store
+    //MODIFIES: this and bulletStore
+    //EFFECTS: moves the bullet at the given row of the given store, as done with moveBulletInGame
+    private void moveStoredBullet(BulletStore bulletStore, int row) {
+        int posX = bulletStore.getX(row);
+        int posY = bulletStore.getY(row);
+        int remainingX = bulletStore.advanceFractionX(row);
+        int remainingY = bulletStore.advanceFractionY(row);
+        while ((remainingX != 0 || remainingY != 0) && bulletStore.getBounceCount(row) < TankGame.MAX_BOUNCE_COUNT
+                && this.wallGrid.sweepThroughWalls(posX, posY, Bullet.WIDTH, Bullet.HEIGHT,
+                remainingX, remainingY, this.sweptCollision)) {
+            int travelX = travelUntilContact(posX, remainingX, this.sweptCollision.getNormalX(),
+                    this.sweptCollision.getContactX());
+            int travelY = travelUntilContact(posY, remainingY, this.sweptCollision.getNormalY(),
+                    this.sweptCollision.getContactY());
+            posX += travelX;
+            posY += travelY;
+            remainingX = (this.sweptCollision.getNormalX() != 0) ? travelX - remainingX : remainingX - travelX;
+            remainingY = (this.sweptCollision.getNormalY() != 0) ? travelY - remainingY : remainingY - travelY;
+            bulletStore.increaseBounceCount(row);
+            bulletStore.reflect(row, this.sweptCollision.getNormalX() != 0, this.sweptCollision.getNormalY() != 0);
+        }
+        bulletStore.setLocation(row, posX + remainingX, posY + remainingY);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: lists the tanks nearby every tank from nearbyTankPairs: the tanks nearby tank i are
+    // nearbyTanks[nearbyTankStarts[i]] up to, excluding, nearbyTanks[nearbyTankStarts[i + 1]]
+    private void listNearbyTanks(int numberOfTanks) {
+        Arrays.fill(this.nearbyTankStarts, 0, numberOfTanks + 1, 0);
+        for (int n = 0; n < this.nearbyTankPairs.size(); n++) {
+            this.nearbyTankStarts[this.nearbyTankPairs.getFirst(n)]++;
+            this.nearbyTankStarts[this.nearbyTankPairs.getSecond(n)]++;
+        }
+        for (int i = 1; i < numberOfTanks; i++) {
+            this.nearbyTankStarts[i] += this.nearbyTankStarts[i - 1];
+        }
+        this.nearbyTankStarts[numberOfTanks] = this.nearbyTankStarts[numberOfTanks - 1];
+        //each tank's counter now marks the end of its list, and is moved back to its start while filling it
+        for (int n = 0; n < this.nearbyTankPairs.size(); n++) {
+            int first = this.nearbyTankPairs.getFirst(n);
+            int second = this.nearbyTankPairs.getSecond(n);
+            this.nearbyTanks[--this.nearbyTankStarts[first]] = second;
+            this.nearbyTanks[--this.nearbyTankStarts[second]] = first;
+        }
+    }
+
+    //EFFECTS: returns true if the tank of the given tank index would collide with a nearby tank which it is
+    // not already colliding with, if it were at the given coordinate
+    private boolean isBlockedByAnotherTank(int newPosX, int newPosY, int tankIndex) {
+        if (tankIndex + 1 >= this.nearbyTankStarts.length) {
+            return false;
+        }
+        Tank movedTank = getTankAt(tankIndex);
+        int offsetX = newPosX - movedTank.getX();
+        int offsetY = newPosY - movedTank.getY();
+        for (int k = this.nearbyTankStarts[tankIndex]; k < this.nearbyTankStarts[tankIndex + 1]; k++) {
+            Tank other = getTankAt(this.nearbyTanks[k]);
+            if (other != null && !movedTank.isCollidingWith(other)
+                    && other.getLeftEdgeX() <= movedTank.getRightEdgeX() + offsetX
+                    && other.getRightEdgeX() >= movedTank.getLeftEdgeX() + offsetX
+                    && other.getTopEdgeY() <= movedTank.getBottomEdgeY() + offsetY
+                    && other.getBottomEdgeY() >= movedTank.getTopEdgeY() + offsetY) {
+                return true;
             }
         }
-        tank.getBullets().removeAll(bulletToBeRemovedFromTank);
+        return false;
     }
 
-    //MODIFIES: tank
-    //EFFECTS: check for collision between every bullet for the given tank and the bullets
-    // from the list of bullets without owner, and remove the ones that collided to each other
-    private void dealWithBulletCollisionForBulletsWithoutTankOwnerAndOneTank(Tank tank) {
-        List<Bullet> bulletToBeRemovedFromTank = new ArrayList<>();
-        List<Bullet> bulletToBeRemovedWithoutTankOwner = new ArrayList<>();
+    //REQUIRES: sweptCollision holds the contact of an object at pos moving by remaining along one axis
+    //EFFECTS: returns how far along this axis the object travels until the contact: up to where it touches
+    // the face hit along this axis if normal is non-zero; otherwise, its share of remaining until the time
+    // of impact, or all of remaining if the object was already overlapping a wall
+    private int travelUntilContact(int pos, int remaining, int normal, int contact) {
+        if (normal != 0) {
+            return contact - pos;
+        } else if (this.sweptCollision.getNormalX() == 0 && this.sweptCollision.getNormalY() == 0) {
+            return remaining;
+        }
+        return (int) ((long) remaining * this.sweptCollision.getTimeNumerator()
+                / this.sweptCollision.getTimeDenominator());
+    }
 
-        for (Bullet bulletFromTank : tank.getBullets()) {
-            for (Bullet bulletWithoutOwner : this.bulletsWithoutTankOwner) {
-                if (bulletFromTank.isCollidingWith(bulletWithoutOwner)) {
-                    bulletToBeRemovedFromTank.add(bulletFromTank);
-                    bulletToBeRemovedWithoutTankOwner.add(bulletWithoutOwner);
+    //MODIFIES: this
+    //EFFECTS: destroys every bullet of a tank colliding with an enemy tank in the bullet store, marking the
+    // earliest such enemy tank as hit; marks the owner of every other bullet of a tank colliding with the
+    // player tank as hitting it. Destroyed rows are skipped
+    private void destroyBulletsHittingEnemyTanks() {
+        for (int row = 0; row < this.bulletStore.size(); row++) {
+            int owner = this.bulletStore.getOwner(row);
+            if (owner != BulletStore.NO_OWNER && !this.bulletStore.isDestroyed(row)) {
+                int posX = this.bulletStore.getX(row);
+                int posY = this.bulletStore.getY(row);
+                int hitEnemyTank = this.enemyTankBroadPhase.findFirstOverlapping(posX, posY,
+                        posX + Bullet.WIDTH, posY + Bullet.HEIGHT);
+                if (hitEnemyTank != -1) {
+                    this.enemyTankHit[hitEnemyTank] = true;
+                    this.bulletStore.destroy(row);
+                } else if (isBulletAtRowCollidingWith(row, this.playerTank)) {
+                    this.bulletOwnerHittingPlayerTank[owner] = true;
                 }
             }
         }
-        tank.getBullets().removeAll(bulletToBeRemovedFromTank);
-        this.bulletsWithoutTankOwner.removeAll(bulletToBeRemovedWithoutTankOwner);
     }
 
-    //MODIFIES: tank1, tank2
-    //EFFECTS: check for collision between every bullet for the two given tanks, and
-    // remove those colliding to each other; if the playerTank is removed, it is replaced
-    // with null
-    private void dealWithBulletCollisionForTwoTanks(Tank tank1, Tank tank2) {
-        List<Bullet> bulletToBeRemovedFromTank1 = new ArrayList<>();
-        List<Bullet> bulletToBeRemovedFromTank2 = new ArrayList<>();
+    //MODIFIES: this
+    //EFFECTS: finds the first owner (the player tank, then enemy tanks not hit, in order) of a bullet colliding
+    // with the player tank, destroys that owner's bullets colliding with the player tank, and returns true;
+    // or returns false if no such owner exists
+    private boolean dealWithBulletsHittingPlayerTank() {
+        if (this.bulletOwnerHittingPlayerTank[PLAYER_TANK_OWNER]) {
+            destroyBulletsOfOwnerCollidingWith(PLAYER_TANK_OWNER, this.playerTank);
+            return true;
+        }
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            if (this.bulletOwnerHittingPlayerTank[this.enemyTankOwners[i]] && !this.enemyTankHit[i]) {
+                destroyBulletsOfOwnerCollidingWith(this.enemyTankOwners[i], this.playerTank);
+                return true;
+            }
+        }
+        return false;
+    }
 
-        for (Bullet tank1Bullet : tank1.getBullets()) {
-            for (Bullet tank2Bullet : tank2.getBullets()) {
-                if (tank1Bullet.isCollidingWith(tank2Bullet)) {
-                    bulletToBeRemovedFromTank1.add(tank1Bullet);
-                    bulletToBeRemovedFromTank2.add(tank2Bullet);
-                }
+    //MODIFIES: this
+    //EFFECTS: removes every enemy tank marked as hit from the game, and the player tank if it was hit,
+    // replacing it with null; the owner id of their bullets is cleared
+    private void removeHitTanks(boolean playerTankHit) {
+        removeHitEnemyTanks();
+        if (playerTankHit) {
+            clearOwner(PLAYER_TANK_OWNER);
+            this.playerTank = null;
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every enemy tank marked as hit from the game, keeping the order of the others along
+    // with their owner ids, and clears the owner id of the bullets of the removed ones
+    private void removeHitEnemyTanks() {
+        int kept = 0;
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            if (this.enemyTankHit[i]) {
+                clearOwner(this.enemyTankOwners[i]);
+            } else {
+                this.enemyTanks.set(kept, this.enemyTanks.get(i));
+                this.enemyTankOwners[kept] = this.enemyTankOwners[i];
+                kept++;
             }
         }
-        tank1.getBullets().removeAll(bulletToBeRemovedFromTank1);
-        tank2.getBullets().removeAll(bulletToBeRemovedFromTank2);
+        if (kept < this.enemyTanks.size()) {
+            this.enemyTanks.subList(kept, this.enemyTanks.size()).clear();
+            this.enemyTankOwners = Arrays.copyOf(this.enemyTankOwners, kept);
+        }
+    }
+
+    //MODIFIES: this and the bullet list of the given owner
+    //EFFECTS: gives every bullet of the given owner id to no tank, and forgets the bullet list of that owner,
+    // after removing the bullets no longer in the bullet store, or destroyed, from it
+    private void clearOwner(int owner) {
+        List<Bullet> bullets = this.storedBulletLists.get(owner);
+        if (bullets != null) {
+            removeBulletsOutOfStoreFrom(bullets);
+        }
+        this.bulletStore.changeOwner(owner, BulletStore.NO_OWNER);
+        this.storedBulletLists.set(owner, null);
     }
 
     /* fixme original without iterator
@@ -314,22 +722,119 @@ public class CollisionHandler {
      */
 
     //MODIFIES: this
-    //EFFECTS: checks for collision between bullets in the tankForBulletsToCheck and tankForCollision, and
-    // removes every colliding bullet, and finally return the tankForCollision if it collided with any bullet
-    private Tank dealWithCollisionBetweenATankAndTankBullets(Tank tankForCollision, Tank tankForBulletsToCheck) {
-        Iterator<Bullet> iteratorForBullets = tankForBulletsToCheck.getBullets().iterator();
-        boolean haveToRemoveTankForCollision = false;
-        while (iteratorForBullets.hasNext()) {
-            Bullet b = iteratorForBullets.next();
-            if (b.isCollidingWith(tankForCollision)) {
-                iteratorForBullets.remove();
-                haveToRemoveTankForCollision = true;
+    //EFFECTS: destroys every bullet of the given owner colliding with the given tank in the bullet store
+    private void destroyBulletsOfOwnerCollidingWith(int owner, Tank tank) {
+        for (int row = 0; row < this.bulletStore.size(); row++) {
+            if (this.bulletStore.getOwner(row) == owner && !this.bulletStore.isDestroyed(row)
+                    && isBulletAtRowCollidingWith(row, tank)) {
+                this.bulletStore.destroy(row);
             }
         }
-        if (haveToRemoveTankForCollision) {
-            return tankForCollision;
-        } else {
-            return null;
+    }
+
+    //EFFECTS: returns true if the bullet at the given row of the bullet store is overlapping with the given
+    // object, as done with TankGameObject.isCollidingWith
+    private boolean isBulletAtRowCollidingWith(int row, TankGameObject tankGameObject) {
+        int posX = this.bulletStore.getX(row);
+        int posY = this.bulletStore.getY(row);
+        return tankGameObject.getLeftEdgeX() <= posX + Bullet.WIDTH && tankGameObject.getRightEdgeX() >= posX
+                && tankGameObject.getTopEdgeY() <= posY + Bullet.HEIGHT && tankGameObject.getBottomEdgeY() >= posY;
+    }
+
+    //EFFECTS: returns true if the given list is the one stored for the given owner id, unchanged since, and
+    // holds as many bullets as the owner has in the bullet store
+    private boolean isStored(int owner, BulletList bullets) {
+        return bullets == this.storedBulletLists.get(owner)
+                && bullets.getModificationCount() == this.storedModificationCounts[owner]
+                && bullets.size() == this.bulletStore.countBulletsOf(owner);
+    }
+
+    //MODIFIES: this and every bullet of the given owner
+    //EFFECTS: makes the bullets of the given owner id in the bullet store those in the given list, unless it is
+    // stored already (see isStored): adds the bullets of the list not stored under this owner, and removes the
+    // rows of this owner whose bullet is not in the list, leaving the other rows in place; the list is then
+    // remembered as the one stored for this owner
+    private void storeBulletsIfChanged(int owner, BulletList bullets) {
+        if (isStored(owner, bullets)) {
+            return;
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            int row = this.bulletStore.rowOf(bullets.get(i));
+            if (row == -1 || this.bulletStore.getOwner(row) != owner) {
+                this.bulletStore.add(bullets.get(i), owner);
+            }
+        }
+        if (this.bulletStore.countBulletsOf(owner) > bullets.size()) {
+            removeRowsNotListed(owner, bullets);
+        }
+        markStored(owner, bullets);
+    }
+
+    //REQUIRES: every bullet in the given list is in the bullet store
+    //MODIFIES: this and the bullets removed from the bullet store
+    //EFFECTS: removes the rows of the given owner id whose bullet is not in the given list, without creating
+    // any object once listedRows fits the store
+    private void removeRowsNotListed(int owner, BulletList bullets) {
+        if (this.listedRows.length < this.bulletStore.size()) {
+            this.listedRows = new boolean[this.bulletStore.size() * 2];
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            this.listedRows[this.bulletStore.rowOf(bullets.get(i))] = true;
+        }
+        for (int row = this.bulletStore.size() - 1; row >= 0; row--) {
+            boolean listed = this.listedRows[row];
+            this.listedRows[row] = false;
+            if (!listed && this.bulletStore.getOwner(row) == owner) {
+                this.bulletStore.remove(row);
+            }
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: remembers the given list, as it is now, as the one stored for the given owner id
+    private void markStored(int owner, BulletList bullets) {
+        this.storedBulletLists.set(owner, bullets);
+        this.storedModificationCounts[owner] = bullets.getModificationCount();
+    }
+
+    //MODIFIES: bullets
+    //EFFECTS: removes the bullets no longer in the bullet store, or destroyed, from the given list, keeping
+    // the order of the others, without creating any object
+    private void removeBulletsOutOfStoreFrom(List<Bullet> bullets) {
+        int kept = 0;
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet b = bullets.get(i);
+            if (this.bulletStore.rowOf(b) != -1) {
+                bullets.set(kept, b);
+                kept++;
+            }
+        }
+        while (bullets.size() > kept) {
+            bullets.remove(bullets.size() - 1);
+        }
+    }
+
+    //MODIFIES: this and every bullet with a tank owner
+    //EFFECTS: gives PLAYER_TANK_OWNER to the player tank and a new owner id to each enemy tank, in order,
+    // removing every bullet with a tank owner from the bullet store; they are stored again from the bullet
+    // lists of the tanks on the next update
+    private void assignOwners() {
+        for (int row = this.bulletStore.size() - 1; row >= 0; row--) {
+            if (this.bulletStore.getOwner(row) != BulletStore.NO_OWNER) {
+                this.bulletStore.remove(row);
+            }
+        }
+        this.storedBulletLists.clear();
+        this.storedBulletLists.add(null);
+        if (this.enemyTankOwners == null || this.enemyTankOwners.length != this.enemyTanks.size()) {
+            this.enemyTankOwners = new int[this.enemyTanks.size()];
+        }
+        for (int i = 0; i < this.enemyTankOwners.length; i++) {
+            this.enemyTankOwners[i] = this.storedBulletLists.size();
+            this.storedBulletLists.add(null);
+        }
+        if (this.storedModificationCounts.length < this.storedBulletLists.size()) {
+            this.storedModificationCounts = new int[this.storedBulletLists.size()];
         }
     }
 
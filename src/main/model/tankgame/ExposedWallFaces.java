@@ -0,0 +1,126 @@
+package model.tankgame;
+
+/*
+Represents the collision mesh of the walls of a WallOccupancyGrid: only the wall faces which can be hit,
+merged into runs (see WallFace), and bucketed by the column or row of cells they lie on, so that a moving
+object is only swept against the faces its path crosses, facing it.
+Faces between two touching walls are not part of the mesh, so an object sliding along a run of walls never
+bounces off the seams between them.
+Has fields:
+- leftFaces / rightFaces = the vertical faces facing left / right, by the column of the walls they belong to
+- topFaces / bottomFaces = the horizontal faces facing up / down, by the row of the walls they belong to
+ */
+
+import model.Wall;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExposedWallFaces {
+    private final List<List<WallFace>> leftFaces;
+    private final List<List<WallFace>> rightFaces;
+    private final List<List<WallFace>> topFaces;
+    private final List<List<WallFace>> bottomFaces;
+
+    //EFFECTS: creates the collision mesh of the walls currently in the given grid
+    public ExposedWallFaces(WallOccupancyGrid wallGrid) {
+        this.leftFaces = new ArrayList<>();
+        this.rightFaces = new ArrayList<>();
+        this.topFaces = new ArrayList<>();
+        this.bottomFaces = new ArrayList<>();
+        for (int column = 0; column < wallGrid.getColumns(); column++) {
+            this.leftFaces.add(findFaces(wallGrid, column, -1, 0));
+            this.rightFaces.add(findFaces(wallGrid, column, 1, 0));
+        }
+        for (int row = 0; row < wallGrid.getRows(); row++) {
+            this.topFaces.add(findFaces(wallGrid, row, 0, -1));
+            this.bottomFaces.add(findFaces(wallGrid, row, 0, 1));
+        }
+    }
+
+    //MODIFIES: sweptCollision
+    //EFFECTS: sweeps an object at (posX, posY) of the given width and height along the x and y velocity against
+    // every face crossed by its path and facing it, adding the contacts to those held in sweptCollision
+    public void sweep(int posX, int posY, int width, int height, int velX, int velY,
+                      SweptCollision sweptCollision) {
+        if (velX > 0) {
+            sweepBuckets(this.leftFaces, Math.floorDiv(posX + width, Wall.WIDTH) + 1,
+                    Math.floorDiv(posX + width + velX, Wall.WIDTH), posX, posY, width, height, velX, velY,
+                    sweptCollision);
+        } else if (velX < 0) {
+            sweepBuckets(this.rightFaces, Math.floorDiv(posX + velX, Wall.WIDTH),
+                    Math.floorDiv(posX - Wall.WIDTH, Wall.WIDTH), posX, posY, width, height, velX, velY,
+                    sweptCollision);
+        }
+        if (velY > 0) {
+            sweepBuckets(this.topFaces, Math.floorDiv(posY + height, Wall.HEIGHT) + 1,
+                    Math.floorDiv(posY + height + velY, Wall.HEIGHT), posX, posY, width, height, velX, velY,
+                    sweptCollision);
+        } else if (velY < 0) {
+            sweepBuckets(this.bottomFaces, Math.floorDiv(posY + velY, Wall.HEIGHT),
+                    Math.floorDiv(posY - Wall.HEIGHT, Wall.HEIGHT), posX, posY, width, height, velX, velY,
+                    sweptCollision);
+        }
+    }
+
+    //EFFECTS: returns every face in the mesh
+    public List<WallFace> getFaces() {
+        List<WallFace> faces = new ArrayList<>();
+        for (List<List<WallFace>> buckets : List.of(this.leftFaces, this.rightFaces, this.topFaces,
+                this.bottomFaces)) {
+            buckets.forEach(faces::addAll);
+        }
+        return faces;
+    }
+
+    //MODIFIES: sweptCollision
+    //EFFECTS: sweeps an object at (posX, posY) of the given width and height along the x and y velocity against
+    // every face in the given buckets from first to last, both included and clamped to the existing buckets
+    private void sweepBuckets(List<List<WallFace>> buckets, int first, int last, int posX, int posY, int width,
+                              int height, int velX, int velY, SweptCollision sweptCollision) {
+        for (int b = Math.max(0, first); b <= Math.min(buckets.size() - 1, last); b++) {
+            List<WallFace> bucket = buckets.get(b);
+            for (int k = 0; k < bucket.size(); k++) {
+                sweptCollision.sweepAgainstWallFace(posX, posY, width, height, velX, velY, bucket.get(k));
+            }
+        }
+    }
+
+    //EFFECTS: returns the runs of exposed faces facing (normalX, normalY) of the walls in the given column of
+    // cells if normalX is non-zero, or in the given row of cells otherwise
+    private static List<WallFace> findFaces(WallOccupancyGrid wallGrid, int columnOrRow, int normalX,
+                                            int normalY) {
+        List<WallFace> faces = new ArrayList<>();
+        List<Wall> run = new ArrayList<>();
+        int length = (normalX != 0) ? wallGrid.getRows() : wallGrid.getColumns();
+        for (int k = 0; k <= length; k++) {
+            int column = (normalX != 0) ? columnOrRow : k;
+            int row = (normalX != 0) ? k : columnOrRow;
+            Wall wall = wallGrid.getWallAt(column, row);
+            if (wall != null && wallGrid.getWallAt(column + normalX, row + normalY) == null) {
+                run.add(wall);
+            } else if (!run.isEmpty()) {
+                faces.add(createFace(run, normalX, normalY));
+                run.clear();
+            }
+        }
+        return faces;
+    }
+
+    //REQUIRES: run is not empty
+    //EFFECTS: returns the face facing (normalX, normalY) of the given run of adjacent walls
+    private static WallFace createFace(List<Wall> run, int normalX, int normalY) {
+        Wall first = run.get(0);
+        Wall last = run.get(run.size() - 1);
+        Wall[] walls = run.toArray(new Wall[0]);
+        if (normalX < 0) {
+            return new WallFace(normalX, 0, first.getLeftEdgeX(), first.getTopEdgeY(), last.getBottomEdgeY(), walls);
+        } else if (normalX > 0) {
+            return new WallFace(normalX, 0, first.getRightEdgeX(), first.getTopEdgeY(), last.getBottomEdgeY(), walls);
+        } else if (normalY < 0) {
+            return new WallFace(0, normalY, first.getTopEdgeY(), first.getLeftEdgeX(), last.getRightEdgeX(), walls);
+        }
+        return new WallFace(0, normalY, first.getBottomEdgeY(), first.getLeftEdgeX(), last.getRightEdgeX(), walls);
+    }
+
+}
@@ -0,0 +1,81 @@
+package model.tankgame;
+
+/*
+Represents a table of everything a tank game computes from the angle of a tank gun, for each of the 360 whole
+degrees a gun angle can take, so that firing and drawing a tank gun are lookups instead of trigonometry.
+Every value is computed once, with StrictMath so that the table, and the bullets fired through it, are the
+same on every machine.
+Angles outside [0, 360) are looked up as the same angle taken modulo 360.
+Has fields:
+- NUMBER_OF_ANGLES = the number of whole degrees in a turn
+- COSINES / SINES = the cosine and sine of each angle, which make up its rotation matrix
+- SPAWN_OFFSETS_X / SPAWN_OFFSETS_Y = the offset from the center of a tank at which a bullet fired with each
+gun angle appears
+- BULLET_VELOCITIES_X / BULLET_VELOCITIES_Y = the velocity of a bullet fired with each gun angle, in 16.16
+fixed-point pixels per tick (see FixedPoint), so that bullets fired at any angle have the same speed
+ */
+
+import model.FixedPoint;
+import model.tanks.Tank;
+
+public final class GunAngleTable {
+    public static final int NUMBER_OF_ANGLES = 360;
+
+    private static final double[] COSINES = new double[NUMBER_OF_ANGLES];
+    private static final double[] SINES = new double[NUMBER_OF_ANGLES];
+    private static final int[] SPAWN_OFFSETS_X = new int[NUMBER_OF_ANGLES];
+    private static final int[] SPAWN_OFFSETS_Y = new int[NUMBER_OF_ANGLES];
+    private static final int[] BULLET_VELOCITIES_X = new int[NUMBER_OF_ANGLES];
+    private static final int[] BULLET_VELOCITIES_Y = new int[NUMBER_OF_ANGLES];
+
+    static {
+        for (int angle = 0; angle < NUMBER_OF_ANGLES; angle++) {
+            COSINES[angle] = StrictMath.cos(StrictMath.toRadians(angle));
+            SINES[angle] = StrictMath.sin(StrictMath.toRadians(angle));
+            SPAWN_OFFSETS_X[angle] = (int) (Tank.WIDTH * 0.9 * COSINES[angle]);
+            SPAWN_OFFSETS_Y[angle] = (int) (Tank.HEIGHT * 0.9 * SINES[angle]);
+            BULLET_VELOCITIES_X[angle] = FixedPoint.fromDouble(TankGame.BULLET_SPEED * COSINES[angle]);
+            BULLET_VELOCITIES_Y[angle] = FixedPoint.fromDouble(TankGame.BULLET_SPEED * SINES[angle]);
+        }
+    }
+
+    //EFFECTS: the table only has static lookups, and is never instantiated
+    private GunAngleTable() {
+    }
+
+    //EFFECTS: returns the cosine of the given angle in degrees
+    public static double cos(int angle) {
+        return COSINES[indexOf(angle)];
+    }
+
+    //EFFECTS: returns the sine of the given angle in degrees
+    public static double sin(int angle) {
+        return SINES[indexOf(angle)];
+    }
+
+    //EFFECTS: returns the x offset from the center of a tank of a bullet fired with the given gun angle
+    public static int getSpawnOffsetX(int angle) {
+        return SPAWN_OFFSETS_X[indexOf(angle)];
+    }
+
+    //EFFECTS: returns the y offset from the center of a tank of a bullet fired with the given gun angle
+    public static int getSpawnOffsetY(int angle) {
+        return SPAWN_OFFSETS_Y[indexOf(angle)];
+    }
+
+    //EFFECTS: returns the x velocity of a bullet fired with the given gun angle, in fixed-point pixels per tick
+    public static int getFixedBulletVelocityX(int angle) {
+        return BULLET_VELOCITIES_X[indexOf(angle)];
+    }
+
+    //EFFECTS: returns the y velocity of a bullet fired with the given gun angle, in fixed-point pixels per tick
+    public static int getFixedBulletVelocityY(int angle) {
+        return BULLET_VELOCITIES_Y[indexOf(angle)];
+    }
+
+    //EFFECTS: returns the index in the table of the given angle, taken modulo NUMBER_OF_ANGLES
+    private static int indexOf(int angle) {
+        return (angle >= 0 && angle < NUMBER_OF_ANGLES) ? angle : Math.floorMod(angle, NUMBER_OF_ANGLES);
+    }
+
+}
@@ -0,0 +1,201 @@
+package model.tankgame;
+
+/*
+Represents a sweep and prune broad phase keeping its state from one tick to the next: the endpoints (edges)
+of the boxes along x and along y stay sorted between ticks, together with the set of overlapping pairs.
+Tanks and bullets only move a few pixels per tick, so the endpoints are almost sorted at the next tick;
+they are sorted again by insertion sort, and every swap of two endpoints tells that two boxes started or
+stopped overlapping along that axis, which updates the set of pairs. This takes time close to linear in
+the number of boxes when objects keep their index (their place in the lists they are added from).
+Boxes are cleared and added every tick as with the other broad phases: box i of this tick is taken as
+box i of the last tick having moved, boxes beyond the last index are dropped and new boxes are added at
+the end of the endpoints, as if they came from far away.
+Has fields:
+- endsAlongX / endsAlongY = the endpoints along each axis, as (box index * 2 + 1 if it is the high edge),
+  kept sorted by edge, low edges before high edges at the same coordinate so that touching boxes overlap
+- numberOfTrackedBoxes = the number of boxes the endpoints and the pairs were last updated for
+- overlapPairSet = the pairs of boxes overlapping, as of the last update
+- maxWidth = the largest width of a box, so that a query knows how far left the boxes it overlaps can start
+- updated = true if the endpoints and the pairs were updated for every box added
+ */
+
+import java.util.Arrays;
+
+public class IncrementalSweepAndPruneBroadPhase extends AbstractBroadPhase {
+    private static final int INITIAL_CAPACITY = 128;
+
+    private int[] endsAlongX;
+    private int[] endsAlongY;
+    private int numberOfTrackedBoxes;
+    private final OverlapPairSet overlapPairSet;
+    private int maxWidth;
+    private boolean updated;
+
+    //EFFECTS: creates an incremental sweep and prune broad phase holding no box
+    public IncrementalSweepAndPruneBroadPhase() {
+        super();
+        this.endsAlongX = new int[INITIAL_CAPACITY];
+        this.endsAlongY = new int[INITIAL_CAPACITY];
+        this.numberOfTrackedBoxes = 0;
+        this.overlapPairSet = new OverlapPairSet();
+        this.maxWidth = 0;
+        this.updated = true;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every box; the sorted endpoints and pairs are kept, to be updated with the boxes
+    // added until the next query
+    @Override
+    public void clear() {
+        super.clear();
+        this.updated = false;
+    }
+
+    @Override
+    public int add(int left, int top, int right, int bottom) {
+        this.updated = false;
+        return super.add(left, top, right, bottom);
+    }
+
+    @Override
+    public void findOverlappingPairs(OverlapPairs pairs) {
+        updateIfNeeded();
+        this.overlapPairSet.copyTo(pairs);
+    }
+
+    @Override
+    public int findFirstOverlapping(int left, int top, int right, int bottom) {
+        updateIfNeeded();
+        int firstIndex = -1;
+        int numberOfEnds = this.numberOfTrackedBoxes * 2;
+        for (int a = firstEndAtOrAfter(left - this.maxWidth);
+                a < numberOfEnds && coordinateOf(this.endsAlongX[a], this.lefts, this.rights) <= right; a++) {
+            int i = this.endsAlongX[a] >> 1;
+            if (isLowEnd(this.endsAlongX[a]) && (firstIndex == -1 || i < firstIndex)
+                    && overlaps(i, left, top, right, bottom)) {
+                firstIndex = i;
+            }
+        }
+        return firstIndex;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: brings the endpoints and the pairs up to date with the boxes added since the last clear,
+    // unless that was already done
+    private void updateIfNeeded() {
+        if (this.updated) {
+            return;
+        }
+        if (this.numberOfBoxes < this.numberOfTrackedBoxes) {
+            dropBoxesFrom(this.numberOfBoxes);
+        } else if (this.numberOfBoxes > this.numberOfTrackedBoxes) {
+            appendNewBoxes();
+        }
+        sortEnds(this.endsAlongX, this.lefts, this.rights);
+        sortEnds(this.endsAlongY, this.tops, this.bottoms);
+        this.maxWidth = 0;
+        for (int i = 0; i < this.numberOfBoxes; i++) {
+            this.maxWidth = Math.max(this.maxWidth, this.rights[i] - this.lefts[i]);
+        }
+        this.updated = true;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes the endpoints and pairs of every tracked box at or above the given index
+    private void dropBoxesFrom(int index) {
+        int kept = 0;
+        for (int a = 0; a < this.numberOfTrackedBoxes * 2; a++) {
+            if ((this.endsAlongX[a] >> 1) < index) {
+                this.endsAlongX[kept] = this.endsAlongX[a];
+                kept++;
+            }
+        }
+        kept = 0;
+        for (int a = 0; a < this.numberOfTrackedBoxes * 2; a++) {
+            if ((this.endsAlongY[a] >> 1) < index) {
+                this.endsAlongY[kept] = this.endsAlongY[a];
+                kept++;
+            }
+        }
+        this.overlapPairSet.removePairsWithIndexFrom(index);
+        this.numberOfTrackedBoxes = index;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds the endpoints of every box added beyond the tracked ones at the end of the endpoints
+    private void appendNewBoxes() {
+        if (this.endsAlongX.length < this.numberOfBoxes * 2) {
+            this.endsAlongX = Arrays.copyOf(this.endsAlongX, this.lefts.length * 2);
+            this.endsAlongY = Arrays.copyOf(this.endsAlongY, this.lefts.length * 2);
+        }
+        for (int i = this.numberOfTrackedBoxes; i < this.numberOfBoxes; i++) {
+            this.endsAlongX[i * 2] = i * 2;
+            this.endsAlongX[i * 2 + 1] = i * 2 + 1;
+            this.endsAlongY[i * 2] = i * 2;
+            this.endsAlongY[i * 2 + 1] = i * 2 + 1;
+        }
+        this.numberOfTrackedBoxes = this.numberOfBoxes;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sorts the given endpoints of one axis by insertion sort, given the low and high edges of the
+    // boxes along that axis; every time an endpoint moves before another one, updates the pair of their boxes
+    private void sortEnds(int[] ends, int[] lows, int[] highs) {
+        for (int a = 1; a < this.numberOfTrackedBoxes * 2; a++) {
+            int end = ends[a];
+            long key = keyOf(end, lows, highs);
+            int b = a;
+            while (b > 0 && keyOf(ends[b - 1], lows, highs) > key) {
+                updatePairOnSwap(end, ends[b - 1]);
+                ends[b] = ends[b - 1];
+                b--;
+            }
+            ends[b] = end;
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: updates the pair of boxes of the two given endpoints, as the first one moves before the second:
+    // a low edge moving before a high edge means the boxes start overlapping along that axis, and the pair is
+    // added if they overlap along both axes; a high edge moving before a low edge means they stop overlapping
+    private void updatePairOnSwap(int movingEnd, int passedEnd) {
+        if (isLowEnd(movingEnd) && !isLowEnd(passedEnd)) {
+            if (overlaps(movingEnd >> 1, passedEnd >> 1)) {
+                this.overlapPairSet.add(movingEnd >> 1, passedEnd >> 1);
+            }
+        } else if (!isLowEnd(movingEnd) && isLowEnd(passedEnd)) {
+            this.overlapPairSet.remove(movingEnd >> 1, passedEnd >> 1);
+        }
+    }
+
+    //EFFECTS: returns the first position in endsAlongX of an endpoint at or after the given x coordinate
+    private int firstEndAtOrAfter(int x) {
+        int low = 0;
+        int high = this.numberOfTrackedBoxes * 2;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (coordinateOf(this.endsAlongX[middle], this.lefts, this.rights) < x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    //EFFECTS: returns the key the given endpoint is sorted by, given the low and high edges along its axis
+    private long keyOf(int end, int[] lows, int[] highs) {
+        return ((long) coordinateOf(end, lows, highs) << 1) | (end & 1);
+    }
+
+    //EFFECTS: returns the coordinate of the given endpoint, given the low and high edges along its axis
+    private int coordinateOf(int end, int[] lows, int[] highs) {
+        return isLowEnd(end) ? lows[end >> 1] : highs[end >> 1];
+    }
+
+    //EFFECTS: returns true if the given endpoint is the low edge of its box
+    private boolean isLowEnd(int end) {
+        return (end & 1) == 0;
+    }
+
+}
@@ -2,11 +2,14 @@ package model.tankgame;
 
 /*
 Represents a handler object for the movement of TankGameObject objects, working as a part of tank game
+Has fields:
+- newPosition = the coordinate a tank moves to, reused from one tank to the next so that moving tanks
+creates no object
 
 LAST REVISED: 03/31/2022
  */
 
-import model.Bullet;
+import model.BulletStore;
 import model.tanks.EnemyTank;
 import model.tanks.PlayerTank;
 import model.tanks.Tank;
@@ -17,45 +20,69 @@ public class MovementHandler {
     private PlayerTank playerTank;
     private List<EnemyTank> enemyTanks;
     private CollisionHandler collisionHandler;
-    private List<Bullet> bulletsWithoutTankOwner;
+    private final int[] newPosition;
 
     //EFFECTS: creates a new movement handler which handles movements for the given TankGameObject
     public MovementHandler(CollisionHandler collisionHandler) {
         this.collisionHandler = collisionHandler;
+        this.newPosition = new int[2];
         this.playerTank = collisionHandler.getPlayerTank();
         this.enemyTanks = collisionHandler.getEnemyTanks();
-        this.bulletsWithoutTankOwner = collisionHandler.getBulletsWithoutTankOwner();
     }
 
     //TODO
     //MODIFIES: this and tanks
     //EFFECTS: moves all the enemy tanks according to AIs, rotate their tank guns
-    // according to input, and then deals with wall collision
+    // according to input, and then deals with wall and tank collision
     // FOR SIMPLICITY, ENEMY TANKS WON'T DO ANYTHING IN PHASE 1
     public void moveAllEnemyTanks() {
-        this.enemyTanks.forEach(this::moveEnemyTank);
+        this.collisionHandler.findTanksNearEachOther();
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            moveEnemyTank(this.enemyTanks.get(i), i);
+        }
     }
 
     //MODIFIES: this and bullets
     //EFFECTS: moves all bullets by 1 tick and then deals with wall collision; removes all bullets with
     // bounce count equal to the max bounce number
     public void moveAllBullets() {
-        //for player tank
-        moveBulletsForATank(this.playerTank);
-
-        //for enemy tanks
-        this.enemyTanks.forEach(this::moveBulletsForATank);
+        moveAllBulletsWithDeferredRemoval();
+        this.collisionHandler.removeDestroyedBullets();
+    }
 
-        //for bullets without owner
-        this.bulletsWithoutTankOwner.forEach(this::moveBulletInGame);
-        this.bulletsWithoutTankOwner.removeIf(b -> b.getBounceCount() >= TankGame.MAX_BOUNCE_COUNT);
+    //MODIFIES: this and bullets
+    //EFFECTS: same as moveAllBullets, but the bullets reaching the max bounce number are only destroyed in the
+    // bullet store; they are removed with CollisionHandler.removeDestroyedBullets. Bullets are moved row by row
+    // through the bullet store, skipping destroyed rows
+    public void moveAllBulletsWithDeferredRemoval() {
+        BulletStore bulletStore = this.collisionHandler.updateBulletStore();
+        for (int row = 0; row < bulletStore.size(); row++) {
+            if (!bulletStore.isDestroyed(row)) {
+                this.collisionHandler.moveBulletAt(row);
+                if (bulletStore.getBounceCount(row) >= TankGame.MAX_BOUNCE_COUNT) {
+                    bulletStore.destroy(row);
+                }
+            }
+        }
     }
 
     //MODIFIES: this and tank
     //EFFECTS: moves the player's tank according to input, rotates its tank gun
-    // according to input, and then deals with wall collision
+    // according to input, and then deals with wall and tank collision
     public void movePlayerTank(String playerInput) {
-        moveATank(playerInput, playerTank);
+        movePlayerTank(TankGame.inputOf(playerInput));
+    }
+
+    //MODIFIES: this and tank
+    //EFFECTS: moves the player's tank and rotates its tank gun according to every command in the given input
+    // bitmask (see TankGame.INPUT_UP), and then deals with wall and tank collision; does nothing once the
+    // player tank was hit
+    public void movePlayerTank(int playerInput) {
+        if (this.collisionHandler.getPlayerTank() == null) {
+            return;
+        }
+        this.collisionHandler.findTanksNearEachOther();
+        moveATank(playerInput, playerTank, this.enemyTanks.size());
     }
 
     public PlayerTank getPlayerTank() {
@@ -73,77 +100,44 @@ public class MovementHandler {
     // FOR SIMPLICITY, ENEMY TANKS WON'T DO ANYTHING IN PHASE 1
     //TODO
     //MODIFIES: this and tank
-    //EFFECTS: moves one enemy tank according to input, rotate its tank gun according to input
-    // and then deals with wall collision
+    //EFFECTS: moves one enemy tank, at the given index in enemyTanks, according to input, rotate its tank gun
+    // according to input and then deals with wall and tank collision
     // FOR SIMPLICITY, ENEMY TANKS WON'T DO ANYTHING IN PHASE 1
-    private void moveEnemyTank(Tank enemyTank) {
+    private void moveEnemyTank(Tank enemyTank, int enemyTankIndex) {
         //TEMPORARY FOR FUN
-        moveATank(TankGame.FIRE, enemyTank);
-        moveATank(TankGame.ANTI_CLOCKWISE, enemyTank);
+        moveATank(TankGame.INPUT_FIRE | TankGame.INPUT_ANTI_CLOCKWISE, enemyTank, enemyTankIndex);
     }
 
-    //TODO
     //MODIFIES: this and tank
-    //EFFECTS: moves the given tank according to input, rotates its tank gun according to
-    // input, and then deals with wall collision
-    private void moveATank(String input, Tank movedTank) {
-        int[] newPosition;
-        int velX = 0;
-        int velY = 0;
+    //EFFECTS: moves the given tank, of the given tank index (see CollisionHandler.findTanksNearEachOther),
+    // according to the given input bitmask, rotates its tank gun according to input, and then deals with wall
+    // and tank collision; opposite commands cancel each other out. A tank moving along both axes moves along
+    // x and then along y, so that it slides along a wall or a tank blocking it on one axis only
+    private void moveATank(int input, Tank movedTank, int tankIndex) {
         moveATankGun(input, movedTank);
-        //move movedTank around
-        if (input.equals(TankGame.RIGHT)) {
-            velX += Tank.SPEED;
+        int velX = ((input & TankGame.INPUT_RIGHT) != 0 ? Tank.SPEED : 0)
+                - ((input & TankGame.INPUT_LEFT) != 0 ? Tank.SPEED : 0);
+        int velY = ((input & TankGame.INPUT_DOWN) != 0 ? Tank.SPEED : 0)
+                - ((input & TankGame.INPUT_UP) != 0 ? Tank.SPEED : 0);
+        if (velX != 0) {
+            this.collisionHandler.findPositionAfterMovingTank(velX, 0, tankIndex, this.newPosition);
+            movedTank.setLocation(this.newPosition[0], this.newPosition[1]);
         }
-        if (input.equals(TankGame.LEFT)) {
-            velX -= Tank.SPEED;
+        if (velY != 0) {
+            this.collisionHandler.findPositionAfterMovingTank(0, velY, tankIndex, this.newPosition);
+            movedTank.setLocation(this.newPosition[0], this.newPosition[1]);
         }
-        if (input.equals(TankGame.UP)) {
-            velY -= Tank.SPEED;
-        }
-        if (input.equals(TankGame.DOWN)) {
-            velY += Tank.SPEED;
-        }
-        newPosition = this.collisionHandler.getPushedBackPositionIfCollidingOrAdvance(velX, velY, movedTank);
-        movedTank.setLocation(newPosition[0], newPosition[1]);
-        /* fixme: HANDLE FIRE BULLET RIGHT BEFORE MOVING TANKS IN THE TANKGAME ITSELF
-        //fire bullet
-        if (input.equals(TankGame.FIRE)) {
-            fireBullet(movedTank);
-        }
-
-         */
     }
 
     //MODIFIES: this and tank
-    //EFFECTS: moves this tank's gun according to input
-    private void moveATankGun(String input, Tank movedTank) {
-        switch (input) {
-            case TankGame.CLOCKWISE:
-                movedTank.rotateGunClockWise();
-                break;
-            case TankGame.ANTI_CLOCKWISE:
-                movedTank.rotateGunAntiClockWise();
-                break;
-        }
-    }
-
-    //MODIFIES: tank and this
-    //EFFECTS: moves every bullet for the given tank, and remove every bullet that have exceeded
-    // bounce-count
-    private void moveBulletsForATank(Tank t) {
-        t.getBullets().forEach(this::moveBulletInGame);
-        t.getBullets().removeIf(b -> b.getBounceCount() >= TankGame.MAX_BOUNCE_COUNT);
-    }
-
-    //MODIFIES: this and bullet
-    //EFFECTS: moves a bullet by 1 tick and then deals with wall collision; if the bullet collides
-    // with a wall, it turns around and keeps going, and its bounce count is increased by 1
-    private void moveBulletInGame(Bullet bullet) {
-        if (collisionHandler.isCollidingWithAWallInGame(bullet.getVelX(), bullet.getVelY(), bullet)) {
-            collisionHandler.dealWithBulletWallCollision(bullet);
-        } else {
-            bullet.moveBullet(); //just advance the bullet
+    //EFFECTS: rotates this tank's gun according to input; opposite rotations cancel each other out
+    private void moveATankGun(int input, Tank movedTank) {
+        boolean clockwise = (input & TankGame.INPUT_CLOCKWISE) != 0;
+        boolean antiClockwise = (input & TankGame.INPUT_ANTI_CLOCKWISE) != 0;
+        if (clockwise && !antiClockwise) {
+            movedTank.rotateGunClockWise();
+        } else if (antiClockwise && !clockwise) {
+            movedTank.rotateGunAntiClockWise();
         }
     }
 
@@ -0,0 +1,161 @@
+package model.tankgame;
+
+/*
+Represents a set of pairs of box indices, kept from one tick to the next by a broad phase which updates
+the pairs of overlapping boxes as they change, instead of finding them all again.
+Pairs are packed into one long each and held in an open addressing hash table with linear probing,
+so that adding and removing a pair does not create any object once the table is large enough.
+Has fields:
+- EMPTY = the value of a slot holding no pair
+- slots = the hash table, of a length that is a power of two
+- survivors = room to hold the pairs kept when pairs are dropped by index
+- size = the number of pairs in the set
+ */
+
+import java.util.Arrays;
+
+public class OverlapPairSet {
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] slots;
+    private long[] survivors;
+    private int size;
+
+    //EFFECTS: creates an empty set of pairs
+    public OverlapPairSet() {
+        this.slots = new long[INITIAL_CAPACITY];
+        Arrays.fill(this.slots, EMPTY);
+        this.survivors = new long[0];
+        this.size = 0;
+    }
+
+    //REQUIRES: index1 >= 0 and index2 >= 0
+    //MODIFIES: this
+    //EFFECTS: adds the pair of the two given indices, in either order, unless it is already in the set
+    public void add(int index1, int index2) {
+        if ((this.size + 1) * 2 > this.slots.length) {
+            resize(this.slots.length * 2);
+        }
+        insert(pack(index1, index2));
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes the pair of the two given indices, in either order, if it is in the set
+    public void remove(int index1, int index2) {
+        long pair = pack(index1, index2);
+        int mask = this.slots.length - 1;
+        int slot = slotOf(pair);
+        while (this.slots[slot] != pair) {
+            if (this.slots[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        //shift back the following pairs of the probe sequence, so that no probe stops at the freed slot
+        int next = (slot + 1) & mask;
+        while (this.slots[next] != EMPTY) {
+            int home = slotOf(this.slots[next]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                this.slots[slot] = this.slots[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.slots[slot] = EMPTY;
+        this.size--;
+    }
+
+    //EFFECTS: returns true if the pair of the two given indices, in either order, is in the set
+    public boolean contains(int index1, int index2) {
+        long pair = pack(index1, index2);
+        for (int slot = slotOf(pair); this.slots[slot] != EMPTY; slot = (slot + 1) & (this.slots.length - 1)) {
+            if (this.slots[slot] == pair) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every pair holding an index at or above the given one
+    public void removePairsWithIndexFrom(int index) {
+        if (this.survivors.length < this.size) {
+            this.survivors = new long[this.slots.length];
+        }
+        int kept = 0;
+        for (long pair : this.slots) {
+            if (pair != EMPTY && (int) pair < index) {
+                this.survivors[kept] = pair;
+                kept++;
+            }
+        }
+        Arrays.fill(this.slots, EMPTY);
+        this.size = 0;
+        for (int k = 0; k < kept; k++) {
+            insert(this.survivors[k]);
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every pair
+    public void clear() {
+        Arrays.fill(this.slots, EMPTY);
+        this.size = 0;
+    }
+
+    //MODIFIES: pairs
+    //EFFECTS: replaces the content of pairs with every pair in this set, in no particular order
+    public void copyTo(OverlapPairs pairs) {
+        pairs.clear();
+        for (long pair : this.slots) {
+            if (pair != EMPTY) {
+                pairs.add((int) (pair >>> 32), (int) pair);
+            }
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: puts the given packed pair in the table, unless it is already there
+    private void insert(long pair) {
+        int slot = slotOf(pair);
+        while (this.slots[slot] != EMPTY) {
+            if (this.slots[slot] == pair) {
+                return;
+            }
+            slot = (slot + 1) & (this.slots.length - 1);
+        }
+        this.slots[slot] = pair;
+        this.size++;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: moves every pair into a table of the given capacity
+    private void resize(int capacity) {
+        long[] oldSlots = this.slots;
+        this.slots = new long[capacity];
+        Arrays.fill(this.slots, EMPTY);
+        this.size = 0;
+        for (long pair : oldSlots) {
+            if (pair != EMPTY) {
+                insert(pair);
+            }
+        }
+    }
+
+    //EFFECTS: returns the two given indices packed into one long, the smaller one in the upper half
+    private long pack(int index1, int index2) {
+        return ((long) Math.min(index1, index2) << 32) | Math.max(index1, index2);
+    }
+
+    //EFFECTS: returns the slot the given packed pair is first looked for at
+    private int slotOf(long pair) {
+        long hash = pair * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (this.slots.length - 1);
+    }
+
+}
@@ -0,0 +1,61 @@
+package model.tankgame;
+
+/*
+Represents a list of pairs of box indices found overlapping by a BroadPhase, reused from one tick to
+the next so that finding pairs does not create any object once the list is large enough.
+Has fields:
+- firsts / seconds = the two indices of each pair, the first being the smaller one
+- size = the number of pairs currently in the list
+ */
+
+import java.util.Arrays;
+
+public class OverlapPairs {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] firsts;
+    private int[] seconds;
+    private int size;
+
+    //EFFECTS: creates an empty list of pairs
+    public OverlapPairs() {
+        this.firsts = new int[INITIAL_CAPACITY];
+        this.seconds = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every pair
+    public void clear() {
+        this.size = 0;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds the pair of the two given indices, ordered so that the smaller one comes first
+    public void add(int index1, int index2) {
+        if (this.size == this.firsts.length) {
+            this.firsts = Arrays.copyOf(this.firsts, this.size * 2);
+            this.seconds = Arrays.copyOf(this.seconds, this.size * 2);
+        }
+        this.firsts[this.size] = Math.min(index1, index2);
+        this.seconds[this.size] = Math.max(index1, index2);
+        this.size++;
+    }
+
+    //REQUIRES: 0 <= n < size()
+    //EFFECTS: returns the smaller index of the n-th pair
+    public int getFirst(int n) {
+        return this.firsts[n];
+    }
+
+    //REQUIRES: 0 <= n < size()
+    //EFFECTS: returns the larger index of the n-th pair
+    public int getSecond(int n) {
+        return this.seconds[n];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+}
@@ -0,0 +1,112 @@
+package model.tankgame;
+
+/*
+Represents a broad phase sorting the boxes along x (sweep and prune): walking the boxes by their left edge,
+a box is only tested against the following boxes starting before its right edge, so that only boxes whose
+x ranges overlap are tested. Suits maps where objects are spread along x, or crowd in a few places.
+The boxes are sorted again whenever a box was added since the last query.
+Has fields:
+- sortedBoxes = the indices of the boxes, sorted by left edge (ties by index)
+- sortKeys = the left edge and index of each box packed into one long, used to sort them
+- maxWidth = the largest width of a box, so that a query knows how far left the boxes it overlaps can start
+- sorted = true if sortedBoxes holds every box added
+ */
+
+import java.util.Arrays;
+
+public class SweepAndPruneBroadPhase extends AbstractBroadPhase {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] sortedBoxes;
+    private long[] sortKeys;
+    private int maxWidth;
+    private boolean sorted;
+
+    //EFFECTS: creates a sweep and prune broad phase holding no box
+    public SweepAndPruneBroadPhase() {
+        super();
+        this.sortedBoxes = new int[INITIAL_CAPACITY];
+        this.sortKeys = new long[INITIAL_CAPACITY];
+        this.maxWidth = 0;
+        this.sorted = true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.maxWidth = 0;
+        this.sorted = true;
+    }
+
+    @Override
+    public int add(int left, int top, int right, int bottom) {
+        this.maxWidth = Math.max(this.maxWidth, right - left);
+        this.sorted = false;
+        return super.add(left, top, right, bottom);
+    }
+
+    @Override
+    public void findOverlappingPairs(OverlapPairs pairs) {
+        pairs.clear();
+        sortIfNeeded();
+        for (int a = 0; a < this.numberOfBoxes; a++) {
+            int i = this.sortedBoxes[a];
+            for (int b = a + 1; b < this.numberOfBoxes && this.lefts[this.sortedBoxes[b]] <= this.rights[i]; b++) {
+                int j = this.sortedBoxes[b];
+                if (this.tops[j] <= this.bottoms[i] && this.bottoms[j] >= this.tops[i]) {
+                    pairs.add(i, j);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int findFirstOverlapping(int left, int top, int right, int bottom) {
+        sortIfNeeded();
+        int firstIndex = -1;
+        for (int a = firstSortedAtOrAfter(left - this.maxWidth);
+                a < this.numberOfBoxes && this.lefts[this.sortedBoxes[a]] <= right; a++) {
+            int i = this.sortedBoxes[a];
+            if ((firstIndex == -1 || i < firstIndex) && overlaps(i, left, top, right, bottom)) {
+                firstIndex = i;
+            }
+        }
+        return firstIndex;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sorts the boxes by left edge, unless that was already done for every box added
+    private void sortIfNeeded() {
+        if (this.sorted) {
+            return;
+        }
+        if (this.sortKeys.length < this.numberOfBoxes) {
+            this.sortKeys = new long[this.lefts.length];
+            this.sortedBoxes = new int[this.lefts.length];
+        }
+        for (int i = 0; i < this.numberOfBoxes; i++) {
+            this.sortKeys[i] = ((long) this.lefts[i] << 32) | i;
+        }
+        Arrays.sort(this.sortKeys, 0, this.numberOfBoxes);
+        for (int a = 0; a < this.numberOfBoxes; a++) {
+            this.sortedBoxes[a] = (int) this.sortKeys[a];
+        }
+        this.sorted = true;
+    }
+
+    //EFFECTS: returns the first position in sortedBoxes of a box with left edge at or after the given one
+    private int firstSortedAtOrAfter(int left) {
+        int low = 0;
+        int high = this.numberOfBoxes;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.lefts[this.sortedBoxes[middle]] < left) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+}
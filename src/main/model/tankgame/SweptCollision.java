@@ -0,0 +1,244 @@
+package model.tankgame;
+
+/*
+Represents the result of sweeping a moving object's box along its velocity against walls, reused from
+one sweep to the next so that no object is created per bullet per tick.
+The time of impact is kept as the integer fraction timeNumerator / timeDenominator (between 0 and 1, as a
+fraction of the object's velocity), so that every comparison is done with integer multiplication.
+The object hits a wall at the time its box starts overlapping the wall, with the same inclusive edges as
+Wall.isCollidingWithWall; it is therefore found even if its destination lies beyond the wall.
+Walls hit at the same time are all held as one contact: faces hit on different axes (an inside corner) add
+up, while a face hit takes precedence over the corner of another wall hit at the same time, so that a
+bullet crossing the seam between two adjacent walls bounces off their common face only.
+Walls can also be swept against one exposed face at a time (see WallFace): a face is only hit from the side
+it faces and through its length, never through its ends, so that the faces shared by touching walls, which
+an ExposedWallFaces mesh leaves out, are never hit. The wall of the face where the object touches it is held.
+Has fields:
+- wall = the wall hit first among those swept against since the last clear; null if none was hit
+- timeNumerator / timeDenominator = the time of impact of that hit
+- normalX / normalY = the direction of the faces that were hit, pointing away from the walls (-1, 0 or 1);
+both are non-zero when a corner is hit, and both are 0 if the object was already overlapping the wall
+- contactX / contactY = the coordinate of the object's TOP LEFT CORNER right before it touches the face
+hit along each axis; only meaningful along an axis with a non-zero normal
+ */
+
+import model.TankGameObject;
+import model.Wall;
+
+public class SweptCollision {
+    private Wall wall;
+    private int timeNumerator;
+    private int timeDenominator;
+    private int normalX;
+    private int normalY;
+    private int contactX;
+    private int contactY;
+
+    //EFFECTS: creates a swept collision holding no hit
+    public SweptCollision() {
+        clear();
+    }
+
+    //MODIFIES: this
+    //EFFECTS: forgets the hit currently held
+    public void clear() {
+        this.wall = null;
+        this.timeNumerator = 1;
+        this.timeDenominator = 1;
+        this.normalX = 0;
+        this.normalY = 0;
+        this.contactX = 0;
+        this.contactY = 0;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sweeps the given object along its x and y velocity against the given wall; see sweepAgainstWall
+    // with the object's position and size
+    public boolean sweepAgainstWall(int velX, int velY, TankGameObject tankGameObject, Wall wall) {
+        return sweepAgainstWall(tankGameObject.getX(), tankGameObject.getY(), tankGameObject.getWidth(),
+                tankGameObject.getHeight(), velX, velY, wall);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sweeps an object at (posX, posY) of the given width and height along the x and y velocity against
+    // the given wall; if the object hits the wall within this tick, strictly earlier than the hit currently
+    // held, holds this hit instead and returns true; if it hits it at the same time, adds it to the contact
+    // held and returns true if that changed the contact; otherwise returns false. An object already
+    // overlapping the wall hits it at time 0, with no normal
+    public boolean sweepAgainstWall(int posX, int posY, int width, int height, int velX, int velY, Wall wall) {
+        if (posX <= wall.getRightEdgeX() && posX + width >= wall.getLeftEdgeX()
+                && posY <= wall.getBottomEdgeY() && posY + height >= wall.getTopEdgeY()) {
+            return hold(wall, 0, 1, 0, 0, posX, posY);
+        }
+        int entryX = entryDistance(posX, width, velX, wall.getLeftEdgeX(), wall.getRightEdgeX());
+        int exitX = exitDistance(posX, width, velX, wall.getLeftEdgeX(), wall.getRightEdgeX());
+        int entryY = entryDistance(posY, height, velY, wall.getTopEdgeY(), wall.getBottomEdgeY());
+        int exitY = exitDistance(posY, height, velY, wall.getTopEdgeY(), wall.getBottomEdgeY());
+        int speedX = Math.abs(velX);
+        int speedY = Math.abs(velY);
+        //compare entryX / speedX with entryY / speedY; an axis without speed entered the wall long ago
+        long entryOrder = speedX == 0 ? -1 : (speedY == 0 ? 1 : (long) entryX * speedY - (long) entryY * speedX);
+        int entry = entryOrder >= 0 ? entryX : entryY;
+        int speed = entryOrder >= 0 ? speedX : speedY;
+        //the hit lies in this tick, and the object enters the wall on both axes before it exits on either
+        if (entry <= 0 || entry > speed || (long) entry * speedX > (long) exitX * speed
+                || (long) entry * speedY > (long) exitY * speed) {
+            return false;
+        }
+        return hold(wall, entry, speed, entryOrder >= 0 ? -Integer.signum(velX) : 0,
+                entryOrder <= 0 ? -Integer.signum(velY) : 0,
+                contactCoordinate(width, velX, wall.getLeftEdgeX(), wall.getRightEdgeX()),
+                contactCoordinate(height, velY, wall.getTopEdgeY(), wall.getBottomEdgeY()));
+    }
+
+    //MODIFIES: this
+    //EFFECTS: sweeps an object at (posX, posY) of the given width and height along the x and y velocity against
+    // the given face, holding the hit as done with sweepAgainstWall, with the face's normal only; the face is
+    // only hit by an object moving towards the side it faces, reaching the line the face lies on while it
+    // overlaps the face's length. An object already across that line does not hit it
+    public boolean sweepAgainstWallFace(int posX, int posY, int width, int height, int velX, int velY,
+                                        WallFace wallFace) {
+        if (wallFace.isVertical()) {
+            int entry = faceEntryDistance(posX, width, velX, posY, height, velY, wallFace.getLeftEdgeX(),
+                    wallFace.getNormalX(), wallFace.getTopEdgeY(), wallFace.getBottomEdgeY());
+            int speed = Math.abs(velX);
+            return entry != -1 && hold(wallFace.getWallNearest(posY + velY * entry / speed), entry, speed,
+                    wallFace.getNormalX(), 0,
+                    contactCoordinate(width, velX, wallFace.getLeftEdgeX(), wallFace.getRightEdgeX()), posY);
+        }
+        int entry = faceEntryDistance(posY, height, velY, posX, width, velX, wallFace.getTopEdgeY(),
+                wallFace.getNormalY(), wallFace.getLeftEdgeX(), wallFace.getRightEdgeX());
+        int speed = Math.abs(velY);
+        return entry != -1 && hold(wallFace.getWallNearest(posX + velX * entry / speed), entry, speed,
+                0, wallFace.getNormalY(), posX,
+                contactCoordinate(height, velY, wallFace.getTopEdgeY(), wallFace.getBottomEdgeY()));
+    }
+
+    //EFFECTS: returns true if a hit is currently held
+    public boolean hasHit() {
+        return this.wall != null;
+    }
+
+    public Wall getWall() {
+        return this.wall;
+    }
+
+    public int getTimeNumerator() {
+        return this.timeNumerator;
+    }
+
+    public int getTimeDenominator() {
+        return this.timeDenominator;
+    }
+
+    public int getNormalX() {
+        return this.normalX;
+    }
+
+    public int getNormalY() {
+        return this.normalY;
+    }
+
+    public int getContactX() {
+        return this.contactX;
+    }
+
+    public int getContactY() {
+        return this.contactY;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: holds the given hit and returns true if no hit is held or the given hit is strictly earlier
+    // than the one held; adds it to the contact held if both are at the same time; otherwise returns false
+    private boolean hold(Wall wall, int timeNumerator, int timeDenominator, int normalX, int normalY,
+                         int contactX, int contactY) {
+        long order = (this.wall == null) ? -1
+                : (long) timeNumerator * this.timeDenominator - (long) this.timeNumerator * timeDenominator;
+        if (order > 0) {
+            return false;
+        } else if (order == 0) {
+            return addSimultaneousContact(normalX, normalY, contactX, contactY);
+        }
+        this.wall = wall;
+        this.timeNumerator = timeNumerator;
+        this.timeDenominator = timeDenominator;
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.contactX = contactX;
+        this.contactY = contactY;
+        return true;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds a contact with the given normal, at the same time as the contact held, and returns true
+    // if that changed the normal held: a face replaces a held corner, faces along different axes add up,
+    // and a corner is ignored if anything was already held
+    private boolean addSimultaneousContact(int normalX, int normalY, int contactX, int contactY) {
+        boolean heldCorner = this.normalX != 0 && this.normalY != 0;
+        if ((normalX != 0 && normalY != 0) || (normalX == 0 && normalY == 0)) {
+            return false;
+        } else if (heldCorner) {
+            this.normalX = 0;
+            this.normalY = 0;
+        }
+        boolean changed = (normalX != 0 && this.normalX == 0) || (normalY != 0 && this.normalY == 0);
+        if (normalX != 0) {
+            this.normalX = normalX;
+            this.contactX = contactX;
+        } else {
+            this.normalY = normalY;
+            this.contactY = contactY;
+        }
+        return changed;
+    }
+
+    //EFFECTS: returns the coordinate along one axis of an object of the given size, moving at the given
+    // velocity towards the range [low, high], right before it touches the range
+    private static int contactCoordinate(int size, int vel, int low, int high) {
+        return (vel > 0) ? (low - size - 1) : (high + 1);
+    }
+
+    //EFFECTS: returns the distance an object at pos of the given size has to travel at the given velocity
+    // across a face lying on the given line and facing the given normal, before it reaches the line; or -1 if
+    // it does not reach it in this tick, moving towards the side it faces, while overlapping the face's range
+    // [low, high] along the other axis, given the position, size and velocity of the object along that axis
+    private static int faceEntryDistance(int pos, int size, int vel, int posAlong, int sizeAlong, int velAlong,
+                                         int line, int normal, int low, int high) {
+        int entry = entryDistance(pos, size, vel, line, line);
+        int speed = Math.abs(vel);
+        int speedAlong = Math.abs(velAlong);
+        if (Integer.signum(vel) != -normal || entry <= 0 || entry > speed
+                || (long) entryDistance(posAlong, sizeAlong, velAlong, low, high) * speed > (long) entry * speedAlong
+                || (long) exitDistance(posAlong, sizeAlong, velAlong, low, high) * speed < (long) entry * speedAlong) {
+            return -1;
+        }
+        return entry;
+    }
+
+    //EFFECTS: returns the distance an object at pos of the given size has to travel at the given velocity
+    // along one axis before it starts overlapping the range [low, high]; if the velocity is 0, returns 0
+    // when already overlapping the range on this axis, or 1 otherwise
+    private static int entryDistance(int pos, int size, int vel, int low, int high) {
+        if (vel > 0) {
+            return low - (pos + size);
+        } else if (vel < 0) {
+            return pos - high;
+        } else {
+            return (pos <= high && pos + size >= low) ? 0 : 1;
+        }
+    }
+
+    //EFFECTS: returns the distance an object at pos of the given size can travel at the given velocity
+    // along one axis while still overlapping the range [low, high]; if the velocity is 0, returns
+    // Integer.MAX_VALUE when already overlapping the range on this axis, or -1 otherwise
+    private static int exitDistance(int pos, int size, int vel, int low, int high) {
+        if (vel > 0) {
+            return high - pos;
+        } else if (vel < 0) {
+            return pos + size - low;
+        } else {
+            return (pos <= high && pos + size >= low) ? Integer.MAX_VALUE : -1;
+        }
+    }
+
+}
@@ -19,15 +19,30 @@ Has fields:
 - WIDTH = the width of the tank game
 - MAX_BOUNCE_COUNT = the maximum number of bounces a bullet in this game can have;
 a bullet having bounced this many times is removed
+- UP / DOWN / RIGHT / LEFT / CLOCKWISE / ANTI_CLOCKWISE / FIRE = the commands of a tank, one per call
+- INPUT_UP ... INPUT_FIRE = the bits of the same commands in an input bitmask, which holds every command
+given to a tank in one tick (so that it fits in one byte); NO_INPUT holds none
 - name = the name of the game that identifies it uniquely
 - playerTank = the player's tank that will be manipulated on command
 - enemyTanks = a list of all enemy tanks manipulated by the program
+- spareEnemyTanks = every enemy tank the game was set up with or reset to, hit or not, reused by resetTo
 - walls = a list of all walls placed in this game
+- wallGrid = an occupancy grid of the same walls, used to query wall collisions by cell
+- wallLayoutHash = the sum of the mixed hashes of the walls (see mixedHashOf), by which snapshots refer to the
+walls they were taken with instead of holding them
+- bulletStore = every bullet in the game, each carrying the owner id of its tank (see CollisionHandler)
+- broadPhaseType = the kind of broad phase used to find collisions between tanks and bullets
+- stateBackend = the memory the bullet store holds its rows in (see StateBackend)
+- eventLog = the log the events of this game go to; the shared EventLog instance unless the game is given a
+log of its own, as games run at once on several threads are (see BatchSimulation)
+- SNAPSHOT_GAME_OVER / SNAPSHOT_WON / SNAPSHOT_PLAYER_TANK_HIT = the bits of the flags of a snapshot
 
 LAST REVISED: 03/31/2022
  */
 
 import model.Bullet;
+import model.BulletStore;
+import model.StateBackend;
 import model.Wall;
 import model.Writable;
 import model.eventlog.Event;
@@ -40,11 +55,10 @@ import org.json.JSONObject;
 import persistence.JsonReader;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-import static java.lang.Math.*;
-
 public class TankGame implements Writable {
     public static final int NUMBER_OF_WALLS_FITTING_VERTICALLY = 20;
     public static final int NUMBER_OF_WALLS_FITTING_HORIZONTALLY = 15;
@@ -64,11 +78,32 @@ public class TankGame implements Writable {
     public static final String ANTI_CLOCKWISE = "q";
     public static final String FIRE = "b";
 
+    public static final int NO_INPUT = 0;
+    public static final int INPUT_UP = 1;
+    public static final int INPUT_DOWN = 1 << 1;
+    public static final int INPUT_RIGHT = 1 << 2;
+    public static final int INPUT_LEFT = 1 << 3;
+    public static final int INPUT_CLOCKWISE = 1 << 4;
+    public static final int INPUT_ANTI_CLOCKWISE = 1 << 5;
+    public static final int INPUT_FIRE = 1 << 6;
+
+    private static final int SNAPSHOT_GAME_OVER = 1;
+    private static final int SNAPSHOT_WON = 1 << 1;
+    private static final int SNAPSHOT_PLAYER_TANK_HIT = 1 << 2;
+    private static final int SNAPSHOT_HEADER_INTS = 4;
+    private static final int SNAPSHOT_TANK_INTS = 3;
+
     private final String name;
     private PlayerTank playerTank;
     private List<EnemyTank> enemyTanks;
+    private List<EnemyTank> spareEnemyTanks;
     private List<Wall> walls;
-    private List<Bullet> bulletsWithoutTankOwner;
+    private WallOccupancyGrid wallGrid;
+    private int wallLayoutHash;
+    private BulletStore bulletStore;
+    private BroadPhaseType broadPhaseType = BroadPhaseType.UNIFORM_GRID;
+    private StateBackend stateBackend = StateBackend.HEAP;
+    private EventLog eventLog = EventLog.getInstance();
 
     private CollisionHandler collisionHandler;
     private MovementHandler movementHandler;
@@ -90,54 +125,163 @@ public class TankGame implements Writable {
     public void setUp(PlayerTank playerTank, List<EnemyTank> enemyTanks, List<Wall> walls) {
         this.playerTank = playerTank;
         this.enemyTanks = enemyTanks;
+        this.spareEnemyTanks = new ArrayList<>(enemyTanks);
         this.walls = walls;
-        this.bulletsWithoutTankOwner = new ArrayList<>();
+        this.wallGrid = new WallOccupancyGrid(walls);
+        this.wallLayoutHash = 0;
+        for (Wall w : walls) {
+            this.wallLayoutHash += mixedHashOf(w);
+        }
+        this.bulletStore = new BulletStore(this.stateBackend);
         this.isGameOver = false;
         this.isWon = false;
         placeDefaultWalls();
 
         this.collisionHandler = new CollisionHandler(this.playerTank, this.enemyTanks,
-                this.walls, this.bulletsWithoutTankOwner);
+                this.walls, this.wallGrid, this.bulletStore, this.broadPhaseType);
         this.movementHandler = new MovementHandler(this.collisionHandler);
     }
 
+    //MODIFIES: this and all tank objects and all bullet objects
+    //EFFECTS: resets this game in place to the state of the given template, reusing its tanks, lists, bullet
+    // store, wall grid and handlers instead of setting it up again: enemy tanks hit since are brought back, the
+    // bullets of the template are written straight into the bullet store, attached to the Bullet objects of
+    // the bullets before the reset (see BulletStore.clearReusingBullets), and the walls are only placed again if
+    // they differ from those of the template
+    public void resetTo(TankGameTemplate template) {
+        restoreTank(this.playerTank, template, 0);
+        reuseSpareEnemyTanks(template.getNumberOfEnemyTanks());
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            restoreTank(this.enemyTanks.get(i), template, i + 1);
+        }
+        this.collisionHandler.resetTo(this.playerTank);
+        this.collisionHandler.addBulletRowsOf(this.playerTank, template.getBulletFields(0));
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            this.collisionHandler.addBulletRowsOf(this.enemyTanks.get(i), template.getBulletFields(i + 1));
+        }
+        restoreWalls(template.getWalls());
+        this.isGameOver = false;
+        this.isWon = false;
+    }
+
+    //MODIFIES: this, buffer and every bullet in the game
+    //EFFECTS: writes the complete state of this game into the given buffer from its position on, advancing it
+    // getSnapshotSize() bytes: whether it is over, won and its player tank hit, the position and gun angle of
+    // every tank, and every bullet with its owner and bounce count (see CollisionHandler.snapshotBullets). The
+    // walls, which are never moved, are not written, only their number and wallLayoutHash
+    public void snapshot(ByteBuffer buffer) {
+        buffer.putInt(this.walls.size()).putInt(this.wallLayoutHash);
+        buffer.putInt((this.isGameOver ? SNAPSHOT_GAME_OVER : 0) | (this.isWon ? SNAPSHOT_WON : 0)
+                | (this.collisionHandler.getPlayerTank() == null ? SNAPSHOT_PLAYER_TANK_HIT : 0));
+        buffer.putInt(this.enemyTanks.size());
+        putTank(buffer, this.playerTank);
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            putTank(buffer, this.enemyTanks.get(i));
+        }
+        this.collisionHandler.snapshotBullets(buffer);
+    }
+
+    //REQUIRES: the buffer holds a snapshot written by snapshot from its position on
+    //MODIFIES: this, buffer and all tank objects and all bullet objects
+    //EFFECTS: restores this game in place to the state of the snapshot at the position of the given buffer,
+    // reusing its tanks as resetTo does, and advances the buffer past it; the bullet list of a player tank hit is
+    // left empty. Throws IllegalArgumentException, changing nothing, if the snapshot was taken with other walls
+    // than those of this game
+    public void restore(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.getInt(start) != this.walls.size() || buffer.getInt(start + Integer.BYTES) != this.wallLayoutHash) {
+            throw new IllegalArgumentException("The snapshot was taken with other walls");
+        }
+        buffer.position(start + 2 * Integer.BYTES);
+        int flags = buffer.getInt();
+        reuseSpareEnemyTanks(buffer.getInt());
+        readTank(buffer, this.playerTank);
+        for (int i = 0; i < this.enemyTanks.size(); i++) {
+            readTank(buffer, this.enemyTanks.get(i));
+        }
+        boolean playerTankHit = (flags & SNAPSHOT_PLAYER_TANK_HIT) != 0;
+        this.collisionHandler.resetTo(playerTankHit ? null : this.playerTank);
+        this.collisionHandler.restoreBullets(buffer);
+        this.isGameOver = (flags & SNAPSHOT_GAME_OVER) != 0;
+        this.isWon = (flags & SNAPSHOT_WON) != 0;
+    }
+
+    //EFFECTS: returns the number of bytes snapshot writes for the current state of this game, changing nothing;
+    // between ticks it is exact, and otherwise an upper bound (see CollisionHandler.getBulletSnapshotSize)
+    public int getSnapshotSize() {
+        return Integer.BYTES * (SNAPSHOT_HEADER_INTS + SNAPSHOT_TANK_INTS * (this.enemyTanks.size() + 1))
+                + this.collisionHandler.getBulletSnapshotSize();
+    }
+
     //MODIFIES: this and all tank objects and all bullet objects
     //EFFECTS: update all the tank and bullets objects' state by one tick; tanks can fire bullets
-    // as their action
+    // as their action. Bullets removed during the tick are only destroyed, and all removed at its end
+    // in one pass (see CollisionHandler)
     public void update() {
         movementHandler.moveAllEnemyTanks();
-        movementHandler.moveAllBullets();
-        collisionHandler.dealWithCollisionForBullets();
+        movementHandler.moveAllBulletsWithDeferredRemoval();
+        collisionHandler.dealWithCollisionForBulletsWithDeferredRemoval();
         dealWithCollisionBetweenTanksAndBulletsAndCheckEndCondition();
+        collisionHandler.removeDestroyedBullets();
     }
 
     //MODIFIES: this and tank
     //EFFECTS: handles the player's tank according to input, rotates its tank gun
     // according to input, make it shoot some bullets, and then deals with wall collision
     public void handlePlayerTank(String playerInput) {
+        handlePlayerTank(inputOf(playerInput));
+    }
+
+    //MODIFIES: this and tank
+    //EFFECTS: handles the player's tank according to every command in the given input bitmask at once:
+    // moves it and rotates its tank gun, dealing with wall collision, and then makes it shoot a bullet
+    public void handlePlayerTank(int playerInput) {
         movementHandler.movePlayerTank(playerInput);
         //fire bullet
-        if (playerInput.equals(FIRE)) {
+        if ((playerInput & INPUT_FIRE) != 0) {
             fireBullet(playerTank);
-            EventLog.getInstance().logEvent(new Event("Player tank fired a new bullet."));
+            this.eventLog.logEvent(new Event("Player tank fired a new bullet."));
+        }
+    }
+
+    //EFFECTS: returns the input bitmask holding the given command alone; or NO_INPUT if it is not a command
+    public static int inputOf(String command) {
+        switch (command) {
+            case UP:
+                return INPUT_UP;
+            case DOWN:
+                return INPUT_DOWN;
+            case RIGHT:
+                return INPUT_RIGHT;
+            case LEFT:
+                return INPUT_LEFT;
+            case CLOCKWISE:
+                return INPUT_CLOCKWISE;
+            case ANTI_CLOCKWISE:
+                return INPUT_ANTI_CLOCKWISE;
+            case FIRE:
+                return INPUT_FIRE;
+            default:
+                return NO_INPUT;
         }
     }
 
     //MODIFIES: this
     //EFFECTS: adds a bullet at the given tank's current coordinate, aimed at the angle of
-    //its tank gun, but only if the number of bullets in the map is less than MAX_BULLET_PER_TANK.
+    //its tank gun, but only if the number of bullets of this tank in the map, counted by its owner id,
+    // is less than MAX_BULLET_PER_TANK.
     // If bullet added successfully, return true, otherwise return false.
-    // The bullet's speed is determined by BULLET_SPEED.
+    // The bullet's speed is determined by BULLET_SPEED, in fixed-point so that it is the same at any angle;
+    // its position and velocity are looked up in GunAngleTable.
     public boolean fireBullet(Tank t) {
-        if (t.getBullets().size() < MAX_BULLET_PER_TANK) {
+        if (collisionHandler.countBulletsOf(t) < MAX_BULLET_PER_TANK) {
+            int gunAngle = t.getGunAngle();
             Bullet newFiredBullet = new Bullet(
-                    t.getX() + t.getWidth() / 2
-                            + (int) (Tank.WIDTH * 0.9 * cos(toRadians(t.getGunAngle()))),
-                    t.getY() + t.getHeight() / 2
-                            + (int) (Tank.HEIGHT * 0.9 * sin(toRadians(t.getGunAngle()))),
-                    (int) (BULLET_SPEED * cos(toRadians(t.getGunAngle()))),
-                    (int) (BULLET_SPEED * sin(toRadians(t.getGunAngle()))));
-            t.addBullet(newFiredBullet);
+                    t.getX() + t.getWidth() / 2 + GunAngleTable.getSpawnOffsetX(gunAngle),
+                    t.getY() + t.getHeight() / 2 + GunAngleTable.getSpawnOffsetY(gunAngle), 0, 0);
+            newFiredBullet.setFixedPointVelocity(GunAngleTable.getFixedBulletVelocityX(gunAngle),
+                    GunAngleTable.getFixedBulletVelocityY(gunAngle));
+            collisionHandler.addBulletOf(t, newFiredBullet);
             return true;
         } else {
             return false;
@@ -170,16 +314,40 @@ public class TankGame implements Writable {
         return result;
     }
 
-    //REQUIRES: newWall is not null
+    //REQUIRES: newWall is not null and has non-negative coordinates
     //MODIFIES: this
-    //EFFECTS: adds a new wall into the list of walls of this game if a wall with identical
-    // coordinate is not there yet; do nothing otherwise.
+    //EFFECTS: adds a new wall into the list of walls and the wall grid of this game if a wall with
+    // identical coordinate is not there yet; do nothing otherwise. Since walls sit on cells, the wall grid
+    // tells in O(1) whether the cell of the new wall is already taken
     public void addWall(Wall newWall) {
-        if (!newWall.wallWithIdenticalPropertyContained(this.walls)) {
+        if (this.wallGrid.addWall(newWall)) {
             this.walls.add(newWall);
+            this.wallLayoutHash += mixedHashOf(newWall);
         }
     }
 
+    //MODIFIES: this
+    //EFFECTS: makes this game find collisions between tanks and bullets with broad phases of the given type,
+    // from the next tick on
+    public void setBroadPhaseType(BroadPhaseType broadPhaseType) {
+        this.broadPhaseType = broadPhaseType;
+        this.collisionHandler.setBroadPhaseType(broadPhaseType);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: moves the bullets of this game into the memory of the given backend, where they stay when the game
+    // is set up again
+    public void setStateBackend(StateBackend stateBackend) {
+        this.stateBackend = stateBackend;
+        this.bulletStore.setStateBackend(stateBackend);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: makes the events of this game go to the given log
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
     //EFFECTS: initializes the tank game to the game state stored in the given string source
     public static TankGame initializeDefaultTankGame(String source) throws IOException {
         JsonReader initialGameReader = new JsonReader(source);
@@ -215,8 +383,29 @@ public class TankGame implements Writable {
         return this.walls;
     }
 
+    public WallOccupancyGrid getWallGrid() {
+        return this.wallGrid;
+    }
+
+    //EFFECTS: returns a new list of the bullets in this game without tank owner
     public List<Bullet> getBulletsWithoutTankOwner() {
-        return this.bulletsWithoutTankOwner;
+        return this.collisionHandler.getBulletsWithoutTankOwner();
+    }
+
+    public BulletStore getBulletStore() {
+        return this.bulletStore;
+    }
+
+    public BroadPhaseType getBroadPhaseType() {
+        return this.broadPhaseType;
+    }
+
+    public StateBackend getStateBackend() {
+        return this.stateBackend;
+    }
+
+    public EventLog getEventLog() {
+        return this.eventLog;
     }
 
     public boolean isGameOver() {
@@ -229,11 +418,12 @@ public class TankGame implements Writable {
 
     //MODIFIES: this and all Tank objects in game (EnemyTank & PlayerTank objects)
     //EFFECTS: removes every tank that collided with a bullet, removing the colliding bullet and
-    // the tank that was hit. The bullets for the hit tanks will be moved to the "bullets without
-    // tank owner" list. Then, it will set the condition of this game to either win or lose.
+    // the tank that was hit. The bullets for the hit tanks are left without tank owner.
+    // Then, it will set the condition of this game to either win or lose.
     private void dealWithCollisionBetweenTanksAndBulletsAndCheckEndCondition() {
-        boolean won = collisionHandler.dealWithCollisionBetweenEnemyTanksAndBullets();
-        boolean lost = collisionHandler.dealWithCollisionBetweenPlayerTankAndBullets();
+        collisionHandler.dealWithCollisionBetweenTanksAndBulletsWithDeferredRemoval();
+        boolean won = collisionHandler.getEnemyTanks().isEmpty();
+        boolean lost = (collisionHandler.getPlayerTank() == null);
 
         if (won) {
             this.isGameOver = true;
@@ -255,6 +445,78 @@ public class TankGame implements Writable {
         }
     }
 
+    //MODIFIES: tank
+    //EFFECTS: moves the given tank and turns its gun as the tank of the given number in the template (see
+    // TankGameTemplate.getTankX), and empties its bullet list
+    private void restoreTank(Tank tank, TankGameTemplate template, int number) {
+        tank.setLocation(template.getTankX(number), template.getTankY(number));
+        tank.setGunAngle(template.getTankGunAngle(number));
+        tank.getBullets().clear();
+    }
+
+    //EFFECTS: returns a hash of the coordinate of the given wall spread over all 32 bits by the finalizer of
+    // MurmurHash3, so that sums of them tell layouts apart, unlike sums of Wall.hashCode, which only move
+    // coordinates between walls
+    private static int mixedHashOf(Wall wall) {
+        int hash = wall.getX() * 0x9E3779B1 + wall.getY();
+        hash = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: empties the list of enemy tanks and fills it with the first given number of spare enemy tanks,
+    // creating those missing; the bullet lists of all spare enemy tanks are emptied, as their Bullet objects are
+    // reused by the bullet store
+    private void reuseSpareEnemyTanks(int numberOfEnemyTanks) {
+        this.enemyTanks.clear();
+        for (int i = 0; i < this.spareEnemyTanks.size(); i++) {
+            this.spareEnemyTanks.get(i).getBullets().clear();
+        }
+        while (this.spareEnemyTanks.size() < numberOfEnemyTanks) {
+            this.spareEnemyTanks.add(new EnemyTank(0, 0, 0));
+        }
+        for (int i = 0; i < numberOfEnemyTanks; i++) {
+            this.enemyTanks.add(this.spareEnemyTanks.get(i));
+        }
+    }
+
+    //MODIFIES: buffer
+    //EFFECTS: writes the x, y and gun angle of the given tank into the given buffer, advancing it
+    private void putTank(ByteBuffer buffer, Tank tank) {
+        buffer.putInt(tank.getX()).putInt(tank.getY()).putInt(tank.getGunAngle());
+    }
+
+    //MODIFIES: buffer and tank
+    //EFFECTS: reads an x, y and gun angle from the given buffer, advancing it, and moves the given tank and
+    // turns its gun to them, emptying its bullet list
+    private void readTank(ByteBuffer buffer, Tank tank) {
+        int posX = buffer.getInt();
+        int posY = buffer.getInt();
+        tank.setLocation(posX, posY);
+        tank.setGunAngle(buffer.getInt());
+        tank.getBullets().clear();
+    }
+
+    //MODIFIES: this
+    //EFFECTS: places the given walls in place of those of the game, reusing the wall list and grid, unless the
+    // game already holds exactly the given walls
+    private void restoreWalls(List<Wall> templateWalls) {
+        boolean sameWalls = templateWalls.size() == this.walls.size();
+        for (int i = 0; i < templateWalls.size() && sameWalls; i++) {
+            Wall wall = templateWalls.get(i);
+            sameWalls = wall.equals(this.wallGrid.getWallAt(wall.getX() / Wall.WIDTH, wall.getY() / Wall.HEIGHT));
+        }
+        if (!sameWalls) {
+            this.walls.clear();
+            this.wallGrid.clear();
+            this.wallLayoutHash = 0;
+            for (int i = 0; i < templateWalls.size(); i++) {
+                addWall(templateWalls.get(i));
+            }
+        }
+    }
+
     //EFFECTS: returns a JSON Array object of the EnemyTank objects
     private JSONArray enemyTanksToJson() {
         JSONArray jsonArray = new JSONArray();
@@ -0,0 +1,122 @@
+package model.tankgame;
+
+/*
+Represents the state of a tank game at one moment, kept apart from the game so that it never changes: the
+tanks, their bullets and the walls. Games can be reset to it in place (see TankGame.resetTo), which is much
+cheaper than reading and parsing the map again, and reuses the objects of the game.
+Walls are never moved once placed, so the template shares the Wall objects of the game it was taken from.
+Has fields:
+- BULLET_FIELDS = the number of ints describing a bullet: x, y, fixed-point x and y velocity, x and y sub-pixel
+offset (see Bullet), and bounce count
+- name = the name of the game the template was taken from
+- tanks = the x, y and gun angle of the player tank, followed by those of each enemy tank
+- bullets = the bullets of the player tank, followed by those of each enemy tank, BULLET_FIELDS ints each
+- walls = the walls of the game, default walls included
+ */
+
+import model.Bullet;
+import model.BulletStore;
+import model.Wall;
+import model.tanks.EnemyTank;
+import model.tanks.PlayerTank;
+import model.tanks.Tank;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class TankGameTemplate {
+    public static final int BULLET_FIELDS = BulletStore.ROW_FIELDS;
+
+    private final String name;
+    private final int[] tanks;
+    private final int[][] bullets;
+    private final List<Wall> walls;
+
+    //EFFECTS: creates a template of the current state of the given game
+    public TankGameTemplate(TankGame game) {
+        this.name = game.getName();
+        List<EnemyTank> enemyTanks = game.getEnemyTanks();
+        this.tanks = new int[(enemyTanks.size() + 1) * 3];
+        this.bullets = new int[enemyTanks.size() + 1][];
+        recordTank(game.getPlayerTank(), 0);
+        for (int i = 0; i < enemyTanks.size(); i++) {
+            recordTank(enemyTanks.get(i), i + 1);
+        }
+        this.walls = Collections.unmodifiableList(new ArrayList<>(game.getWalls()));
+    }
+
+    //EFFECTS: returns a new game in the state of this template
+    public TankGame createGame() {
+        List<EnemyTank> enemyTanks = new ArrayList<>();
+        for (int i = 0; i < getNumberOfEnemyTanks(); i++) {
+            enemyTanks.add(new EnemyTank(getTankX(i + 1), getTankY(i + 1), getTankGunAngle(i + 1)));
+        }
+        TankGame game = new TankGame(this.name, new PlayerTank(getTankX(0), getTankY(0), getTankGunAngle(0)),
+                enemyTanks, new ArrayList<>());
+        game.resetTo(this);
+        return game;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getNumberOfEnemyTanks() {
+        return this.tanks.length / 3 - 1;
+    }
+
+    //EFFECTS: returns the x of the player tank if tank is 0, or else of enemy tank tank - 1
+    public int getTankX(int tank) {
+        return this.tanks[tank * 3];
+    }
+
+    //EFFECTS: returns the y of the tank, numbered as in getTankX
+    public int getTankY(int tank) {
+        return this.tanks[tank * 3 + 1];
+    }
+
+    //EFFECTS: returns the gun angle of the tank, numbered as in getTankX
+    public int getTankGunAngle(int tank) {
+        return this.tanks[tank * 3 + 2];
+    }
+
+    //EFFECTS: returns the number of bullets of the tank, numbered as in getTankX
+    public int getNumberOfBullets(int tank) {
+        return this.bullets[tank].length / BULLET_FIELDS;
+    }
+
+    //REQUIRES: 0 <= field < BULLET_FIELDS
+    //EFFECTS: returns the given field of the given bullet of the tank, numbered as in getTankX
+    public int getBulletField(int tank, int bullet, int field) {
+        return this.bullets[tank][bullet * BULLET_FIELDS + field];
+    }
+
+    //EFFECTS: returns the fields of every bullet of the tank, numbered as in getTankX, BULLET_FIELDS ints each in
+    // the order of BulletStore.addRow; the array is that of the template, and must not be modified
+    int[] getBulletFields(int tank) {
+        return this.bullets[tank];
+    }
+
+    //EFFECTS: returns the walls of the template, which cannot be modified
+    public List<Wall> getWalls() {
+        return this.walls;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: records the position, gun angle and bullets of the given tank as the tank of the given number
+    private void recordTank(Tank tank, int number) {
+        this.tanks[number * 3] = tank.getX();
+        this.tanks[number * 3 + 1] = tank.getY();
+        this.tanks[number * 3 + 2] = tank.getGunAngle();
+        List<Bullet> tankBullets = tank.getBullets();
+        this.bullets[number] = new int[tankBullets.size() * BULLET_FIELDS];
+        for (int i = 0; i < tankBullets.size(); i++) {
+            Bullet b = tankBullets.get(i);
+            int[] fields = {b.getX(), b.getY(), b.getFixedVelX(), b.getFixedVelY(), b.getFractionX(),
+                    b.getFractionY(), b.getBounceCount()};
+            System.arraycopy(fields, 0, this.bullets[number], i * BULLET_FIELDS, BULLET_FIELDS);
+        }
+    }
+
+}
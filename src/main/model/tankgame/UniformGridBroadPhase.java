@@ -0,0 +1,165 @@
+package model.tankgame;
+
+/*
+Represents a broad phase bucketing the boxes into the cells of a uniform grid, hashed so that the grid has
+no bounds; a box is entered in every cell it overlaps, and only boxes sharing a cell are tested against
+each other. Suits maps where objects are spread evenly, whatever their number.
+A pair of overlapping boxes shares every cell of their intersection, so it is only reported from the cell
+holding the TOP LEFT CORNER of that intersection, which makes every pair reported exactly once.
+The cells are chained again whenever a box was added since the last query.
+Has fields:
+- CELL_SIZE = the default width and height of a cell
+- cellSize = the width and height of the cells of this grid
+- entryBoxes / entryCellXs / entryCellYs = the box and cell of each entry, one entry per cell a box overlaps
+- nextInBucket / bucketHeads = the chained hash table of entries
+- built = true if the hash table holds every box added
+ */
+
+import java.util.Arrays;
+
+public class UniformGridBroadPhase extends AbstractBroadPhase {
+    public static final int CELL_SIZE = 32;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int cellSize;
+    private int[] entryBoxes;
+    private int[] entryCellXs;
+    private int[] entryCellYs;
+    private int[] nextInBucket;
+    private int[] bucketHeads;
+    private int numberOfEntries;
+    private boolean built;
+
+    //EFFECTS: creates a uniform grid broad phase holding no box, with cells of CELL_SIZE
+    public UniformGridBroadPhase() {
+        this(CELL_SIZE);
+    }
+
+    //REQUIRES: cellSize > 0
+    //EFFECTS: creates a uniform grid broad phase holding no box, with cells of the given size
+    public UniformGridBroadPhase(int cellSize) {
+        super();
+        this.cellSize = cellSize;
+        this.entryBoxes = new int[INITIAL_CAPACITY];
+        this.entryCellXs = new int[INITIAL_CAPACITY];
+        this.entryCellYs = new int[INITIAL_CAPACITY];
+        this.nextInBucket = new int[INITIAL_CAPACITY];
+        this.bucketHeads = new int[INITIAL_CAPACITY];
+        this.numberOfEntries = 0;
+        this.built = false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.numberOfEntries = 0;
+        this.built = false;
+    }
+
+    @Override
+    public int add(int left, int top, int right, int bottom) {
+        this.built = false;
+        return super.add(left, top, right, bottom);
+    }
+
+    @Override
+    public void findOverlappingPairs(OverlapPairs pairs) {
+        pairs.clear();
+        buildIfNeeded();
+        for (int e = 0; e < this.numberOfEntries; e++) {
+            int i = this.entryBoxes[e];
+            int cellX = this.entryCellXs[e];
+            int cellY = this.entryCellYs[e];
+            //entries are chained from the latest added, so stop at the first entry of an earlier box
+            int f = this.bucketHeads[bucketOf(cellX, cellY)];
+            while (f != -1 && this.entryBoxes[f] > i) {
+                int j = this.entryBoxes[f];
+                if (this.entryCellXs[f] == cellX && this.entryCellYs[f] == cellY && overlaps(i, j)
+                        && cellOf(Math.max(this.lefts[i], this.lefts[j])) == cellX
+                        && cellOf(Math.max(this.tops[i], this.tops[j])) == cellY) {
+                    pairs.add(i, j);
+                }
+                f = this.nextInBucket[f];
+            }
+        }
+    }
+
+    @Override
+    public int findFirstOverlapping(int left, int top, int right, int bottom) {
+        buildIfNeeded();
+        int firstIndex = -1;
+        for (int cellX = cellOf(left); cellX <= cellOf(right); cellX++) {
+            for (int cellY = cellOf(top); cellY <= cellOf(bottom); cellY++) {
+                int e = this.bucketHeads[bucketOf(cellX, cellY)];
+                while (e != -1) {
+                    int i = this.entryBoxes[e];
+                    if ((firstIndex == -1 || i < firstIndex) && this.entryCellXs[e] == cellX
+                            && this.entryCellYs[e] == cellY && overlaps(i, left, top, right, bottom)) {
+                        firstIndex = i;
+                    }
+                    e = this.nextInBucket[e];
+                }
+            }
+        }
+        return firstIndex;
+    }
+
+    public int getCellSize() {
+        return this.cellSize;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: enters every box in the cells it overlaps and chains the entries into the hash table,
+    // unless that was already done for every box added
+    private void buildIfNeeded() {
+        if (this.built) {
+            return;
+        }
+        this.numberOfEntries = 0;
+        for (int i = 0; i < this.numberOfBoxes; i++) {
+            for (int cellX = cellOf(this.lefts[i]); cellX <= cellOf(this.rights[i]); cellX++) {
+                for (int cellY = cellOf(this.tops[i]); cellY <= cellOf(this.bottoms[i]); cellY++) {
+                    addEntry(i, cellX, cellY);
+                }
+            }
+        }
+        int neededBuckets = Integer.highestOneBit(Math.max(1, this.numberOfEntries)) * 2;
+        if (this.bucketHeads.length < neededBuckets) {
+            this.bucketHeads = new int[neededBuckets];
+        }
+        Arrays.fill(this.bucketHeads, -1);
+        for (int e = 0; e < this.numberOfEntries; e++) {
+            int bucket = bucketOf(this.entryCellXs[e], this.entryCellYs[e]);
+            this.nextInBucket[e] = this.bucketHeads[bucket];
+            this.bucketHeads[bucket] = e;
+        }
+        this.built = true;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds an entry of the given box in the given cell
+    private void addEntry(int box, int cellX, int cellY) {
+        if (this.numberOfEntries == this.entryBoxes.length) {
+            int newCapacity = this.numberOfEntries * 2;
+            this.entryBoxes = Arrays.copyOf(this.entryBoxes, newCapacity);
+            this.entryCellXs = Arrays.copyOf(this.entryCellXs, newCapacity);
+            this.entryCellYs = Arrays.copyOf(this.entryCellYs, newCapacity);
+            this.nextInBucket = Arrays.copyOf(this.nextInBucket, newCapacity);
+        }
+        this.entryBoxes[this.numberOfEntries] = box;
+        this.entryCellXs[this.numberOfEntries] = cellX;
+        this.entryCellYs[this.numberOfEntries] = cellY;
+        this.numberOfEntries++;
+    }
+
+    //EFFECTS: returns the cell holding the given coordinate, along either axis
+    private int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, this.cellSize);
+    }
+
+    //EFFECTS: returns the bucket of the given cell
+    private int bucketOf(int cellX, int cellY) {
+        return ((cellX * 73856093) ^ (cellY * 19349663)) & (this.bucketHeads.length - 1);
+    }
+
+}
@@ -0,0 +1,219 @@
+package model.tankgame;
+
+/*
+Represents a fixed number of tank games stepped together as the environments of reinforcement learning: one
+call gives every player tank its action, steps every game one tick, and writes what each game looks like,
+its reward and whether its episode is done into flat arrays given by the caller, without creating any object.
+A game whose episode is done is reset at once, in place, to the template every episode starts from (see
+TankGame.resetTo), and the observation written for it is the first one of the new episode.
+The observation of each game is getObservationSize() floats long, starting at its index times that size:
+- the player tank: x, y and gun angle (PLAYER_FEATURES)
+- each of maxEnemyTanks enemy tank slots: 1 if the slot holds a tank and 0 otherwise, x, y and gun angle
+(ENEMY_FEATURES); slots past the enemy tanks left are all 0
+- each of maxBullets bullet slots: 1 if the slot holds a bullet and 0 otherwise, x, y, x and y velocity in
+pixels per tick, and 1 for a bullet of the player tank, -1 for a bullet of an enemy tank or 0 for a bullet
+without tank owner (BULLET_FEATURES)
+- each cell of the map, row by row: 1 if a wall occupies it and 0 otherwise
+Has fields:
+- ENEMY_TANK_DESTROYED_REWARD = the reward for each enemy tank destroyed in a step
+- WON_REWARD / LOST_REWARD = the reward for the step ending the episode won / lost
+- template = the state every episode starts from
+- worlds = the game of the current episode of each environment
+- enemyTanksLeft = the number of enemy tanks of each game after the last step
+- maxEnemyTanks / maxBullets = the number of enemy tank and bullet slots in an observation; the enemy tanks
+and bullets past them are left out
+- columns / rows = the cells of the map in an observation
+ */
+
+import model.BulletStore;
+import model.FixedPoint;
+import model.Wall;
+import model.eventlog.EventLog;
+import model.tanks.EnemyTank;
+import model.tanks.Tank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VectorEnvironment {
+    public static final int PLAYER_FEATURES = 3;
+    public static final int ENEMY_FEATURES = 4;
+    public static final int BULLET_FEATURES = 6;
+    public static final float ENEMY_TANK_DESTROYED_REWARD = 0.1f;
+    public static final float WON_REWARD = 1;
+    public static final float LOST_REWARD = -1;
+
+    private final TankGameTemplate template;
+    private final List<TankGame> worlds;
+    private final int[] enemyTanksLeft;
+    private final int maxEnemyTanks;
+    private final int maxBullets;
+    private final int columns;
+    private final int rows;
+
+    //REQUIRES: numberOfWorlds > 0, and the template has the player tank and at least one enemy tank
+    //EFFECTS: creates the given number of environments, each playing games starting from the given template;
+    // there are as many enemy tank slots as the template has enemy tanks, and as many bullet slots as the
+    // bullets all of its tanks can have at once
+    public VectorEnvironment(TankGameTemplate template, int numberOfWorlds) {
+        this.template = template;
+        this.worlds = new ArrayList<>(numberOfWorlds);
+        this.enemyTanksLeft = new int[numberOfWorlds];
+        for (int index = 0; index < numberOfWorlds; index++) {
+            TankGame world = template.createGame();
+            world.setEventLog(new EventLog());
+            this.worlds.add(world);
+            this.enemyTanksLeft[index] = world.getEnemyTanks().size();
+        }
+        this.maxEnemyTanks = template.getNumberOfEnemyTanks();
+        this.maxBullets = (this.maxEnemyTanks + 1) * TankGame.MAX_BULLET_PER_TANK;
+        this.columns = TankGame.WIDTH / Wall.WIDTH;
+        this.rows = TankGame.HEIGHT / Wall.HEIGHT;
+    }
+
+    //REQUIRES: observationsOut is getNumberOfWorlds() * getObservationSize() long
+    //MODIFIES: this and observationsOut
+    //EFFECTS: starts a new episode in every environment, and writes their first observations
+    public void reset(float[] observationsOut) {
+        for (int index = 0; index < this.worlds.size(); index++) {
+            startEpisode(index);
+            writeObservation(index, observationsOut);
+        }
+    }
+
+    //REQUIRES: actions is getNumberOfWorlds() long and holds input bitmasks (see TankGame.INPUT_UP), rewardsOut
+    // and donesOut are getNumberOfWorlds() long, and observationsOut is getNumberOfWorlds() *
+    // getObservationSize() long
+    //MODIFIES: this, observationsOut, rewardsOut and donesOut
+    //EFFECTS: gives each player tank its action and steps each game one tick, writes the reward of the step
+    // and whether it ended the episode, starting a new one if so, and writes the observation of each game
+    public void step(int[] actions, float[] observationsOut, float[] rewardsOut, boolean[] donesOut) {
+        for (int index = 0; index < this.worlds.size(); index++) {
+            TankGame world = this.worlds.get(index);
+            world.handlePlayerTank(actions[index]);
+            world.update();
+            int enemyTanksDestroyed = this.enemyTanksLeft[index] - world.getEnemyTanks().size();
+            this.enemyTanksLeft[index] = world.getEnemyTanks().size();
+            rewardsOut[index] = enemyTanksDestroyed * ENEMY_TANK_DESTROYED_REWARD;
+            donesOut[index] = world.isGameOver();
+            if (world.isGameOver()) {
+                rewardsOut[index] += world.isWon() ? WON_REWARD : LOST_REWARD;
+                startEpisode(index);
+            }
+            writeObservation(index, observationsOut);
+        }
+    }
+
+    //EFFECTS: returns the number of floats in the observation of one game
+    public int getObservationSize() {
+        return getWallOffset() + this.columns * this.rows;
+    }
+
+    //EFFECTS: returns where the enemy tank slots start in the observation of a game
+    public int getEnemyTankOffset() {
+        return PLAYER_FEATURES;
+    }
+
+    //EFFECTS: returns where the bullet slots start in the observation of a game
+    public int getBulletOffset() {
+        return getEnemyTankOffset() + this.maxEnemyTanks * ENEMY_FEATURES;
+    }
+
+    //EFFECTS: returns where the cells of the map start in the observation of a game
+    public int getWallOffset() {
+        return getBulletOffset() + this.maxBullets * BULLET_FEATURES;
+    }
+
+    public int getNumberOfWorlds() {
+        return this.worlds.size();
+    }
+
+    public int getMaxEnemyTanks() {
+        return this.maxEnemyTanks;
+    }
+
+    public int getMaxBullets() {
+        return this.maxBullets;
+    }
+
+    public TankGame getWorld(int index) {
+        return this.worlds.get(index);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: resets the game of the given environment to the template in place, and clears its event log
+    private void startEpisode(int index) {
+        TankGame world = this.worlds.get(index);
+        world.resetTo(this.template);
+        world.getEventLog().clear();
+        this.enemyTanksLeft[index] = world.getEnemyTanks().size();
+    }
+
+    //MODIFIES: observations
+    //EFFECTS: writes the observation of the game of the given environment into its part of observations
+    private void writeObservation(int index, float[] observations) {
+        TankGame world = this.worlds.get(index);
+        int start = index * getObservationSize();
+        writeTank(world.getPlayerTank(), observations, start);
+        List<EnemyTank> enemyTanks = world.getEnemyTanks();
+        for (int slot = 0; slot < this.maxEnemyTanks; slot++) {
+            int offset = start + getEnemyTankOffset() + slot * ENEMY_FEATURES;
+            boolean present = slot < enemyTanks.size();
+            observations[offset] = present ? 1 : 0;
+            if (present) {
+                writeTank(enemyTanks.get(slot), observations, offset + 1);
+            } else {
+                observations[offset + 1] = 0;
+                observations[offset + 2] = 0;
+                observations[offset + 3] = 0;
+            }
+        }
+        writeBullets(world.getBulletStore(), observations, start + getBulletOffset());
+        writeWalls(world.getWallGrid(), observations, start + getWallOffset());
+    }
+
+    //MODIFIES: observations
+    //EFFECTS: writes the x, y and gun angle of the given tank into observations from the given offset
+    private void writeTank(Tank tank, float[] observations, int offset) {
+        observations[offset] = tank.getX();
+        observations[offset + 1] = tank.getY();
+        observations[offset + 2] = tank.getGunAngle();
+    }
+
+    //MODIFIES: observations
+    //EFFECTS: writes the bullet slots, filled from the rows of the given store, into observations from the
+    // given offset
+    private void writeBullets(BulletStore bulletStore, float[] observations, int offset) {
+        int slot = 0;
+        for (int row = 0; row < bulletStore.size() && slot < this.maxBullets; row++) {
+            if (!bulletStore.isDestroyed(row)) {
+                int bulletOffset = offset + slot * BULLET_FEATURES;
+                int owner = bulletStore.getOwner(row);
+                observations[bulletOffset] = 1;
+                observations[bulletOffset + 1] = bulletStore.getX(row);
+                observations[bulletOffset + 2] = bulletStore.getY(row);
+                observations[bulletOffset + 3] = (float) bulletStore.getFixedVelX(row) / FixedPoint.ONE;
+                observations[bulletOffset + 4] = (float) bulletStore.getFixedVelY(row) / FixedPoint.ONE;
+                observations[bulletOffset + 5] = (owner == CollisionHandler.PLAYER_TANK_OWNER) ? 1
+                        : (owner == BulletStore.NO_OWNER) ? 0 : -1;
+                slot++;
+            }
+        }
+        for (int k = offset + slot * BULLET_FEATURES; k < offset + this.maxBullets * BULLET_FEATURES; k++) {
+            observations[k] = 0;
+        }
+    }
+
+    //MODIFIES: observations
+    //EFFECTS: writes whether a wall occupies each cell of the map, row by row, into observations from the
+    // given offset
+    private void writeWalls(WallOccupancyGrid wallGrid, float[] observations, int offset) {
+        for (int row = 0; row < this.rows; row++) {
+            for (int column = 0; column < this.columns; column++) {
+                boolean occupied = wallGrid.getWallAt(column, row) != null;
+                observations[offset + row * this.columns + column] = occupied ? 1 : 0;
+            }
+        }
+    }
+
+}
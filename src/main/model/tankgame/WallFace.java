@@ -0,0 +1,77 @@
+package model.tankgame;
+
+/*
+Represents a run of exposed wall faces: the faces of adjacent walls lying on the same line and facing the
+same way, with no wall on the other side of them, so that they can actually be hit. Faces shared by two
+walls touching each other are never part of a run.
+Edges are given as done with Wall, all included; along the axis it faces, a face is one pixel thick.
+Has fields:
+- normalX / normalY = the direction the face points to, away from its walls; exactly one of them is non-zero
+- line = the x coordinate of a vertical face, or the y coordinate of a horizontal face
+- low / high = the range covered by the face along the other axis
+- walls = the walls the face belongs to, from low to high
+ */
+
+import model.Wall;
+
+public class WallFace {
+    private final int normalX;
+    private final int normalY;
+    private final int line;
+    private final int low;
+    private final int high;
+    private final Wall[] walls;
+
+    //REQUIRES: exactly one of normalX and normalY is non-zero, and walls are the adjacent walls along the face,
+    // from low to high
+    //EFFECTS: creates a run of exposed faces of the given walls
+    public WallFace(int normalX, int normalY, int line, int low, int high, Wall[] walls) {
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.line = line;
+        this.low = low;
+        this.high = high;
+        this.walls = walls;
+    }
+
+    //EFFECTS: returns true if this face is vertical, facing left or right
+    public boolean isVertical() {
+        return this.normalX != 0;
+    }
+
+    //EFFECTS: returns the wall of this face nearest to the given coordinate along the face, which is the wall
+    // holding it if it lies between low and high
+    public Wall getWallNearest(int coordinate) {
+        int size = isVertical() ? Wall.HEIGHT : Wall.WIDTH;
+        return this.walls[Math.min(this.walls.length - 1, Math.max(0, Math.floorDiv(coordinate - this.low, size)))];
+    }
+
+    public int getNormalX() {
+        return this.normalX;
+    }
+
+    public int getNormalY() {
+        return this.normalY;
+    }
+
+    public int getLeftEdgeX() {
+        return isVertical() ? this.line : this.low;
+    }
+
+    public int getRightEdgeX() {
+        return isVertical() ? this.line : this.high;
+    }
+
+    public int getTopEdgeY() {
+        return isVertical() ? this.low : this.line;
+    }
+
+    public int getBottomEdgeY() {
+        return isVertical() ? this.high : this.line;
+    }
+
+    public int getNumberOfWalls() {
+        return this.walls.length;
+    }
+
+}
@@ -0,0 +1,287 @@
+package model.tankgame;
+
+/*
+Represents an occupancy grid of the walls placed in a tank game, working as a part of the TankGame object.
+Since every wall sits on a cell of Wall.WIDTH x Wall.HEIGHT (see Wall.checkIfValidWallCoordinates),
+a wall is stored in the cell holding its TOP LEFT CORNER, and queries on collision only look at
+the few cells overlapped by the box an object would occupy, instead of scanning every wall.
+Has fields:
+- cells = the wall occupying each cell, stored row by row; null if the cell is empty
+- insertionOrder = the order in which the wall in each cell was added, used so that the "first"
+colliding wall is the same one a scan through the wall list in insertion order would find
+- columns / rows = the number of cells currently covered by the grid; grows as walls are added
+- wallRectangles = the walls merged into maximal rectangles, compiled again on the first query after walls
+change: every wall not merged yet, row by row, starts a rectangle spreading right as far as possible, and
+then down as far as every wall of its next row can be merged
+- cellRectangles = the index in wallRectangles of the rectangle holding the wall of each cell; -1 if empty
+- exposedWallFaces = the faces of the walls which can be hit, compiled again along with wallRectangles, which
+moving objects are swept against, so that they never hit the faces shared by touching walls
+- rectanglesMerged = true if wallRectangles and exposedWallFaces hold every wall in the grid
+ */
+
+import model.TankGameObject;
+import model.Wall;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class WallOccupancyGrid {
+    private Wall[] cells;
+    private int[] insertionOrder;
+    private int columns;
+    private int rows;
+    private int numberOfWalls;
+    private final List<WallRectangle> wallRectangles;
+    private int[] cellRectangles;
+    private ExposedWallFaces exposedWallFaces;
+    private boolean rectanglesMerged;
+
+    //EFFECTS: creates an empty grid covering a map of TankGame.WIDTH x TankGame.HEIGHT
+    public WallOccupancyGrid() {
+        this(TankGame.WIDTH / Wall.WIDTH, TankGame.HEIGHT / Wall.HEIGHT);
+    }
+
+    //REQUIRES: columns > 0 and rows > 0
+    //EFFECTS: creates an empty grid covering the given number of columns and rows of cells
+    public WallOccupancyGrid(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.cells = new Wall[columns * rows];
+        this.insertionOrder = new int[columns * rows];
+        this.numberOfWalls = 0;
+        this.wallRectangles = new ArrayList<>();
+        this.cellRectangles = new int[columns * rows];
+        this.exposedWallFaces = null;
+        this.rectanglesMerged = false;
+    }
+
+    //EFFECTS: creates a grid holding every wall in the given list, in list order
+    public WallOccupancyGrid(List<Wall> walls) {
+        this();
+        walls.forEach(this::addWall);
+    }
+
+    //REQUIRES: newWall has non-negative coordinates
+    //MODIFIES: this
+    //EFFECTS: places the given wall in the cell it occupies and returns true, growing the grid if needed;
+    // if that cell is already occupied, do nothing and return false
+    public boolean addWall(Wall newWall) {
+        int column = newWall.getX() / Wall.WIDTH;
+        int row = newWall.getY() / Wall.HEIGHT;
+        if (column >= this.columns || row >= this.rows) {
+            growToInclude(column, row);
+        }
+        int index = row * this.columns + column;
+        if (this.cells[index] != null) {
+            return false;
+        }
+        this.cells[index] = newWall;
+        this.insertionOrder[index] = this.numberOfWalls;
+        this.numberOfWalls++;
+        this.rectanglesMerged = false;
+        return true;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: removes every wall from the grid, keeping its current size
+    public void clear() {
+        Arrays.fill(this.cells, null);
+        this.numberOfWalls = 0;
+        this.rectanglesMerged = false;
+    }
+
+    //EFFECTS: returns the wall in the given column and row of cells; or null if there is no wall there
+    // or the cell is outside the grid
+    public Wall getWallAt(int column, int row) {
+        if (column < 0 || row < 0 || column >= this.columns || row >= this.rows) {
+            return null;
+        }
+        return this.cells[row * this.columns + column];
+    }
+
+    //MODIFIES: this
+    //EFFECTS: returns the walls in the grid merged into maximal rectangles, each wall in exactly one rectangle
+    public List<WallRectangle> getWallRectangles() {
+        mergeWallsIfNeeded();
+        return this.wallRectangles;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: returns the rectangle of merged walls holding the wall in the given column and row of cells;
+    // or null if there is no wall there or the cell is outside the grid
+    public WallRectangle getWallRectangleAt(int column, int row) {
+        if (getWallAt(column, row) == null) {
+            return null;
+        }
+        mergeWallsIfNeeded();
+        return this.wallRectangles.get(this.cellRectangles[row * this.columns + column]);
+    }
+
+    //EFFECTS: returns true if the given object would collide with any wall in the grid, given
+    // its x and y velocity
+    public boolean isCollidingWithAWall(int velX, int velY, TankGameObject tankGameObject) {
+        return getFirstCollidingWall(velX, velY, tankGameObject) != null;
+    }
+
+    //EFFECTS: returns the earliest added wall to which the given object would collide, given
+    // its x and y velocity; or null if no such wall exists
+    public Wall getFirstCollidingWall(int velX, int velY, TankGameObject tankGameObject) {
+        return getFirstOverlappingWall(tankGameObject.getX() + velX, tankGameObject.getY() + velY,
+                tankGameObject.getWidth(), tankGameObject.getHeight());
+    }
+
+    //MODIFIES: this and sweptCollision
+    //EFFECTS: sweeps the given object along its x and y velocity through the walls in the grid; see
+    // sweepThroughWalls with the object's position and size
+    public boolean sweepThroughWalls(int velX, int velY, TankGameObject tankGameObject,
+                                     SweptCollision sweptCollision) {
+        return sweepThroughWalls(tankGameObject.getX(), tankGameObject.getY(), tankGameObject.getWidth(),
+                tankGameObject.getHeight(), velX, velY, sweptCollision);
+    }
+
+    //MODIFIES: this and sweptCollision
+    //EFFECTS: sweeps an object at (posX, posY) of the given width and height along the x and y velocity against
+    // every exposed wall face crossed by its path, holding in sweptCollision the contact it would meet first;
+    // returns true if it hits any wall. An object already overlapping a wall hits the earliest added one it
+    // overlaps at time 0, with no normal
+    public boolean sweepThroughWalls(int posX, int posY, int width, int height, int velX, int velY,
+                                     SweptCollision sweptCollision) {
+        mergeWallsIfNeeded();
+        sweptCollision.clear();
+        Wall overlappedWall = getFirstOverlappingWall(posX, posY, width, height);
+        if (overlappedWall != null) {
+            return sweptCollision.sweepAgainstWall(posX, posY, width, height, velX, velY, overlappedWall);
+        }
+        this.exposedWallFaces.sweep(posX, posY, width, height, velX, velY, sweptCollision);
+        return sweptCollision.hasHit();
+    }
+
+    //MODIFIES: this
+    //EFFECTS: returns the exposed faces of the walls in the grid
+    public ExposedWallFaces getExposedWallFaces() {
+        mergeWallsIfNeeded();
+        return this.exposedWallFaces;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getNumberOfWalls() {
+        return this.numberOfWalls;
+    }
+
+    //EFFECTS: returns the earliest added wall overlapped by an object at (posX, posY) of the given width and
+    // height; or null if no such wall exists
+    private Wall getFirstOverlappingWall(int posX, int posY, int width, int height) {
+        //a cell [c * WIDTH, c * WIDTH + WIDTH - 1] overlaps the inclusive range [pos, pos + width]
+        // exactly when floor(pos / WIDTH) <= c <= floor((pos + width) / WIDTH)
+        int firstColumn = Math.max(0, Math.floorDiv(posX, Wall.WIDTH));
+        int lastColumn = Math.min(this.columns - 1, Math.floorDiv(posX + width, Wall.WIDTH));
+        int firstRow = Math.max(0, Math.floorDiv(posY, Wall.HEIGHT));
+        int lastRow = Math.min(this.rows - 1, Math.floorDiv(posY + height, Wall.HEIGHT));
+
+        Wall firstOverlappingWall = null;
+        int firstOrder = Integer.MAX_VALUE;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = row * this.columns + column;
+                if (this.cells[index] != null && this.insertionOrder[index] < firstOrder) {
+                    firstOverlappingWall = this.cells[index];
+                    firstOrder = this.insertionOrder[index];
+                }
+            }
+        }
+        return firstOverlappingWall;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: merges the walls in the grid into maximal rectangles and finds their exposed faces, unless that
+    // was already done for every wall in the grid
+    private void mergeWallsIfNeeded() {
+        if (this.rectanglesMerged) {
+            return;
+        }
+        this.wallRectangles.clear();
+        Arrays.fill(this.cellRectangles, -1);
+        for (int row = 0; row < this.rows; row++) {
+            for (int column = 0; column < this.columns; column++) {
+                if (this.cells[row * this.columns + column] != null
+                        && this.cellRectangles[row * this.columns + column] == -1) {
+                    mergeWallsFrom(column, row);
+                }
+            }
+        }
+        this.exposedWallFaces = new ExposedWallFaces(this);
+        this.rectanglesMerged = true;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: adds the rectangle starting at the wall in the given cell, spreading right as far as the walls
+    // are not merged yet, and then down as far as every wall of its next row is not merged yet
+    private void mergeWallsFrom(int firstColumn, int firstRow) {
+        int lastColumn = firstColumn;
+        while (isUnmergedWall(lastColumn + 1, firstRow)) {
+            lastColumn++;
+        }
+        int lastRow = firstRow;
+        while (isRowOfUnmergedWalls(firstColumn, lastColumn, lastRow + 1)) {
+            lastRow++;
+        }
+        int rectangleColumns = lastColumn - firstColumn + 1;
+        Wall[] rectangleWalls = new Wall[rectangleColumns * (lastRow - firstRow + 1)];
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                rectangleWalls[(row - firstRow) * rectangleColumns + column - firstColumn]
+                        = this.cells[row * this.columns + column];
+                this.cellRectangles[row * this.columns + column] = this.wallRectangles.size();
+            }
+        }
+        this.wallRectangles.add(new WallRectangle(firstColumn, firstRow, rectangleColumns,
+                lastRow - firstRow + 1, rectangleWalls));
+    }
+
+    //EFFECTS: returns true if every cell of the given row from firstColumn to lastColumn holds a wall not
+    // merged into a rectangle yet
+    private boolean isRowOfUnmergedWalls(int firstColumn, int lastColumn, int row) {
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            if (!isUnmergedWall(column, row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //EFFECTS: returns true if the given cell lies in the grid and holds a wall not merged into a rectangle yet
+    private boolean isUnmergedWall(int column, int row) {
+        return column < this.columns && row < this.rows && this.cells[row * this.columns + column] != null
+                && this.cellRectangles[row * this.columns + column] == -1;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: grows the grid so that it includes the cell at the given column and row, keeping
+    // every wall in its cell
+    private void growToInclude(int column, int row) {
+        int newColumns = Math.max(this.columns, column + 1);
+        int newRows = Math.max(this.rows, row + 1);
+        Wall[] newCells = new Wall[newColumns * newRows];
+        int[] newInsertionOrder = new int[newColumns * newRows];
+        for (int r = 0; r < this.rows; r++) {
+            System.arraycopy(this.cells, r * this.columns, newCells, r * newColumns, this.columns);
+            System.arraycopy(this.insertionOrder, r * this.columns, newInsertionOrder, r * newColumns,
+                    this.columns);
+        }
+        this.cells = newCells;
+        this.insertionOrder = newInsertionOrder;
+        this.cellRectangles = new int[newColumns * newRows];
+        this.rectanglesMerged = false;
+        this.columns = newColumns;
+        this.rows = newRows;
+    }
+
+}
@@ -0,0 +1,79 @@
+package model.tankgame;
+
+/*
+Represents a rectangle of adjacent walls merged together by a WallOccupancyGrid, so that collision queries
+and drawing touch one shape instead of every wall it covers. The walls themselves are kept, so that the one
+touched at a given place can still be found.
+Edges are given as done with Wall: the rectangle covers x from leftEdgeX to rightEdgeX, and y from topEdgeY
+to bottomEdgeY, all included.
+Has fields:
+- firstColumn / firstRow = the cell of the wall at the TOP LEFT CORNER of the rectangle
+- columns / rows = the number of walls the rectangle spans horizontally and vertically
+- walls = the walls covered by the rectangle, stored row by row
+ */
+
+import model.Wall;
+
+public class WallRectangle {
+    private final int firstColumn;
+    private final int firstRow;
+    private final int columns;
+    private final int rows;
+    private final Wall[] walls;
+
+    //REQUIRES: walls holds columns * rows walls, row by row, starting at the cell (firstColumn, firstRow)
+    //EFFECTS: creates a rectangle of the given walls
+    public WallRectangle(int firstColumn, int firstRow, int columns, int rows, Wall[] walls) {
+        this.firstColumn = firstColumn;
+        this.firstRow = firstRow;
+        this.columns = columns;
+        this.rows = rows;
+        this.walls = walls;
+    }
+
+    //EFFECTS: returns the wall of this rectangle nearest to the given point, which is the wall holding it if
+    // the point lies in the rectangle; for a box overlapping the rectangle, the wall nearest to its TOP LEFT
+    // CORNER is the first wall it overlaps, row by row
+    public Wall getWallNearest(int x, int y) {
+        int column = Math.min(this.columns - 1, Math.max(0, Math.floorDiv(x, Wall.WIDTH) - this.firstColumn));
+        int row = Math.min(this.rows - 1, Math.max(0, Math.floorDiv(y, Wall.HEIGHT) - this.firstRow));
+        return this.walls[row * this.columns + column];
+    }
+
+    public int getX() {
+        return this.firstColumn * Wall.WIDTH;
+    }
+
+    public int getY() {
+        return this.firstRow * Wall.HEIGHT;
+    }
+
+    public int getWidth() {
+        return this.columns * Wall.WIDTH;
+    }
+
+    public int getHeight() {
+        return this.rows * Wall.HEIGHT;
+    }
+
+    public int getLeftEdgeX() {
+        return getX();
+    }
+
+    public int getRightEdgeX() {
+        return getX() + getWidth() - 1;
+    }
+
+    public int getTopEdgeY() {
+        return getY();
+    }
+
+    public int getBottomEdgeY() {
+        return getY() + getHeight() - 1;
+    }
+
+    public int getNumberOfWalls() {
+        return this.walls.length;
+    }
+
+}
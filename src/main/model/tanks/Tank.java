@@ -7,16 +7,16 @@ Has constants:
 Has variables:
 - X / Y coordinate on the screen - the TOP LEFT CORNER of the object (as with JLabels)
 - Angle of gun tank which increases in clockwise direction
-- A list of bullets shot by this tank
+- A list of bullets shot by this tank, counting its changes (see BulletList)
  */
 
 import model.Bullet;
+import model.BulletList;
 import model.TankGameObject;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class Tank extends TankGameObject {
@@ -29,7 +29,7 @@ public class Tank extends TankGameObject {
     public static final Color COLOR = Color.WHITE;
 
     private int gunAngle;
-    private List<Bullet> bullets;
+    private BulletList bullets;
 
     //REQUIRES: Wall.WIDTH < x < (TankGame.WIDTH - Wall.WIDTH)
     // Wall.HEIGHT < y < (TankGame.HEIGHT - Wall.HEIGHT)
@@ -38,17 +38,18 @@ public class Tank extends TankGameObject {
     public Tank(int posX, int posY, int gunAngle) {
         super(posX, posY);
         this.gunAngle = gunAngle;
-        this.bullets = new ArrayList<>();
+        this.bullets = new BulletList();
     }
 
     //REQUIRES: Wall.WIDTH < x < (TankGame.WIDTH - Wall.WIDTH)
     // Wall.HEIGHT < y < (TankGame.HEIGHT - Wall.HEIGHT)
     //EFFECTS: creates the player's tank with given default x and y position
-    // and tank gun angle of 0, and given bullets shot by this tank
+    // and tank gun angle of 0, and given bullets shot by this tank; the tank keeps the given list if it is a
+    // BulletList, and a copy of it otherwise
     public Tank(int posX, int posY, int gunAngle, List<Bullet> bulletList) {
         super(posX, posY);
         this.gunAngle = gunAngle;
-        this.bullets = bulletList;
+        this.bullets = (bulletList instanceof BulletList) ? (BulletList) bulletList : new BulletList(bulletList);
     }
 
     //TODO REMOVE THESE MOVEUP, DOWN, RIGHT AND LEFT
@@ -136,7 +137,7 @@ public class Tank extends TankGameObject {
         return jsonObject;
     }
 
-    public List<Bullet> getBullets() {
+    public BulletList getBullets() {
         return bullets;
     }
 
@@ -109,7 +109,13 @@ public class JsonReader {
             int bulletPosY = individualJsonBullet.getInt("posY");
             int bulletVelX = individualJsonBullet.getInt("velX");
             int bulletVelY = individualJsonBullet.getInt("velY");
-            bulletList.add(new Bullet(bulletPosX, bulletPosY, bulletVelX, bulletVelY));
+            Bullet bullet = new Bullet(bulletPosX, bulletPosY, bulletVelX, bulletVelY);
+            //files saved before bullets had fixed-point velocities only hold whole pixels per tick
+            if (individualJsonBullet.has("fixedVelX")) {
+                bullet.setFixedPointVelocity(individualJsonBullet.getInt("fixedVelX"),
+                        individualJsonBullet.getInt("fixedVelY"));
+            }
+            bulletList.add(bullet);
         }
         return new Tank(tankPosX, tankPosY, tankGunAngle, bulletList);
     }
@@ -16,7 +16,10 @@ LAST REVISED: 03/31/2022
  */
 
 import model.Bullet;
+import model.BulletStore;
+import model.tankgame.GunAngleTable;
 import model.tankgame.TankGame;
+import model.tankgame.WallRectangle;
 import model.TankGameObject;
 import model.Wall;
 import model.tanks.EnemyTank;
@@ -268,12 +271,16 @@ public class GamePanel extends JPanel {
     }
 
     //MODIFIES: g
-    //EFFECTS: draws all wall objects onto the given graphics object
+    //EFFECTS: draws all wall objects onto the given graphics object, one rectangle of merged walls at a time
     private void drawWalls(Graphics g) {
-        List<Wall> walls = this.game.getWalls();
-        for (Wall w : walls) {
-            drawTankGameObject(g, w);
+        Color originalColor = g.getColor();
+
+        g.setColor(Wall.COLOR);
+        for (WallRectangle wr : this.game.getWallGrid().getWallRectangles()) {
+            g.fillRect(wr.getX(), wr.getY(), wr.getWidth(), wr.getHeight());
         }
+
+        g.setColor(originalColor);
     }
 
     //MODIFIES: g
@@ -331,12 +338,14 @@ public class GamePanel extends JPanel {
     }
 
     //MODIFIES: g
-    //EFFECTS: draws all bullets in the bulletsWithoutOwner list in TankGame
+    //EFFECTS: draws all bullets without tank owner in the bullet store of TankGame
     private void drawBulletsWithoutTankOwner(Graphics g) {
-        List<Bullet> bulletWithoutTankOwner = this.game.getBulletsWithoutTankOwner();
+        BulletStore bulletStore = this.game.getBulletStore();
 
-        for (Bullet b : bulletWithoutTankOwner) {
-            drawTankGameObject(g, b);
+        for (int row = 0; row < bulletStore.size(); row++) {
+            if (bulletStore.getOwner(row) == BulletStore.NO_OWNER) {
+                drawTankGameObject(g, bulletStore.getBullet(row));
+            }
         }
     }
 
@@ -362,8 +371,12 @@ public class GamePanel extends JPanel {
     DIRECT LINK: http://www.camick.com/java/source/RotatedIcon.java
      */
     private static class RotatableJLabel extends JLabel {
+        private static final double SCALE_X = 0.4;
+        private static final double SCALE_Y = 0.5;
+
         private int degrees;
         private BufferedImage image;
+        private final AffineTransform transform = new AffineTransform();
 
         //EFFECTS: creates the rotatable JLabel with given angle (in degrees) and position
         private RotatableJLabel(int posX, int posY, int degrees, String imageSource) {
@@ -379,16 +392,23 @@ public class GamePanel extends JPanel {
             }
         }
 
+        //MODIFIES: g
+        //EFFECTS: draws the image centered on the tank, rotated by degrees around the center of the gun and
+        // then scaled; the rotation matrix is looked up in GunAngleTable and written into the transform kept by
+        // this label, equal to a translation to the gun, a rotation around its center and a scale
         @Override
         protected void paintComponent(Graphics g) {
-            AffineTransform af = AffineTransform.getTranslateInstance(
-                    (float) getX() + (float) Tank.WIDTH / 2 - (float) Tank.GUN_WIDTH / 2,
-                    (float) getY() + (float) Tank.HEIGHT / 2 - (float) Tank.GUN_HEIGHT / 2);
-            af.rotate(Math.toRadians(degrees), (float) Tank.GUN_WIDTH / 2,
-                    (float) Tank.GUN_HEIGHT / 2);
-            af.scale(0.4, 0.5);
+            double cos = GunAngleTable.cos(this.degrees);
+            double sin = GunAngleTable.sin(this.degrees);
+            double pivotX = (float) Tank.GUN_WIDTH / 2;
+            double pivotY = (float) Tank.GUN_HEIGHT / 2;
+            double translateX = (float) getX() + (float) Tank.WIDTH / 2 - (float) Tank.GUN_WIDTH / 2;
+            double translateY = (float) getY() + (float) Tank.HEIGHT / 2 - (float) Tank.GUN_HEIGHT / 2;
+            this.transform.setTransform(cos * SCALE_X, sin * SCALE_X, -sin * SCALE_Y, cos * SCALE_Y,
+                    translateX + pivotX - cos * pivotX + sin * pivotY,
+                    translateY + pivotY - sin * pivotX - cos * pivotY);
             Graphics2D graphics2d = (Graphics2D) g;
-            graphics2d.drawImage(this.image, af, null);
+            graphics2d.drawImage(this.image, this.transform, null);
         }
 
         //MODIFIES: this
@@ -0,0 +1,135 @@
+package ui;
+
+/*
+The class stepping a tank game without any window, as fast as the CPU allows, to measure the engine: it loads
+a map through JsonReader, drives the player tank with scripted or random input (the enemy tanks act on their
+own in TankGame.update), and reports ticks per second, tick latency and allocation rate (see TickReport).
+A game which ends is reset in place to the map as it was loaded (see TankGame.resetTo), and the event log
+cleared, outside of the measured ticks.
+Run with the arguments: [map file] [ticks] [seed] [script], where script is a comma-separated list of the
+commands given each tick (e.g. "wb,wb,e,,d"), cycled; without script, every INPUT_HOLD_TICKS ticks the
+player tank takes a new random input from the seed.
+Has fields:
+- DEFAULT_TICKS = the number of ticks measured by default; as many are stepped first to warm up
+- INPUT_HOLD_TICKS = the number of ticks random input is held for, as a player would hold keys
+- template = the map as it was loaded, which the game is reset to
+- script = the input bitmask of each tick of the script, cycled; empty if input is random
+- random = the source of random input
+- game = the game being stepped
+- resets = the number of resets since the last report
+ */
+
+import model.eventlog.EventLog;
+import model.tankgame.TankGame;
+import model.tankgame.TankGameTemplate;
+import persistence.JsonReader;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+public class HeadlessRunner {
+    public static final int DEFAULT_TICKS = 100000;
+    public static final int INPUT_HOLD_TICKS = 20;
+
+    private final TankGameTemplate template;
+    private final int[] script;
+    private final Random random;
+    private TankGame game;
+    private int heldInput;
+    private int resets;
+
+    //EFFECTS: creates a runner of the map in the given file, driven by the given script of input bitmasks,
+    // or by random input from the given seed if the script is empty; throws IOException if the map cannot
+    // be read
+    public HeadlessRunner(String source, int[] script, long seed) throws IOException {
+        this.script = script;
+        this.random = new Random(seed);
+        this.game = new JsonReader(source).read();
+        this.template = new TankGameTemplate(this.game);
+        this.heldInput = TankGame.NO_INPUT;
+        this.resets = 0;
+    }
+
+    //EFFECTS: runs the map given as arguments (see above) for the given number of ticks after as many warm up
+    // ticks, and prints the report
+    public static void main(String[] args) throws IOException {
+        String source = (args.length > 0) ? args[0] : PlayTankGame.INITIAL_FILE_ADDRESS;
+        int ticks = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+        int[] script = (args.length > 3) ? parseScript(args[3]) : new int[0];
+        HeadlessRunner runner = new HeadlessRunner(source, script, seed);
+        runner.run(ticks);
+        System.out.println(runner.run(ticks));
+    }
+
+    //REQUIRES: ticks > 0
+    //MODIFIES: this
+    //EFFECTS: steps the game the given number of ticks, resetting it whenever it ends, and returns the
+    // report of those ticks
+    public TickReport run(int ticks) {
+        long[] latencies = new long[ticks];
+        long allocatedBytes = 0;
+        this.resets = 0;
+        long allocatedBefore = allocatedBytes();
+        for (int tick = 0; tick < ticks; tick++) {
+            if (this.game.isGameOver()) {
+                allocatedBytes += allocatedBytes() - allocatedBefore;
+                reset();
+                allocatedBefore = allocatedBytes();
+            }
+            int input = nextInput(tick);
+            long start = System.nanoTime();
+            this.game.handlePlayerTank(input);
+            this.game.update();
+            latencies[tick] = System.nanoTime() - start;
+        }
+        allocatedBytes += allocatedBytes() - allocatedBefore;
+        return new TickReport(latencies, allocatedBytes, this.resets);
+    }
+
+    public TankGame getGame() {
+        return this.game;
+    }
+
+    //EFFECTS: returns the input bitmask of each tick of the given script: ticks are separated by commas, and
+    // each holds the commands given in it (see TankGame.inputOf), other characters being ignored
+    public static int[] parseScript(String script) {
+        String[] ticks = script.split(",", -1);
+        int[] inputs = new int[ticks.length];
+        for (int tick = 0; tick < ticks.length; tick++) {
+            for (char command : ticks[tick].toCharArray()) {
+                inputs[tick] |= TankGame.inputOf(String.valueOf(command));
+            }
+        }
+        return inputs;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: returns the input of the player tank at the given tick: the script's if there is one, or else
+    // the random input held since the last multiple of INPUT_HOLD_TICKS
+    private int nextInput(int tick) {
+        if (this.script.length > 0) {
+            return this.script[tick % this.script.length];
+        }
+        if (tick % INPUT_HOLD_TICKS == 0) {
+            this.heldInput = this.random.nextInt(TankGame.INPUT_FIRE << 1);
+        }
+        return this.heldInput;
+    }
+
+    //MODIFIES: this
+    //EFFECTS: resets the game to the map, and clears the event log filled by the previous game
+    private void reset() {
+        this.game.resetTo(this.template);
+        EventLog.getInstance().clear();
+        this.resets++;
+    }
+
+    //EFFECTS: returns the number of bytes allocated by the current thread so far
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -26,8 +26,10 @@ https://github.students.cs.ubc.ca/CPSC210/B02-SpaceInvadersBase
 LAST REVISED: 03/31/2022
  */
 
+import model.eventlog.Event;
 import model.eventlog.EventLog;
 import model.tankgame.TankGame;
+import model.tankgame.TankGameTemplate;
 import org.json.JSONException;
 
 import javax.swing.*;
@@ -55,6 +57,7 @@ public class PlayTankGame extends JFrame {
     private static final String RESET_ACTION_NAME = "RESET";
 
     private TankGame gameCurrentlyPlayed;
+    private TankGameTemplate initialGameTemplate;
     private final GamePanel gp;
     private final MenuPanel mp;
     private Timer timer;
@@ -187,10 +190,12 @@ public class PlayTankGame extends JFrame {
     }
 
     //MODIFIES: this and TankGame
-    //EFFECTS: initializes the tank game to the game state defined below
+    //EFFECTS: initializes the tank game to the game state defined below, keeping a template of it to reset
+    // games to
     private void initializeNewTankGame() {
         try {
             this.gameCurrentlyPlayed = TankGame.initializeDefaultTankGame(INITIAL_FILE_ADDRESS);
+            this.initialGameTemplate = new TankGameTemplate(this.gameCurrentlyPlayed);
         } catch (IOException e) {
             System.err.println("Something went wrong while reading the file!");
         } catch (JSONException e) {
@@ -265,13 +270,16 @@ public class PlayTankGame extends JFrame {
 
     //MODIFIES: gp
     //EFFECTS: adds a new command to the Game Panel, which reacts to the RESET_KEY_EVENT and
-    // resets the currently played game to its initial state if it is already over
+    // resets the currently played game to its initial state if it is already over, logging it as a game
+    // initialized from INITIAL_FILE_ADDRESS
     private void setGameResetCommand() {
         Action resetActionListener = new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (gameCurrentlyPlayed.isGameOver()) {
-                    initializeNewTankGame();
+                    gameCurrentlyPlayed.resetTo(initialGameTemplate);
+                    EventLog.getInstance().logEvent(new Event("Game initialized from source "
+                            + INITIAL_FILE_ADDRESS));
                     gp.setUp();
                     resetTankGameKeyBoardCommands();
                     executeInitialCountDown();
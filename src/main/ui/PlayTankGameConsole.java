@@ -232,8 +232,8 @@ public class PlayTankGameConsole {
         List<EnemyTank> enemyTanks = new ArrayList<>();
         enemyTanks.add(enemyTank1);
         enemyTanks.add(enemyTank2);
-        Wall wall1 = new Wall(Wall.WIDTH * 3 + Wall.WIDTH / 2, Wall.HEIGHT * 3 + Wall.HEIGHT / 2);
-        Wall wall2 = new Wall(Wall.WIDTH * 4 + Wall.WIDTH / 2, Wall.HEIGHT * 2 + Wall.HEIGHT / 2);
+        Wall wall1 = new Wall(Wall.WIDTH * 3, Wall.HEIGHT * 3);
+        Wall wall2 = new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 2);
         List<Wall> walls = new ArrayList<>();
         walls.add(wall1);
         walls.add(wall2);
@@ -7,7 +7,7 @@ then add specific key bindings on the game panel component which will send set c
 to the tank game object when called.
 This class tracks all keys pressed (which are keys pressed already but not released yet), and
 sends commands according to those keys to the given tank game when the method
-"executePressedKeyCommands" is called.
+"executePressedKeyCommands" is called, all at once as one input bitmask (see TankGame.INPUT_UP).
 
 ACKNOWLEDGEMENT:
 THIS CODE HAS BEEN EXTENSIVELY BASED ON THE "MotionWithKeyBindings" CLASS PROVIDED
@@ -36,7 +36,7 @@ public class TankGameControlThroughKeyBindings {
     private final TankGame gameCurrentlyPlayed;
     private final Set<String> allKeys;
     private final Set<String> pressedKeys;
-    private final Map<String, String> pressedKeyToActionMap;
+    private final Map<String, Integer> pressedKeyToInputMap;
     //A map for each action to its cool down, shown as two integers:
     // [0] = length of a full cool down, and [1] = frames before cool down is over
     private final Map<String, int[]> pressedKeyToCoolDownMap;
@@ -48,16 +48,16 @@ public class TankGameControlThroughKeyBindings {
         this.gameCurrentlyPlayed = gameCurrentlyPlayed;
         this.allKeys = new HashSet<>();
         this.pressedKeys = new HashSet<>();
-        this.pressedKeyToActionMap = new HashMap<>();
+        this.pressedKeyToInputMap = new HashMap<>();
         this.pressedKeyToCoolDownMap = new HashMap<>();
     }
 
     //MODIFIES: this
-    //EFFECTS: pairs the given key name and command together, and sets the key with given name to
-    // be tracked on whether it is pressed or not
+    //EFFECTS: pairs the given key name and the input bit of the given command together, and sets the key
+    // with given name to be tracked on whether it is pressed or not
     public void addKeyAction(String name, String commandToTankGame, int keyEvent, int coolDown) {
         this.allKeys.add(name);
-        this.pressedKeyToActionMap.put(name, commandToTankGame);
+        this.pressedKeyToInputMap.put(name, TankGame.inputOf(commandToTankGame));
         this.pressedKeyToCoolDownMap.put(name, new int[] {coolDown, 0});
         addPressedTankGameAction(name, keyEvent);
         addReleasedTankGameAction(name, keyEvent);
@@ -67,7 +67,7 @@ public class TankGameControlThroughKeyBindings {
     //EFFECTS: removes the KeyAction binding to this component with the given name & keyEvent
     public void clearKeyAction(String name, int keyEvent) {
         this.allKeys.remove(name);
-        this.pressedKeyToActionMap.remove(name);
+        this.pressedKeyToInputMap.remove(name);
         this.pressedKeyToCoolDownMap.remove(name);
 
         KeyStroke pressedKeyStroke = KeyStroke.getKeyStroke(keyEvent, 0);
@@ -77,18 +77,22 @@ public class TankGameControlThroughKeyBindings {
     }
 
     //MODIFIES: tank game
-    //EFFECTS: executes the according commands to the tank game for keys tracked to be "pressed"
+    //EFFECTS: executes the according commands to the tank game for keys tracked to be "pressed", in one call
+    // holding the input bits of every such key whose cool down is over
     public void executePressedKeyCommands() {
         if (! gameCurrentlyPlayed.isGameOver()) {
-            //execute every command in the pressedKeys list
+            //gather every command in the pressedKeys list
+            int input = TankGame.NO_INPUT;
             for (String key : this.allKeys) {
                 boolean coolDownOver = handleCoolDown(key);
 
                 if (this.pressedKeys.contains(key) && coolDownOver) {
-                    String actionCorrespondingToKey = this.pressedKeyToActionMap.get(key);
-                    this.gameCurrentlyPlayed.handlePlayerTank(actionCorrespondingToKey);
+                    input |= this.pressedKeyToInputMap.get(key);
                 }
             }
+            if (input != TankGame.NO_INPUT) {
+                this.gameCurrentlyPlayed.handlePlayerTank(input);
+            }
         }
     }
 
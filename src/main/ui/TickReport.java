@@ -0,0 +1,76 @@
+package ui;
+
+/*
+Represents the results of stepping a tank game headless (see HeadlessRunner): how fast it stepped, how long
+single ticks took, and how much memory stepping allocated. Times only cover the ticks themselves, not the
+resets of the game in between.
+Has fields:
+- sortedLatencies = the time each tick took, in nanoseconds, sorted in increasing order
+- totalNanos = the time all ticks took together, in nanoseconds
+- allocatedBytes = the number of bytes allocated while stepping the ticks
+- resets = the number of times the game ended and was loaded again
+ */
+
+import java.util.Arrays;
+
+public class TickReport {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final long[] sortedLatencies;
+    private final long totalNanos;
+    private final long allocatedBytes;
+    private final int resets;
+
+    //REQUIRES: latencies is not empty
+    //EFFECTS: creates a report of ticks which took the given times in nanoseconds, and allocated the given
+    // number of bytes, with the game reset the given number of times
+    public TickReport(long[] latencies, long allocatedBytes, int resets) {
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(this.sortedLatencies);
+        this.totalNanos = Arrays.stream(latencies).sum();
+        this.allocatedBytes = allocatedBytes;
+        this.resets = resets;
+    }
+
+    public int getTicks() {
+        return this.sortedLatencies.length;
+    }
+
+    //EFFECTS: returns the number of ticks stepped per second of stepping
+    public double getTicksPerSecond() {
+        return getTicks() * NANOS_PER_SECOND / Math.max(1, this.totalNanos);
+    }
+
+    //REQUIRES: 0 < percent <= 100
+    //EFFECTS: returns the time in nanoseconds under which the given percentage of ticks took, by nearest rank
+    public long getLatencyPercentile(double percent) {
+        int rank = (int) Math.ceil(percent / 100 * getTicks());
+        return this.sortedLatencies[Math.max(1, rank) - 1];
+    }
+
+    //EFFECTS: returns the number of bytes allocated per second of stepping
+    public double getAllocationRate() {
+        return this.allocatedBytes * NANOS_PER_SECOND / Math.max(1, this.totalNanos);
+    }
+
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    public int getResets() {
+        return this.resets;
+    }
+
+    @Override
+    //EFFECTS: returns the report as lines of text
+    public String toString() {
+        return String.format("ticks: %d (%d resets)%n", getTicks(), this.resets)
+                + String.format("ticks per second: %.1f%n", getTicksPerSecond())
+                + String.format("tick latency: p50 %.2f us, p99 %.2f us, max %.2f us%n",
+                getLatencyPercentile(50) / 1e3, getLatencyPercentile(99) / 1e3,
+                getLatencyPercentile(100) / 1e3)
+                + String.format("allocated: %d bytes, %.1f bytes per tick, %.1f MB per second",
+                this.allocatedBytes, (double) this.allocatedBytes / getTicks(), getAllocationRate() / 1e6);
+    }
+
+}
@@ -0,0 +1,60 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulletListTest {
+    BulletList bulletList;
+    Bullet bullet1;
+    Bullet bullet2;
+
+    @BeforeEach
+    void runBeforeEach() {
+        bullet1 = new Bullet(10, 20, 1, 0);
+        bullet2 = new Bullet(30, 40, 0, 1);
+        bulletList = new BulletList(List.of(bullet1));
+    }
+
+    @Test
+    void testConstructor() {
+        //check
+        assertEquals(List.of(bullet1), bulletList);
+        assertTrue(new BulletList().isEmpty());
+    }
+
+    @Test
+    void testModificationCountMovesOnEveryChange() {
+        //setup
+        int count = bulletList.getModificationCount();
+        //execute & check - set and add / remove keeping the size are changes as well
+        bulletList.set(0, bullet2);
+        assertNotEquals(count, bulletList.getModificationCount());
+        count = bulletList.getModificationCount();
+        bulletList.remove(0);
+        bulletList.add(bullet1);
+        assertNotEquals(count, bulletList.getModificationCount());
+        count = bulletList.getModificationCount();
+        bulletList.clear();
+        assertNotEquals(count, bulletList.getModificationCount());
+        //check - reading is no change
+        count = bulletList.getModificationCount();
+        bulletList.contains(bullet1);
+        assertEquals(count, bulletList.getModificationCount());
+    }
+
+    @Test
+    void testSubListCannotBeModified() {
+        //setup
+        bulletList.add(bullet2);
+        List<Bullet> subList = bulletList.subList(0, 1);
+        //check
+        assertEquals(List.of(bullet1), subList);
+        assertThrows(UnsupportedOperationException.class, () -> subList.set(0, bullet2));
+        assertEquals(List.of(bullet1, bullet2), bulletList);
+    }
+
+}
@@ -0,0 +1,405 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulletStoreTest {
+    BulletStore bulletStore;
+    Bullet bullet1;
+    Bullet bullet2;
+    Bullet bullet3;
+
+    @BeforeEach
+    void runBeforeEach() {
+        bulletStore = new BulletStore();
+        bullet1 = new Bullet(10, 20, 1, 2);
+        bullet2 = new Bullet(30, 40, 3, 4);
+        bullet3 = new Bullet(50, 60, 5, 6);
+    }
+
+    @Test
+    void testAddCopiesBulletAndAttachesIt() {
+        //setup
+        bullet1.increaseBounceCount();
+        //execute
+        int row = bulletStore.add(bullet1, 2);
+        //check
+        assertEquals(0, row);
+        assertEquals(1, bulletStore.size());
+        assertEquals(10, bulletStore.getX(row));
+        assertEquals(20, bulletStore.getY(row));
+        assertEquals(1, bulletStore.getVelX(row));
+        assertEquals(2, bulletStore.getVelY(row));
+        assertEquals(1, bulletStore.getBounceCount(row));
+        assertEquals(2, bulletStore.getOwner(row));
+        assertEquals(bullet1, bulletStore.getBullet(row));
+        assertEquals(row, bulletStore.rowOf(bullet1));
+        assertEquals(1, bulletStore.countBulletsOf(2));
+        assertEquals(0, bulletStore.countBulletsOf(BulletStore.NO_OWNER));
+    }
+
+    @Test
+    void testAttachedBulletReadsAndWritesItsRow() {
+        //setup
+        int row = bulletStore.add(bullet1, 0);
+        //execute
+        bulletStore.setLocation(row, 100, 200);
+        bullet1.setBulletVelocity(-7, 8);
+        bullet1.increaseBounceCount();
+        //check
+        assertEquals(100, bullet1.getX());
+        assertEquals(200, bullet1.getY());
+        assertEquals(-7, bulletStore.getVelX(row));
+        assertEquals(8, bulletStore.getVelY(row));
+        assertEquals(1, bulletStore.getBounceCount(row));
+        //execute
+        bullet1.moveBullet();
+        //check
+        assertEquals(100 - 7, bulletStore.getX(row));
+        assertEquals(200 + 8, bulletStore.getY(row));
+    }
+
+    @Test
+    void testRemoveFillsRowWithLastAndDetachesBullet() {
+        //setup
+        bulletStore.add(bullet1, 0);
+        bulletStore.add(bullet2, 0);
+        bulletStore.add(bullet3, BulletStore.NO_OWNER);
+        bulletStore.setLocation(0, 11, 22);
+        //execute
+        bulletStore.remove(0);
+        //check
+        assertEquals(2, bulletStore.size());
+        assertEquals(-1, bulletStore.rowOf(bullet1));
+        assertEquals(0, bulletStore.rowOf(bullet3));
+        assertEquals(50, bulletStore.getX(0));
+        assertEquals(BulletStore.NO_OWNER, bulletStore.getOwner(0));
+        assertEquals(1, bulletStore.countBulletsOf(0));
+        //the removed bullet keeps the state it had in the store
+        assertEquals(11, bullet1.getX());
+        assertEquals(22, bullet1.getY());
+        bullet1.setLocation(0, 0);
+        assertEquals(50, bulletStore.getX(0));
+        assertEquals(30, bulletStore.getX(1));
+    }
+
+    @Test
+    void testAddBulletAlreadyInStoreMovesIt() {
+        //setup
+        bulletStore.add(bullet1, 0);
+        bulletStore.add(bullet2, 0);
+        //execute
+        int row = bulletStore.add(bullet1, 1);
+        //check
+        assertEquals(2, bulletStore.size());
+        assertEquals(1, row);
+        assertEquals(1, bulletStore.countBulletsOf(0));
+        assertEquals(1, bulletStore.countBulletsOf(1));
+        assertEquals(0, bulletStore.rowOf(bullet2));
+    }
+
+    @Test
+    void testAddBulletOfAnotherStoreDetachesItFromThatStore() {
+        //setup
+        BulletStore otherStore = new BulletStore();
+        otherStore.add(bullet1, 0);
+        otherStore.setLocation(0, 70, 80);
+        //execute
+        bulletStore.add(bullet1, 0);
+        //check
+        assertEquals(-1, otherStore.rowOf(bullet1));
+        assertEquals(70, bulletStore.getX(0));
+        assertEquals(80, bulletStore.getY(0));
+    }
+
+    @Test
+    void testRemoveBulletsOfAndClear() {
+        //setup
+        bulletStore.add(bullet1, 0);
+        bulletStore.add(bullet2, 1);
+        bulletStore.add(bullet3, 0);
+        //execute
+        bulletStore.removeBulletsOf(0);
+        //check
+        assertEquals(1, bulletStore.size());
+        assertEquals(bullet2, bulletStore.getBullet(0));
+        assertEquals(0, bulletStore.countBulletsOf(0));
+        //execute
+        bulletStore.clear();
+        //check
+        assertEquals(0, bulletStore.size());
+        assertEquals(-1, bulletStore.rowOf(bullet2));
+        assertEquals(30, bullet2.getX());
+    }
+
+    @Test
+    void testChangeOwner() {
+        //setup
+        bulletStore.add(bullet1, 1);
+        bulletStore.add(bullet2, 0);
+        bulletStore.add(bullet3, 1);
+        //execute - owner 1 loses its tank
+        bulletStore.changeOwner(1, BulletStore.NO_OWNER);
+        //check
+        assertEquals(BulletStore.NO_OWNER, bulletStore.getOwner(0));
+        assertEquals(0, bulletStore.getOwner(1));
+        assertEquals(BulletStore.NO_OWNER, bulletStore.getOwner(2));
+        assertEquals(2, bulletStore.countBulletsOf(BulletStore.NO_OWNER));
+        assertEquals(0, bulletStore.countBulletsOf(1));
+        assertEquals(List.of(bullet1, bullet3), bulletStore.getBulletsOf(BulletStore.NO_OWNER));
+        //execute - to an owner never seen before
+        bulletStore.changeOwner(0, 9);
+        //check
+        assertEquals(9, bulletStore.getOwner(1));
+        assertEquals(1, bulletStore.countBulletsOf(9));
+    }
+
+    @Test
+    void testDestroyKeepsRowUntilRemoveDestroyed() {
+        //setup
+        bulletStore.add(bullet1, 0);
+        bulletStore.add(bullet2, 1);
+        bulletStore.add(bullet3, 0);
+        bulletStore.setLocation(0, 11, 22);
+        //execute
+        bulletStore.destroy(0);
+        bulletStore.destroy(0);
+        //check - the row stays in place, and still counts for its owner
+        assertEquals(3, bulletStore.size());
+        assertEquals(1, bulletStore.getNumberOfDestroyed());
+        assertTrue(bulletStore.isDestroyed(0));
+        assertNull(bulletStore.getBullet(0));
+        assertEquals(-1, bulletStore.rowOf(bullet1));
+        assertEquals(11, bullet1.getX());
+        assertEquals(22, bullet1.getY());
+        assertEquals(1, bulletStore.rowOf(bullet2));
+        assertEquals(2, bulletStore.countBulletsOf(0));
+        assertEquals(List.of(bullet3), bulletStore.getBulletsOf(0));
+        //execute
+        bulletStore.removeDestroyed();
+        //check - the other rows keep their order
+        assertEquals(2, bulletStore.size());
+        assertEquals(0, bulletStore.getNumberOfDestroyed());
+        assertEquals(0, bulletStore.rowOf(bullet2));
+        assertEquals(1, bulletStore.rowOf(bullet3));
+        assertEquals(50, bulletStore.getX(1));
+        assertEquals(1, bulletStore.countBulletsOf(0));
+    }
+
+    @Test
+    void testIdsFollowRowsAndGoStaleOnceBulletIsGone() {
+        //setup
+        int id1 = bulletStore.getId(bulletStore.add(bullet1, 0));
+        int id2 = bulletStore.getId(bulletStore.add(bullet2, 0));
+        int id3 = bulletStore.getId(bulletStore.add(bullet3, 0));
+        //execute
+        bulletStore.remove(0);
+        //check
+        assertEquals(0, bulletStore.rowOfId(id3));
+        assertEquals(1, bulletStore.rowOfId(id2));
+        assertFalse(bulletStore.isAlive(id1));
+        //execute - the slot of the removed bullet is reused
+        int id4 = bulletStore.getId(bulletStore.add(new Bullet(0, 0, 0, 0), 0));
+        bulletStore.destroy(bulletStore.rowOfId(id3));
+        bulletStore.removeDestroyed();
+        //check
+        assertNotEquals(id1, id4);
+        assertFalse(bulletStore.isAlive(id1));
+        assertFalse(bulletStore.isAlive(id3));
+        assertEquals(0, bulletStore.rowOfId(id2));
+        assertEquals(1, bulletStore.rowOfId(id4));
+        assertEquals(-1, bulletStore.rowOfId(BulletStore.NO_ID));
+    }
+
+    @Test
+    void testIdsNeverComeBackOnceSlotGenerationsRunOut() {
+        //setup
+        Set<Integer> ids = new HashSet<>();
+        int firstId = bulletStore.getId(bulletStore.add(bullet1, 0));
+        ids.add(firstId);
+        //execute - one slot is released and taken again until its generations run out, and then some more
+        for (int i = 0; i < 5000; i++) {
+            bulletStore.remove(0);
+            ids.add(bulletStore.getId(bulletStore.add(bullet1, 0)));
+        }
+        //check - every bullet got an id of its own, and the stale ones match no bullet
+        assertEquals(5001, ids.size());
+        assertFalse(bulletStore.isAlive(firstId));
+        assertEquals(0, bulletStore.rowOfId(bulletStore.getId(0)));
+    }
+
+    @Test
+    void testClearStartsIdsOverReclaimingRetiredSlots() {
+        //setup - the first slot is retired after its generations run out
+        int firstId = bulletStore.getId(bulletStore.add(bullet1, 0));
+        for (int i = 0; i < 5000; i++) {
+            bulletStore.remove(0);
+            bulletStore.add(bullet1, 0);
+        }
+        bulletStore.add(bullet2, 0);
+        //execute
+        bulletStore.clear();
+        int idAfterClear = bulletStore.getId(bulletStore.add(bullet3, 1));
+        //check
+        assertEquals(firstId, idAfterClear);
+        assertEquals(0, bulletStore.rowOfId(idAfterClear));
+        assertEquals(-1, bulletStore.rowOf(bullet1));
+        assertEquals(1, bulletStore.size());
+        assertEquals(0, bulletStore.countBulletsOf(0));
+    }
+
+    @Test
+    void testWriteRowsAndReadRowsIntoAnOffHeapStore() {
+        //setup
+        bullet2.increaseBounceCount();
+        bulletStore.add(bullet1, 0);
+        bulletStore.add(bullet2, BulletStore.NO_OWNER);
+        bulletStore.add(bullet3, 4);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (1 + 3 * BulletStore.SNAPSHOT_COLUMNS));
+        BulletStore readStore = new BulletStore(StateBackend.OFF_HEAP);
+        //execute
+        bulletStore.writeRows(buffer);
+        buffer.flip();
+        readStore.readRows(buffer);
+        //check
+        assertFalse(buffer.hasRemaining());
+        assertEquals(3, readStore.size());
+        for (int row = 0; row < 3; row++) {
+            assertEquals(bulletStore.getX(row), readStore.getX(row));
+            assertEquals(bulletStore.getY(row), readStore.getY(row));
+            assertEquals(bulletStore.getFixedVelX(row), readStore.getFixedVelX(row));
+            assertEquals(bulletStore.getFixedVelY(row), readStore.getFixedVelY(row));
+            assertEquals(bulletStore.getBounceCount(row), readStore.getBounceCount(row));
+            assertEquals(bulletStore.getOwner(row), readStore.getOwner(row));
+            assertEquals(row, readStore.rowOf(readStore.getBullet(row)));
+            assertEquals(row, readStore.rowOfId(readStore.getId(row)));
+        }
+        assertEquals(1, readStore.countBulletsOf(4));
+        assertEquals(1, readStore.countBulletsOf(BulletStore.NO_OWNER));
+        assertEquals(30, readStore.getBullet(1).getX());
+    }
+
+    @Test
+    void testRemoveAndClearWithDestroyedRows() {
+        //setup
+        bulletStore.add(bullet1, 0);
+        bulletStore.add(bullet2, 0);
+        bulletStore.add(bullet3, 1);
+        bulletStore.destroy(0);
+        bulletStore.destroy(2);
+        //execute
+        bulletStore.remove(0);
+        //check
+        assertEquals(2, bulletStore.size());
+        assertEquals(1, bulletStore.getNumberOfDestroyed());
+        assertEquals(1, bulletStore.rowOf(bullet2));
+        assertEquals(1, bulletStore.countBulletsOf(0));
+        //execute
+        bulletStore.clear();
+        //check
+        assertEquals(0, bulletStore.size());
+        assertEquals(0, bulletStore.getNumberOfDestroyed());
+        assertEquals(0, bulletStore.countBulletsOf(1));
+    }
+
+    @Test
+    void testAdvanceFractionKeepsRemainderAndReflectNegatesIt() {
+        //setup
+        int row = bulletStore.add(bullet1, 0);
+        bulletStore.setFixedVelocity(row, 3 * FixedPoint.HALF, -FixedPoint.HALF / 2);
+        //execute
+        int moveX = bulletStore.advanceFractionX(row);
+        int moveY = bulletStore.advanceFractionY(row);
+        //check
+        assertEquals(2, moveX);
+        assertEquals(0, moveY);
+        assertEquals(-FixedPoint.HALF, bulletStore.getFractionX(row));
+        assertEquals(-FixedPoint.HALF / 2, bulletStore.getFractionY(row));
+        //execute
+        bulletStore.reflect(row, true, false);
+        //check
+        assertEquals(-3 * FixedPoint.HALF, bulletStore.getFixedVelX(row));
+        assertEquals(FixedPoint.HALF, bulletStore.getFractionX(row));
+        assertEquals(-FixedPoint.HALF / 2, bulletStore.getFixedVelY(row));
+        assertEquals(-FixedPoint.HALF / 2, bulletStore.getFractionY(row));
+        assertEquals(-FixedPoint.HALF / 2, bullet1.getFractionY());
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        //setup
+        Bullet[] bullets = new Bullet[200];
+        //execute
+        for (int i = 0; i < bullets.length; i++) {
+            bullets[i] = new Bullet(i, i, 0, 0);
+            bulletStore.add(bullets[i], i % 7);
+        }
+        //check
+        assertEquals(bullets.length, bulletStore.size());
+        for (Bullet b : bullets) {
+            assertEquals(b.getX(), bulletStore.getX(bulletStore.rowOf(b)));
+        }
+    }
+
+    @Test
+    void testOffHeapStoreGrowsAndKeepsRows() {
+        //setup
+        bulletStore = new BulletStore(StateBackend.OFF_HEAP);
+        Bullet[] bullets = new Bullet[100];
+        //execute
+        for (int i = 0; i < bullets.length; i++) {
+            bullets[i] = new Bullet(i, -i, i % 5, 0);
+            bulletStore.add(bullets[i], i % 3);
+        }
+        bulletStore.remove(10);
+        bulletStore.destroy(20);
+        bulletStore.removeDestroyed();
+        //check
+        assertEquals(StateBackend.OFF_HEAP, bulletStore.getStateBackend());
+        assertEquals(98, bulletStore.size());
+        for (int row = 0; row < bulletStore.size(); row++) {
+            Bullet bullet = bulletStore.getBullet(row);
+            assertEquals(row, bulletStore.rowOfId(bulletStore.getId(row)));
+            assertEquals(-bullet.getX(), bulletStore.getY(row));
+            assertEquals(bullet.getX() % 5, bulletStore.getVelX(row));
+            assertEquals(bullet.getX() % 3, bulletStore.getOwner(row));
+        }
+    }
+
+    @Test
+    void testSetStateBackendMovesRows() {
+        //setup
+        int row = bulletStore.add(bullet1, 0);
+        int id = bulletStore.getId(row);
+        bulletStore.add(bullet2, BulletStore.NO_OWNER);
+        bulletStore.setFraction(row, 5, -5);
+        bulletStore.increaseBounceCount(row);
+        //execute
+        bulletStore.setStateBackend(StateBackend.OFF_HEAP);
+        //check
+        assertEquals(StateBackend.OFF_HEAP, bulletStore.getStateBackend());
+        assertEquals(10, bullet1.getX());
+        assertEquals(20, bullet1.getY());
+        assertEquals(1, bullet1.getVelX());
+        assertEquals(2, bullet1.getVelY());
+        assertEquals(5, bullet1.getFractionX());
+        assertEquals(-5, bullet1.getFractionY());
+        assertEquals(1, bullet1.getBounceCount());
+        assertEquals(row, bulletStore.rowOfId(id));
+        assertEquals(BulletStore.NO_OWNER, bulletStore.getOwner(1));
+        //execute - back on the heap
+        bulletStore.setStateBackend(StateBackend.HEAP);
+        bullet2.moveBullet();
+        //check
+        assertEquals(30 + 3, bulletStore.getX(1));
+        assertEquals(40 + 4, bulletStore.getY(1));
+    }
+
+}
@@ -39,6 +39,31 @@ public class BulletTest {
         assertEquals(40 + 4, testBullet.getY());
     }
 
+    @Test
+    void testMoveBulletAccumulatesSubPixelVelocity() {
+        //setup - a quarter of a pixel per tick along x, and minus three quarters along y
+        testBullet.setLocation(30, 40);
+        testBullet.setFixedPointVelocity(FixedPoint.ONE / 4, -3 * FixedPoint.ONE / 4);
+        //execute
+        testBullet.moveBullet();
+        //check
+        assertEquals(30, testBullet.getX());
+        assertEquals(40 - 1, testBullet.getY());
+        assertEquals(FixedPoint.ONE / 4, testBullet.getFractionX());
+        assertEquals(FixedPoint.ONE / 4, testBullet.getFractionY());
+        //execute
+        for (int i = 0; i < 3; i++) {
+            testBullet.moveBullet();
+        }
+        //check - four ticks move exactly one pixel along x and three along y
+        assertEquals(30 + 1, testBullet.getX());
+        assertEquals(40 - 3, testBullet.getY());
+        assertEquals(0, testBullet.getFractionX());
+        assertEquals(0, testBullet.getFractionY());
+        assertEquals(0, testBullet.getVelX());
+        assertEquals(-1, testBullet.getVelY());
+    }
+
     @Test
     void testIncreaseBounceCountUsedOnce() {
         //execute
@@ -0,0 +1,35 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FixedPointTest {
+
+    @Test
+    void testToFixedAndRound() {
+        //check
+        assertEquals(FixedPoint.ONE, FixedPoint.toFixed(1));
+        assertEquals(-5 * FixedPoint.ONE, FixedPoint.toFixed(-5));
+        assertEquals(7, FixedPoint.round(FixedPoint.toFixed(7)));
+        assertEquals(-7, FixedPoint.round(FixedPoint.toFixed(-7)));
+    }
+
+    @Test
+    void testRoundHalvesUp() {
+        //check
+        assertEquals(1, FixedPoint.round(FixedPoint.HALF));
+        assertEquals(0, FixedPoint.round(FixedPoint.HALF - 1));
+        assertEquals(0, FixedPoint.round(-FixedPoint.HALF));
+        assertEquals(-1, FixedPoint.round(-FixedPoint.HALF - 1));
+    }
+
+    @Test
+    void testFromDouble() {
+        //check
+        assertEquals(FixedPoint.HALF, FixedPoint.fromDouble(0.5));
+        assertEquals(-3 * FixedPoint.ONE / 4, FixedPoint.fromDouble(-0.75));
+        assertEquals(FixedPoint.toFixed(2) + 1, FixedPoint.fromDouble(2 + 1.0 / FixedPoint.ONE));
+    }
+
+}
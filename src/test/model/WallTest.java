@@ -721,6 +721,22 @@ public class WallTest {
         assertFalse(testWall.hasIdenticalProperties(comparedWall));
     }
 
+    @Test
+    void testEqualsAndHashCodeWallsAreIdentical() {
+        //execute & check
+        assertEquals(testWall, identicalPropertiesToTestWall);
+        assertEquals(testWall.hashCode(), identicalPropertiesToTestWall.hashCode());
+    }
+
+    @Test
+    void testEqualsWallsAreNotIdentical() {
+        //execute & check
+        assertNotEquals(testWall, new Wall(Wall.WIDTH * 3, 0));
+        assertNotEquals(testWall, new Wall(0, Wall.HEIGHT));
+        assertNotEquals(testWall, null);
+        assertNotEquals(testWall, new Bullet(testWall.getX(), testWall.getY(), 0, 0));
+    }
+
     //ContainsIdenticalWall
     @Test
     void testContainsIdenticalWallDoesContainIdenticalWall() {
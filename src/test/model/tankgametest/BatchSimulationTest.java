@@ -0,0 +1,88 @@
+package model.tankgametest;
+
+import model.Wall;
+import model.eventlog.Event;
+import model.eventlog.EventLog;
+import model.tankgame.BatchSimulation;
+import model.tankgame.TankGame;
+import model.tanks.EnemyTank;
+import model.tanks.PlayerTank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchSimulationTest {
+    static final int WORLDS = 13;
+    static final int TICKS = 300;
+
+    //the player tank of each game moves and turns its own way, firing every tenth tick
+    final IntBinaryOperator INPUTS = (index, tick) -> ((index + tick / 20) % 4 == 0 ? TankGame.INPUT_UP
+            : TankGame.INPUT_RIGHT | TankGame.INPUT_CLOCKWISE) | (tick % 10 == 0 ? TankGame.INPUT_FIRE : 0);
+
+    BatchSimulation lockstepBatch;
+    BatchSimulation freeBatch;
+
+    @BeforeEach
+    void runBeforeEach() {
+        lockstepBatch = new BatchSimulation(createWorlds(), 4);
+        freeBatch = new BatchSimulation(createWorlds(), 3);
+    }
+
+    @Test
+    void testLockstepAndFreeSteppingReachSameStates() {
+        //execute
+        lockstepBatch.stepInLockstep(TICKS, INPUTS);
+        freeBatch.stepFreely(TICKS, INPUTS);
+        //check
+        assertEquals(WORLDS, lockstepBatch.getNumberOfWorlds());
+        for (int index = 0; index < WORLDS; index++) {
+            TankGame world = lockstepBatch.getWorld(index);
+            assertEquals(freeBatch.getWorld(index).toJson().toString(), world.toJson().toString());
+            assertEquals(freeBatch.getTicksStepped(index), lockstepBatch.getTicksStepped(index));
+            assertTrue(world.isGameOver() || lockstepBatch.getTicksStepped(index) == TICKS);
+        }
+        assertEquals(freeBatch.countGamesOver(), lockstepBatch.countGamesOver());
+        assertEquals(freeBatch.countGamesWon(), lockstepBatch.countGamesWon());
+        lockstepBatch.close();
+        freeBatch.close();
+    }
+
+    @Test
+    void testEachWorldLogsToItsOwnEventLog() {
+        //execute
+        lockstepBatch.stepInLockstep(TICKS, INPUTS);
+        //check - a player tank fires every tenth tick while its game goes on
+        for (int index = 0; index < WORLDS; index++) {
+            EventLog eventLog = lockstepBatch.getWorld(index).getEventLog();
+            assertNotSame(EventLog.getInstance(), eventLog);
+            int numberOfEvents = 0;
+            for (Event event : eventLog) {
+                numberOfEvents++;
+            }
+            assertEquals((lockstepBatch.getTicksStepped(index) + 9) / 10, numberOfEvents);
+        }
+        lockstepBatch.close();
+        freeBatch.close();
+    }
+
+    //EFFECTS: returns WORLDS games, each with its own layout of tanks and walls
+    private List<TankGame> createWorlds() {
+        List<TankGame> worlds = new ArrayList<>();
+        for (int index = 0; index < WORLDS; index++) {
+            List<EnemyTank> enemyTanks = new ArrayList<>();
+            enemyTanks.add(new EnemyTank(Wall.WIDTH * (2 + index % 10), Wall.HEIGHT * 3, 90 + index));
+            enemyTanks.add(new EnemyTank(Wall.WIDTH * 10, Wall.HEIGHT * (4 + index), 270));
+            List<Wall> walls = new ArrayList<>();
+            walls.add(new Wall(Wall.WIDTH * (3 + index % 7), Wall.HEIGHT * 8));
+            worlds.add(new TankGame("world" + index, new PlayerTank(TankGame.WIDTH / 2, TankGame.HEIGHT / 2,
+                    index * 30), enemyTanks, walls));
+        }
+        return worlds;
+    }
+
+}
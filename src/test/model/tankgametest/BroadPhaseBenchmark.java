@@ -0,0 +1,90 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.tankgame.BroadPhase;
+import model.tankgame.BroadPhaseType;
+import model.tankgame.OverlapPairs;
+import model.tankgame.TankGame;
+import model.tanks.Tank;
+
+import java.util.Random;
+
+/*
+A benchmark of the BroadPhase implementations on moving objects spread on the map, each moving a few pixels
+per tick and bouncing off the borders of the map, as in a steady game: tanks only, then mostly bullets
+(one tank for every nine bullets), which move faster and so pass each other more often.
+Not run as a test; run its main method and compare the time per tick of every broad phase type.
+Every tick, the boxes are cleared and added again, and the overlapping pairs are found once.
+ */
+public class BroadPhaseBenchmark {
+    static final int TICKS = 2000;
+    static final int WARM_UP_ROUNDS = 3;
+
+    //EFFECTS: runs the benchmark for every broad phase type on both workloads and a few numbers of objects,
+    // and prints the average time per tick
+    public static void main(String[] args) {
+        for (int tankEvery : new int[]{1, 10}) {
+            for (int numberOfObjects : new int[]{200, 1000, 5000}) {
+                for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+                    if (broadPhaseType != BroadPhaseType.BRUTE_FORCE || numberOfObjects <= 1000) {
+                        run(broadPhaseType, numberOfObjects, tankEvery);
+                    }
+                }
+            }
+        }
+    }
+
+    //EFFECTS: runs warm up rounds and a measured round of the given workload, and prints the result
+    private static void run(BroadPhaseType broadPhaseType, int numberOfObjects, int tankEvery) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            runRound(broadPhaseType, numberOfObjects, tankEvery);
+        }
+        System.out.printf("%-12s %5d objects, %-27s: %8.2f us per tick%n",
+                tankEvery == 1 ? "tanks only," : "with bullets,", numberOfObjects, broadPhaseType,
+                runRound(broadPhaseType, numberOfObjects, tankEvery) / 1000.0 / TICKS);
+    }
+
+    //EFFECTS: moves the given number of objects, one tank every tankEvery objects and bullets otherwise, for
+    // TICKS ticks, finding the overlapping pairs with a broad phase of the given type every tick, and returns
+    // the time spent in the broad phase in nanoseconds
+    private static long runRound(BroadPhaseType broadPhaseType, int numberOfObjects, int tankEvery) {
+        Random random = new Random(42);
+        int[][] objects = new int[numberOfObjects][];
+        for (int i = 0; i < numberOfObjects; i++) {
+            int size = (i % tankEvery == 0) ? Tank.WIDTH : Bullet.WIDTH;
+            int speed = (i % tankEvery == 0) ? Tank.SPEED : TankGame.BULLET_SPEED;
+            objects[i] = new int[]{random.nextInt(TankGame.WIDTH - size), random.nextInt(TankGame.HEIGHT - size),
+                    random.nextInt(speed * 2 + 1) - speed, random.nextInt(speed * 2 + 1) - speed, size};
+        }
+        BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+        OverlapPairs pairs = new OverlapPairs();
+        long elapsed = 0;
+        for (int tick = 0; tick < TICKS; tick++) {
+            moveObjects(objects);
+            long start = System.nanoTime();
+            broadPhase.clear();
+            for (int[] o : objects) {
+                broadPhase.add(o[0], o[1], o[0] + o[4], o[1] + o[4]);
+            }
+            broadPhase.findOverlappingPairs(pairs);
+            elapsed += System.nanoTime() - start;
+        }
+        return elapsed;
+    }
+
+    //MODIFIES: objects
+    //EFFECTS: moves every object by its velocity, flipping the velocity of objects leaving the map
+    private static void moveObjects(int[][] objects) {
+        for (int[] o : objects) {
+            o[0] += o[2];
+            o[1] += o[3];
+            if (o[0] < 0 || o[0] + o[4] > TankGame.WIDTH) {
+                o[2] = -o[2];
+            }
+            if (o[1] < 0 || o[1] + o[4] > TankGame.HEIGHT) {
+                o[3] = -o[3];
+            }
+        }
+    }
+
+}
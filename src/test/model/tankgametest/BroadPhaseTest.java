@@ -0,0 +1,230 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.tankgame.BroadPhase;
+import model.tankgame.BroadPhaseType;
+import model.tankgame.BruteForceBroadPhase;
+import model.tankgame.IncrementalSweepAndPruneBroadPhase;
+import model.tankgame.OverlapPairs;
+import model.tankgame.SweepAndPruneBroadPhase;
+import model.tankgame.UniformGridBroadPhase;
+import model.tanks.EnemyTank;
+import model.tanks.Tank;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BroadPhaseTest {
+
+    @Test
+    void testCreateBroadPhase() {
+        //execute & check
+        assertTrue(BroadPhaseType.BRUTE_FORCE.createBroadPhase() instanceof BruteForceBroadPhase);
+        assertTrue(BroadPhaseType.UNIFORM_GRID.createBroadPhase() instanceof UniformGridBroadPhase);
+        assertTrue(BroadPhaseType.SWEEP_AND_PRUNE.createBroadPhase() instanceof SweepAndPruneBroadPhase);
+        assertTrue(BroadPhaseType.INCREMENTAL_SWEEP_AND_PRUNE.createBroadPhase()
+                instanceof IncrementalSweepAndPruneBroadPhase);
+    }
+
+    @Test
+    void testAddAndClear() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            //setup
+            BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+            //execute & check
+            assertEquals(-1, broadPhase.findFirstOverlapping(0, 0, 10, 10));
+            assertEquals(0, broadPhase.add(0, 0, 10, 10));
+            assertEquals(1, broadPhase.add(new Bullet(5, 5, 0, 0)));
+            assertEquals(2, broadPhase.getNumberOfBoxes());
+            broadPhase.clear();
+            assertEquals(0, broadPhase.getNumberOfBoxes());
+            assertEquals(-1, broadPhase.findFirstOverlapping(0, 0, 10, 10));
+            assertEquals(0, broadPhase.add(100, 100, 110, 110));
+        }
+    }
+
+    @Test
+    void testFindOverlappingPairsEdgesIncluded() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            //setup - box 1 touches box 0 at its right edge, box 2 is one pixel away from box 1
+            BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+            OverlapPairs pairs = new OverlapPairs();
+            broadPhase.add(0, 0, 10, 10);
+            broadPhase.add(10, 10, 20, 20);
+            broadPhase.add(21, 0, 30, 30);
+            //execute
+            broadPhase.findOverlappingPairs(pairs);
+            //check
+            assertEquals(1, pairs.size());
+            assertEquals(0, pairs.getFirst(0));
+            assertEquals(1, pairs.getSecond(0));
+        }
+    }
+
+    @Test
+    void testFindOverlappingPairsAfterAddingMoreBoxes() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            //setup
+            BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+            OverlapPairs pairs = new OverlapPairs();
+            broadPhase.add(0, 0, 10, 10);
+            broadPhase.findOverlappingPairs(pairs);
+            //execute
+            broadPhase.add(5, 5, 15, 15);
+            broadPhase.findOverlappingPairs(pairs);
+            //check
+            assertEquals(1, pairs.size());
+            assertEquals(1, broadPhase.findFirstOverlapping(12, 12, 20, 20));
+        }
+    }
+
+    @Test
+    void testFindFirstOverlappingReturnsSmallestIndex() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            //setup
+            BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+            broadPhase.add(new EnemyTank(100 + Tank.WIDTH / 2, 100, 0));
+            broadPhase.add(new EnemyTank(100, 100, 0));
+            //execute & check
+            assertEquals(0, broadPhase.findFirstOverlapping(new Bullet(100 + Tank.WIDTH / 2, 100, 0, 0)));
+            assertEquals(1, broadPhase.findFirstOverlapping(new Bullet(100 - Bullet.WIDTH, 100, 0, 0)));
+            assertEquals(-1, broadPhase.findFirstOverlapping(new Bullet(100 - Bullet.WIDTH - 1, 100, 0, 0)));
+        }
+    }
+
+    @Test
+    void testFindFirstOverlappingMatchesScanOfAllBoxes() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            //setup - many boxes of different sizes on a small area, including negative coordinates
+            Random random = new Random(3);
+            BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+            List<int[]> boxes = randomBoxes(random, 300);
+            boxes.forEach(b -> broadPhase.add(b[0], b[1], b[2], b[3]));
+            //execute & check
+            for (int i = 0; i < 2000; i++) {
+                int[] query = randomBoxes(random, 1).get(0);
+                assertEquals(firstOverlapping(boxes, query),
+                        broadPhase.findFirstOverlapping(query[0], query[1], query[2], query[3]));
+            }
+        }
+    }
+
+    @Test
+    void testFindOverlappingPairsMatchesBruteForce() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            Random random = new Random(7);
+            for (int trial = 0; trial < 50; trial++) {
+                //setup
+                BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+                List<int[]> boxes = randomBoxes(random, random.nextInt(150));
+                boxes.forEach(b -> broadPhase.add(b[0], b[1], b[2], b[3]));
+                OverlapPairs pairs = new OverlapPairs();
+                //execute
+                broadPhase.findOverlappingPairs(pairs);
+                //check - every overlapping pair, exactly once
+                boolean[][] found = new boolean[boxes.size()][boxes.size()];
+                for (int n = 0; n < pairs.size(); n++) {
+                    assertTrue(pairs.getFirst(n) < pairs.getSecond(n));
+                    assertFalse(found[pairs.getFirst(n)][pairs.getSecond(n)]);
+                    found[pairs.getFirst(n)][pairs.getSecond(n)] = true;
+                }
+                for (int i = 0; i < boxes.size(); i++) {
+                    for (int j = i + 1; j < boxes.size(); j++) {
+                        assertEquals(overlap(boxes.get(i), boxes.get(j)), found[i][j]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFindOverlappingPairsOverManyTicksMatchesBruteForce() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            //setup - boxes moving a few pixels per tick, with boxes removed and added between ticks
+            Random random = new Random(11);
+            BroadPhase broadPhase = broadPhaseType.createBroadPhase();
+            OverlapPairs pairs = new OverlapPairs();
+            List<int[]> boxes = randomBoxes(random, 100);
+            for (int tick = 0; tick < 200; tick++) {
+                moveRemoveAndAddBoxes(random, boxes);
+                //execute
+                broadPhase.clear();
+                boxes.forEach(b -> broadPhase.add(b[0], b[1], b[2], b[3]));
+                broadPhase.findOverlappingPairs(pairs);
+                //check
+                assertEquals(countOverlappingPairs(boxes), pairs.size());
+                for (int n = 0; n < pairs.size(); n++) {
+                    assertTrue(overlap(boxes.get(pairs.getFirst(n)), boxes.get(pairs.getSecond(n))));
+                }
+                int[] query = randomBoxes(random, 1).get(0);
+                assertEquals(firstOverlapping(boxes, query),
+                        broadPhase.findFirstOverlapping(query[0], query[1], query[2], query[3]));
+            }
+        }
+    }
+
+    //MODIFIES: boxes
+    //EFFECTS: moves every box by up to 5 pixels along each axis, then sometimes removes a box and sometimes
+    // adds some boxes
+    private void moveRemoveAndAddBoxes(Random random, List<int[]> boxes) {
+        for (int[] b : boxes) {
+            int dx = random.nextInt(11) - 5;
+            int dy = random.nextInt(11) - 5;
+            b[0] += dx;
+            b[1] += dy;
+            b[2] += dx;
+            b[3] += dy;
+        }
+        if (!boxes.isEmpty() && random.nextInt(3) == 0) {
+            boxes.remove(random.nextInt(boxes.size()));
+        }
+        if (random.nextInt(4) == 0) {
+            boxes.addAll(randomBoxes(random, random.nextInt(5)));
+        }
+    }
+
+    //EFFECTS: returns the number of pairs of overlapping boxes in the given list
+    private int countOverlappingPairs(List<int[]> boxes) {
+        int count = 0;
+        for (int i = 0; i < boxes.size(); i++) {
+            for (int j = i + 1; j < boxes.size(); j++) {
+                if (overlap(boxes.get(i), boxes.get(j))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    //EFFECTS: returns the index of the first box in the given list overlapping the query box, or -1
+    private int firstOverlapping(List<int[]> boxes, int[] query) {
+        for (int b = 0; b < boxes.size(); b++) {
+            if (overlap(boxes.get(b), query)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    //EFFECTS: returns the given number of boxes as {left, top, right, bottom}, of sizes from a bullet's to
+    // larger than a tank's, at random positions in a small area
+    private List<int[]> randomBoxes(Random random, int numberOfBoxes) {
+        List<int[]> boxes = new ArrayList<>();
+        for (int i = 0; i < numberOfBoxes; i++) {
+            int left = random.nextInt(400) - 100;
+            int top = random.nextInt(400) - 100;
+            boxes.add(new int[]{left, top, left + random.nextInt(50), top + random.nextInt(50)});
+        }
+        return boxes;
+    }
+
+    //EFFECTS: returns true if the two boxes overlap, edges included
+    private boolean overlap(int[] box1, int[] box2) {
+        return box1[0] <= box2[2] && box1[2] >= box2[0] && box1[1] <= box2[3] && box1[3] >= box2[1];
+    }
+
+}
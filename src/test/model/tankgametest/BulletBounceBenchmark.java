@@ -0,0 +1,143 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.BulletStore;
+import model.FixedPoint;
+import model.Wall;
+import model.tankgame.CollisionHandler;
+import model.tankgame.TankGame;
+import model.tankgame.WallOccupancyGrid;
+import model.tanks.EnemyTank;
+import model.tanks.PlayerTank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+A benchmark of the bounce path of bullets: moving them through a tick and resolving every wall contact they
+meet on the way (see CollisionHandler.moveBulletAt). Not run as a test; run its main method and compare the
+results before and after a change to the bullet wall collision.
+Only the pass moving the rows of the bullet store is timed; firing bullets, updating the store from the bullet
+lists and removing the bullets that reached TankGame.MAX_BOUNCE_COUNT are left out.
+The same bullets are moved on an open map, with the default walls only, and on a bounce-heavy map, a
+checkerboard of walls, where almost every tick some bullet meets a face, a corner or a seam. Contacts are
+counted from the bounce counts of the bullets, so that the difference between the two maps gives the cost of
+one contact.
+Every round, BULLETS bullets are fired from the empty cells in random directions and moved for TICKS ticks.
+ */
+public class BulletBounceBenchmark {
+    static final int BULLETS = 2000;
+    static final int TICKS = 60;
+    static final int WARM_UP_ROUNDS = 50;
+    static final int MEASURED_ROUNDS = 200;
+
+    static long bulletTicks;
+    static long contacts;
+
+    //EFFECTS: runs the benchmark on both maps at the default bullet speed and at four times that speed, and
+    // prints the time per bullet-tick, the contacts per bullet-tick and the time per contact
+    public static void main(String[] args) {
+        List<Wall> openWalls = TankGame.getDefaultWallsGivenGameWidthAndHeight(TankGame.WIDTH, TankGame.HEIGHT);
+        List<Wall> checkerboardWalls = checkerboardWalls();
+        for (int bulletSpeed : new int[] {TankGame.BULLET_SPEED, TankGame.BULLET_SPEED * 4}) {
+            double[] open = run("open", openWalls, bulletSpeed);
+            double[] checkerboard = run("checkerboard", checkerboardWalls, bulletSpeed);
+            System.out.printf("bullet speed %2d: %6.1f ns per contact%n", bulletSpeed,
+                    (checkerboard[0] - open[0]) / (checkerboard[1] - open[1]));
+        }
+    }
+
+    //EFFECTS: runs warm up and measured rounds with bullets of the given speed among the given walls, prints
+    // the results and returns the time per bullet-tick in nanoseconds and the contacts per bullet-tick
+    private static double[] run(String map, List<Wall> walls, int bulletSpeed) {
+        Random random = new Random(42);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            runRound(walls, bulletSpeed, random);
+        }
+        bulletTicks = 0;
+        contacts = 0;
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            elapsed += runRound(walls, bulletSpeed, random);
+        }
+        double[] results = {(double) elapsed / bulletTicks, (double) contacts / bulletTicks};
+        System.out.printf("bullet speed %2d, %-12s: %6.1f ns per bullet-tick, %.3f contacts per bullet-tick, "
+                + "%d bullet-ticks%n", bulletSpeed, map, results[0], results[1], bulletTicks);
+        return results;
+    }
+
+    //MODIFIES: bulletTicks, contacts
+    //EFFECTS: fires BULLETS bullets of the given speed, moves them for TICKS ticks, adds the number of
+    // bullet-ticks simulated to bulletTicks and of contacts resolved to contacts, and returns the time spent
+    // moving bullets in nanoseconds
+    private static long runRound(List<Wall> walls, int bulletSpeed, Random random) {
+        PlayerTank bulletOwner = new PlayerTank(-TankGame.WIDTH, 0, 0);
+        CollisionHandler collisionHandler = new CollisionHandler(bulletOwner, new ArrayList<EnemyTank>(), walls);
+        fireBullets(bulletOwner, collisionHandler.getWallGrid(), bulletSpeed, random);
+        long elapsed = 0;
+        for (int tick = 0; tick < TICKS && !bulletOwner.getBullets().isEmpty(); tick++) {
+            BulletStore bulletStore = collisionHandler.updateBulletStore();
+            long bouncesBefore = sumBounceCounts(bulletStore);
+            long start = System.nanoTime();
+            for (int row = 0; row < bulletStore.size(); row++) {
+                collisionHandler.moveBulletAt(row);
+            }
+            elapsed += System.nanoTime() - start;
+            bulletTicks += bulletStore.size();
+            contacts += sumBounceCounts(bulletStore) - bouncesBefore;
+            for (int row = 0; row < bulletStore.size(); row++) {
+                if (bulletStore.getBounceCount(row) >= TankGame.MAX_BOUNCE_COUNT) {
+                    bulletStore.destroy(row);
+                }
+            }
+            collisionHandler.removeDestroyedBullets();
+        }
+        return elapsed;
+    }
+
+    //MODIFIES: tank
+    //EFFECTS: gives the tank BULLETS bullets of the given speed, from the centers of random cells free of walls,
+    // in random directions
+    private static void fireBullets(PlayerTank tank, WallOccupancyGrid wallGrid, int bulletSpeed, Random random) {
+        while (tank.getBullets().size() < BULLETS) {
+            int column = random.nextInt(TankGame.WIDTH / Wall.WIDTH);
+            int row = random.nextInt(TankGame.HEIGHT / Wall.HEIGHT);
+            if (wallGrid.getWallAt(column, row) == null) {
+                double angle = random.nextDouble() * Math.PI * 2;
+                Bullet bullet = new Bullet(column * Wall.WIDTH + Wall.WIDTH / 2, row * Wall.HEIGHT + Wall.HEIGHT / 2,
+                        0, 0);
+                bullet.setFixedPointVelocity(FixedPoint.fromDouble(bulletSpeed * Math.cos(angle)),
+                        FixedPoint.fromDouble(bulletSpeed * Math.sin(angle)));
+                tank.addBullet(bullet);
+            }
+        }
+    }
+
+    //EFFECTS: returns the sum of the bounce counts of the rows of the given store
+    private static long sumBounceCounts(BulletStore bulletStore) {
+        long sum = 0;
+        for (int row = 0; row < bulletStore.size(); row++) {
+            sum += bulletStore.getBounceCount(row);
+        }
+        return sum;
+    }
+
+    //EFFECTS: returns walls on every other cell of the map, in a checkerboard pattern, and on every cell along its
+    // boundaries, as the default walls
+    private static List<Wall> checkerboardWalls() {
+        List<Wall> walls = new ArrayList<>();
+        int rows = TankGame.HEIGHT / Wall.HEIGHT;
+        int columns = TankGame.WIDTH / Wall.WIDTH;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                boolean onBoundary = row == 0 || column == 0 || row == rows - 1 || column == columns - 1;
+                if ((column + row) % 2 == 0 || onBoundary) {
+                    walls.add(new Wall(column * Wall.WIDTH, row * Wall.HEIGHT));
+                }
+            }
+        }
+        return walls;
+    }
+
+}
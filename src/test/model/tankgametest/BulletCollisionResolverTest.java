@@ -0,0 +1,203 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.BulletStore;
+import model.tankgame.BroadPhaseType;
+import model.tankgame.BulletCollisionResolver;
+import model.tankgame.UniformGridBroadPhase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulletCollisionResolverTest {
+    BulletCollisionResolver bulletResolver;
+    List<Bullet> tank1Bullets;
+    List<Bullet> tank2Bullets;
+    List<Bullet> bulletsWithoutTankOwner;
+
+    @BeforeEach
+    void runBeforeEach() {
+        bulletResolver = new BulletCollisionResolver();
+        tank1Bullets = new ArrayList<>();
+        tank2Bullets = new ArrayList<>();
+        bulletsWithoutTankOwner = new ArrayList<>();
+    }
+
+    @Test
+    void testRemoveCollidingBulletsNoCollision() {
+        //setup
+        tank1Bullets.add(new Bullet(100, 100, 1, 1));
+        tank2Bullets.add(new Bullet(100 + Bullet.WIDTH + 1, 100, 1, 1));
+        bulletsWithoutTankOwner.add(new Bullet(100, 100 + Bullet.HEIGHT + 1, 1, 1));
+        //execute
+        addAllListsAndRemoveCollidingBullets();
+        //check
+        assertEquals(1, tank1Bullets.size());
+        assertEquals(1, tank2Bullets.size());
+        assertEquals(1, bulletsWithoutTankOwner.size());
+    }
+
+    @Test
+    void testRemoveCollidingBulletsAcrossCellBoundary() {
+        //setup - touching at their edges, on both sides of a cell boundary
+        Bullet bullet1 = new Bullet(UniformGridBroadPhase.CELL_SIZE - 1, 0, 1, 1);
+        Bullet bullet2 = new Bullet(UniformGridBroadPhase.CELL_SIZE - 1 + Bullet.WIDTH, Bullet.HEIGHT, 1, 1);
+        tank1Bullets.add(bullet1);
+        tank2Bullets.add(bullet2);
+        //execute
+        addAllListsAndRemoveCollidingBullets();
+        //check
+        assertTrue(tank1Bullets.isEmpty());
+        assertTrue(tank2Bullets.isEmpty());
+    }
+
+    @Test
+    void testRemoveCollidingBulletsWithinOneTankRemovesAllCollidingAtOnce() {
+        //setup - three bullets of the same tank in a chain, and one far away
+        Bullet farBullet = new Bullet(300, 300, 1, 1);
+        tank1Bullets.add(new Bullet(100, 100, 1, 1));
+        tank1Bullets.add(new Bullet(104, 100, 1, 1));
+        tank1Bullets.add(farBullet);
+        tank1Bullets.add(new Bullet(108, 100, 1, 1));
+        //execute
+        addAllListsAndRemoveCollidingBullets();
+        //check
+        assertEquals(1, tank1Bullets.size());
+        assertEquals(farBullet, tank1Bullets.get(0));
+    }
+
+    @Test
+    void testRemoveCollidingBulletsWithinAndBetweenTanksAtOnce() {
+        //setup - tank 1's two bullets hit each other, and tank 2's bullet hits one of them
+        tank1Bullets.add(new Bullet(100, 100, 1, 1));
+        tank1Bullets.add(new Bullet(103, 100, 1, 1));
+        tank2Bullets.add(new Bullet(106, 100, 1, 1));
+        //execute
+        addAllListsAndRemoveCollidingBullets();
+        //check
+        assertTrue(tank1Bullets.isEmpty());
+        assertTrue(tank2Bullets.isEmpty());
+    }
+
+    @Test
+    void testRemoveCollidingBulletsWithoutTankOwnerHitByTankBullet() {
+        //setup
+        tank1Bullets.add(new Bullet(100, 100, 1, 1));
+        bulletsWithoutTankOwner.add(new Bullet(103, 100, 1, 1));
+        bulletsWithoutTankOwner.add(new Bullet(106, 100, 1, 1));
+        //execute
+        addAllListsAndRemoveCollidingBullets();
+        //check - the two bullets without tank owner touch each other, but only the one hit is removed
+        assertTrue(tank1Bullets.isEmpty());
+        assertEquals(1, bulletsWithoutTankOwner.size());
+        assertEquals(106, bulletsWithoutTankOwner.get(0).getX());
+    }
+
+    @Test
+    void testRemoveCollidingBulletsWithoutTankOwnerNeverCollideWithEachOther() {
+        //setup
+        bulletsWithoutTankOwner.add(new Bullet(100, 100, 1, 1));
+        bulletsWithoutTankOwner.add(new Bullet(100, 100, 1, 1));
+        //execute
+        addAllListsAndRemoveCollidingBullets();
+        //check
+        assertEquals(2, bulletsWithoutTankOwner.size());
+    }
+
+    @Test
+    void testRemoveCollidingBulletsMatchesPairwiseComparisonForEveryBroadPhaseType() {
+        for (BroadPhaseType broadPhaseType : BroadPhaseType.values()) {
+            bulletResolver = new BulletCollisionResolver(broadPhaseType.createBroadPhase());
+            checkRemoveCollidingBulletsMatchesPairwiseComparison(new Random(210));
+        }
+    }
+
+    //MODIFIES: this
+    //EFFECTS: stores the two tanks' bullets and those without owner, and removes colliding bullets
+    private void addAllListsAndRemoveCollidingBullets() {
+        removeCollidingBullets(List.of(tank1Bullets, tank2Bullets), bulletsWithoutTankOwner);
+    }
+
+    //MODIFIES: this, tanks, bulletsWithoutOwner
+    //EFFECTS: stores the bullets of every tank in order, and those without owner, removes colliding bullets
+    // with the resolver, and then removes from the lists every bullet removed from the store
+    private void removeCollidingBullets(List<List<Bullet>> tanks, List<Bullet> bulletsWithoutOwner) {
+        BulletStore bulletStore = new BulletStore();
+        for (int t = 0; t < tanks.size(); t++) {
+            for (Bullet b : tanks.get(t)) {
+                bulletStore.add(b, t);
+            }
+        }
+        bulletsWithoutOwner.forEach(b -> bulletStore.add(b, BulletStore.NO_OWNER));
+        bulletResolver.removeCollidingBullets(bulletStore);
+        tanks.forEach(bullets -> bullets.removeIf(b -> bulletStore.rowOf(b) == -1));
+        bulletsWithoutOwner.removeIf(b -> bulletStore.rowOf(b) == -1);
+    }
+
+    //MODIFIES: this
+    //EFFECTS: checks over many random crowded scenes that the resolver removes the same bullets as
+    // comparing every pair
+    private void checkRemoveCollidingBulletsMatchesPairwiseComparison(Random random) {
+        for (int trial = 0; trial < 200; trial++) {
+            //setup - a crowded small area so that many bullets collide
+            int numberOfTanks = 1 + random.nextInt(8);
+            List<List<Bullet>> resolvedTanks = new ArrayList<>();
+            List<List<Bullet>> pairwiseTanks = new ArrayList<>();
+            for (int t = 0; t < numberOfTanks; t++) {
+                List<Bullet> bullets = randomBullets(random, random.nextInt(6));
+                resolvedTanks.add(bullets);
+                pairwiseTanks.add(new ArrayList<>(bullets));
+            }
+            List<Bullet> resolvedWithoutOwner = randomBullets(random, random.nextInt(6));
+            List<Bullet> pairwiseWithoutOwner = new ArrayList<>(resolvedWithoutOwner);
+            //execute
+            removeCollidingBullets(resolvedTanks, resolvedWithoutOwner);
+            removeCollidingBulletsPairwise(pairwiseTanks, pairwiseWithoutOwner);
+            //check
+            assertEquals(pairwiseTanks, resolvedTanks);
+            assertEquals(pairwiseWithoutOwner, resolvedWithoutOwner);
+        }
+    }
+
+    //EFFECTS: returns a list of the given number of bullets at random positions in a small area
+    private List<Bullet> randomBullets(Random random, int numberOfBullets) {
+        List<Bullet> bullets = new ArrayList<>();
+        for (int i = 0; i < numberOfBullets; i++) {
+            bullets.add(new Bullet(random.nextInt(60) - 20, random.nextInt(60) - 20, 1, 1));
+        }
+        return bullets;
+    }
+
+    //MODIFIES: tanks, bulletsWithoutOwner
+    //EFFECTS: removes colliding bullets by comparing every pair of bullets, all at once; two bullets
+    // without owner never collide
+    private void removeCollidingBulletsPairwise(List<List<Bullet>> tanks, List<Bullet> bulletsWithoutOwner) {
+        List<Bullet> tankBullets = new ArrayList<>();
+        tanks.forEach(tankBullets::addAll);
+        Set<Bullet> toBeRemoved = new HashSet<>();
+        for (int i = 0; i < tankBullets.size(); i++) {
+            for (int j = i + 1; j < tankBullets.size(); j++) {
+                if (tankBullets.get(i).isCollidingWith(tankBullets.get(j))) {
+                    toBeRemoved.add(tankBullets.get(i));
+                    toBeRemoved.add(tankBullets.get(j));
+                }
+            }
+            for (Bullet b : bulletsWithoutOwner) {
+                if (tankBullets.get(i).isCollidingWith(b)) {
+                    toBeRemoved.add(tankBullets.get(i));
+                    toBeRemoved.add(b);
+                }
+            }
+        }
+        tanks.forEach(bullets -> bullets.removeAll(toBeRemoved));
+        bulletsWithoutOwner.removeAll(toBeRemoved);
+    }
+
+}
@@ -1,11 +1,13 @@
 package model.tankgametest;
 
 import model.Bullet;
+import model.BulletStore;
 import model.Wall;
 import model.tankgame.CollisionHandler;
 import model.tankgame.TankGame;
 import model.tanks.EnemyTank;
 import model.tanks.PlayerTank;
+import model.tanks.Tank;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -26,7 +28,6 @@ public class CollisionHandlerTest {
     List<Wall> walls;
     Bullet collidingBullet;
     Bullet nonCollidingBullet;
-    List<Bullet> bulletsWithoutTankOwner;
 
     final int P_TANK_X = TankGame.WIDTH / 2;
     final int P_TANK_Y = TankGame.HEIGHT / 2;
@@ -66,9 +67,8 @@ public class CollisionHandlerTest {
         walls = new ArrayList<>();
         walls.add(wallCollidingWithBullet);
         walls.add(wall2);
-        bulletsWithoutTankOwner = new ArrayList<>();
 
-        collisionHandler = new CollisionHandler(playerTank, enemyTanks, walls, bulletsWithoutTankOwner);
+        collisionHandler = new CollisionHandler(playerTank, enemyTanks, walls);
 //        gameWithOnlyDefaultWallsAndPlayerTank = new TankGame("game2", playerTank, new ArrayList<>(),
 //                new ArrayList<>());
         collidingBullet = new Bullet(COLLIDING_B_X, COLLIDING_B_Y, COLLIDING_B_VEL_X, COLLIDING_B_VEL_Y);
@@ -118,4 +118,323 @@ public class CollisionHandlerTest {
                 nonCollidingBullet.getVelY(), nonCollidingBullet));
     }
 
+    //moveBulletInGame
+    @Test
+    void testMoveBulletInGameFastBulletBouncesInsteadOfPassingThroughWall() {
+        //setup - the destination lies entirely beyond wall2
+        Bullet fastBullet = new Bullet(wall2.getLeftEdgeX() - Bullet.WIDTH - 11, wall2.getY(), Wall.WIDTH * 2, 0);
+        //execute
+        collisionHandler.moveBulletInGame(fastBullet);
+        //check - 10 pixels up to the wall, then the remaining 70 pixels back
+        assertEquals(wall2.getLeftEdgeX() - Bullet.WIDTH - 1 - (Wall.WIDTH * 2 - 10), fastBullet.getX());
+        assertEquals(wall2.getY(), fastBullet.getY());
+        assertEquals(-Wall.WIDTH * 2, fastBullet.getVelX());
+        assertEquals(1, fastBullet.getBounceCount());
+    }
+
+    @Test
+    void testMoveBulletInGameBouncesOffCornerOnBothAxes() {
+        //setup - reaches the top left corner of wall2 at the same time on both axes
+        Bullet cornerBullet = new Bullet(wall2.getLeftEdgeX() - Bullet.WIDTH - 3,
+                wall2.getTopEdgeY() - Bullet.HEIGHT - 3, 5, 5);
+        //execute
+        collisionHandler.moveBulletInGame(cornerBullet);
+        //check
+        assertEquals(wall2.getLeftEdgeX() - Bullet.WIDTH - 1 - 3, cornerBullet.getX());
+        assertEquals(wall2.getTopEdgeY() - Bullet.HEIGHT - 1 - 3, cornerBullet.getY());
+        assertEquals(-5, cornerBullet.getVelX());
+        assertEquals(-5, cornerBullet.getVelY());
+        assertEquals(1, cornerBullet.getBounceCount());
+    }
+
+    @Test
+    void testMoveBulletInGameCrossingSeamBouncesOffCommonFaceOnly() {
+        //setup - reaches the top right corner of the left wall while already above the right wall
+        List<Wall> wallsWithSeam = new ArrayList<>();
+        wallsWithSeam.add(new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 2));
+        wallsWithSeam.add(new Wall(Wall.WIDTH * 5, Wall.HEIGHT * 2));
+        CollisionHandler handler = new CollisionHandler(playerTank, enemyTanks, wallsWithSeam);
+        Bullet seamBullet = new Bullet(Wall.WIDTH * 5 + 2, Wall.HEIGHT * 2 - Bullet.HEIGHT - 3, -5, 5);
+        //execute
+        handler.moveBulletInGame(seamBullet);
+        //check
+        assertEquals(Wall.WIDTH * 5 + 2 - 5, seamBullet.getX());
+        assertEquals(Wall.HEIGHT * 2 - Bullet.HEIGHT - 1 - 3, seamBullet.getY());
+        assertEquals(-5, seamBullet.getVelX());
+        assertEquals(-5, seamBullet.getVelY());
+        assertEquals(1, seamBullet.getBounceCount());
+    }
+
+    @Test
+    void testMoveBulletInGameIntoInsideCornerBouncesOffBothWalls() {
+        //setup - reaches the wall to its right and the wall below it at the same time
+        List<Wall> wallsWithCorner = new ArrayList<>();
+        wallsWithCorner.add(new Wall(Wall.WIDTH * 5, Wall.HEIGHT * 2));
+        wallsWithCorner.add(new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 3));
+        CollisionHandler handler = new CollisionHandler(playerTank, enemyTanks, wallsWithCorner);
+        Bullet cornerBullet = new Bullet(Wall.WIDTH * 5 - Bullet.WIDTH - 3, Wall.HEIGHT * 3 - Bullet.HEIGHT - 3,
+                5, 5);
+        //execute
+        handler.moveBulletInGame(cornerBullet);
+        //check
+        assertEquals(Wall.WIDTH * 5 - Bullet.WIDTH - 1 - 3, cornerBullet.getX());
+        assertEquals(Wall.HEIGHT * 3 - Bullet.HEIGHT - 1 - 3, cornerBullet.getY());
+        assertEquals(-5, cornerBullet.getVelX());
+        assertEquals(-5, cornerBullet.getVelY());
+        assertEquals(1, cornerBullet.getBounceCount());
+    }
+
+    @Test
+    void testMoveBulletInGameResolvesSeveralContactsInOneTickUpToMaxBounceCount() {
+        //setup - a fast bullet in a corridor one wall wide, between two walls
+        List<Wall> corridorWalls = new ArrayList<>();
+        corridorWalls.add(new Wall(Wall.WIDTH * 3, Wall.HEIGHT * 2));
+        corridorWalls.add(new Wall(Wall.WIDTH * 5, Wall.HEIGHT * 2));
+        CollisionHandler handler = new CollisionHandler(playerTank, enemyTanks, corridorWalls);
+        int leftContact = Wall.WIDTH * 4;
+        int rightContact = Wall.WIDTH * 5 - Bullet.WIDTH - 1;
+        Bullet fastBullet = new Bullet(leftContact + 10, Wall.HEIGHT * 2, 100, 0);
+        //execute
+        handler.moveBulletInGame(fastBullet);
+        //check - bounces off the right, left and right walls, then stops resolving contacts
+        int remaining = 100 - (rightContact - leftContact - 10) - (rightContact - leftContact) * 2;
+        assertEquals(TankGame.MAX_BOUNCE_COUNT, fastBullet.getBounceCount());
+        assertEquals(rightContact - remaining, fastBullet.getX());
+        assertEquals(Wall.HEIGHT * 2, fastBullet.getY());
+        assertEquals(-100, fastBullet.getVelX());
+    }
+
+    @Test
+    void testMoveBulletInGameWithoutCollision() {
+        //setup
+        int bulletPosX = nonCollidingBullet.getX();
+        int bulletPosY = nonCollidingBullet.getY();
+        //execute
+        collisionHandler.moveBulletInGame(nonCollidingBullet);
+        //check
+        assertEquals(bulletPosX + NON_COLLIDING_B_VEL_X, nonCollidingBullet.getX());
+        assertEquals(bulletPosY + NON_COLLIDING_B_VEL_Y, nonCollidingBullet.getY());
+        assertEquals(0, nonCollidingBullet.getBounceCount());
+    }
+
+    //getPositionAfterMovingTank
+    @Test
+    void testGetPositionAfterMovingTankBlockedByAnotherTank() {
+        //setup - enemy tank 2 lies right below enemy tank 1, one pixel away
+        enemyTank2.setLocation(E1_TANK_X, E1_TANK_Y + Tank.HEIGHT + 1);
+        collisionHandler.findTanksNearEachOther();
+        //execute
+        int[] blockedPos = collisionHandler.getPositionAfterMovingTank(0, Tank.SPEED, 0);
+        int[] freePos = collisionHandler.getPositionAfterMovingTank(0, -Tank.SPEED, 0);
+        int[] playerTankPos = collisionHandler.getPositionAfterMovingTank(Tank.SPEED, 0, enemyTanks.size());
+        //check
+        assertArrayEquals(new int[]{E1_TANK_X, E1_TANK_Y}, blockedPos);
+        assertArrayEquals(new int[]{E1_TANK_X, E1_TANK_Y - Tank.SPEED}, freePos);
+        assertArrayEquals(new int[]{P_TANK_X + Tank.SPEED, P_TANK_Y}, playerTankPos);
+    }
+
+    @Test
+    void testGetPositionAfterMovingTankSwarmNeverOverlaps() {
+        //setup - 500 enemy tanks in rows, one pixel apart, all driving right for a while
+        enemyTanks.clear();
+        for (int i = 0; i < 500; i++) {
+            enemyTanks.add(new EnemyTank(Wall.WIDTH + (i % 25) * (Tank.WIDTH + 1),
+                    Wall.HEIGHT + (i / 25) * (Tank.HEIGHT + 1), 0));
+        }
+        playerTank.setLocation(Wall.WIDTH + 25 * (Tank.WIDTH + 1) + Tank.SPEED, Wall.HEIGHT);
+        collisionHandler = new CollisionHandler(playerTank, enemyTanks, new ArrayList<>());
+        //execute
+        for (int tick = 0; tick < 30; tick++) {
+            collisionHandler.findTanksNearEachOther();
+            for (int i = 0; i < enemyTanks.size(); i++) {
+                int[] newPos = collisionHandler.getPositionAfterMovingTank(Tank.SPEED, 0, i);
+                enemyTanks.get(i).setLocation(newPos[0], newPos[1]);
+            }
+        }
+        //check - the first row is stopped by the player tank, the other rows keep on driving
+        assertEquals(Wall.WIDTH + 24 * (Tank.WIDTH + 1) + Tank.SPEED, enemyTanks.get(24).getX());
+        assertEquals(Wall.WIDTH + 24 * (Tank.WIDTH + 1) + 30 * Tank.SPEED, enemyTanks.get(49).getX());
+        for (int i = 0; i < enemyTanks.size(); i++) {
+            assertFalse(enemyTanks.get(i).isCollidingWith(playerTank));
+            for (int j = i + 1; j < enemyTanks.size(); j++) {
+                assertFalse(enemyTanks.get(i).isCollidingWith(enemyTanks.get(j)));
+            }
+        }
+    }
+
+    //dealWithCollisionBetweenTanksAndBullets
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsNoCollision() {
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBullets();
+        //check
+        assertEquals(playerTank, collisionHandler.getPlayerTank());
+        assertEquals(2, playerTank.getBullets().size());
+        assertEquals(2, enemyTanks.size());
+        assertTrue(collisionHandler.getBulletsWithoutTankOwner().isEmpty());
+    }
+
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsBulletHitsOnlyFirstOfOverlappingEnemyTanks() {
+        //setup - enemy tanks 1 and 2 are at the same position
+        Bullet hittingBullet = new Bullet(E1_TANK_X, E1_TANK_Y, 0, 0);
+        Bullet enemyTank1Bullet = new Bullet(NON_COLLIDING_B_X, NON_COLLIDING_B_Y + Wall.HEIGHT, 0, 0);
+        playerTank.addBullet(hittingBullet);
+        enemyTank1.addBullet(enemyTank1Bullet);
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBullets();
+        //check
+        assertEquals(1, enemyTanks.size());
+        assertEquals(enemyTank2, enemyTanks.get(0));
+        assertFalse(playerTank.getBullets().contains(hittingBullet));
+        assertEquals(2, playerTank.getBullets().size());
+        assertEquals(1, collisionHandler.getBulletsWithoutTankOwner().size());
+        assertEquals(enemyTank1Bullet, collisionHandler.getBulletsWithoutTankOwner().get(0));
+        assertEquals(playerTank, collisionHandler.getPlayerTank());
+    }
+
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsEnemyTankHitTwiceMovesItsBulletsOnce() {
+        //setup
+        playerTank.addBullet(new Bullet(E1_TANK_X, E1_TANK_Y, 0, 0));
+        playerTank.addBullet(new Bullet(E1_TANK_X + Tank.WIDTH, E1_TANK_Y + Tank.HEIGHT, 0, 0));
+        enemyTank1.addBullet(new Bullet(NON_COLLIDING_B_X, NON_COLLIDING_B_Y + Wall.HEIGHT, 0, 0));
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBullets();
+        //check
+        assertEquals(1, enemyTanks.size());
+        assertEquals(2, playerTank.getBullets().size());
+        assertEquals(1, collisionHandler.getBulletsWithoutTankOwner().size());
+    }
+
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsPlayerTankHitByEnemyBullet() {
+        //setup
+        Bullet hittingBullet = new Bullet(P_TANK_X, P_TANK_Y, 0, 0);
+        enemyTank2.addBullet(hittingBullet);
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBullets();
+        //check
+        assertNull(collisionHandler.getPlayerTank());
+        assertTrue(enemyTank2.getBullets().isEmpty());
+        assertEquals(2, enemyTanks.size());
+        assertEquals(2, collisionHandler.getBulletsWithoutTankOwner().size());
+        assertTrue(collisionHandler.getBulletsWithoutTankOwner().contains(collidingBullet));
+        assertTrue(collisionHandler.getBulletsWithoutTankOwner().contains(nonCollidingBullet));
+    }
+
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsPlayerTankNotHitByBulletOfHitEnemyTank() {
+        //setup - enemy tank 1's bullet is on the player tank, but enemy tank 1 is hit in the same tick
+        enemyTank1.addBullet(new Bullet(P_TANK_X, P_TANK_Y, 0, 0));
+        playerTank.addBullet(new Bullet(E1_TANK_X, E1_TANK_Y, 0, 0));
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBullets();
+        //check
+        assertEquals(playerTank, collisionHandler.getPlayerTank());
+        assertEquals(1, enemyTanks.size());
+        assertEquals(1, collisionHandler.getBulletsWithoutTankOwner().size());
+    }
+
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsClearsOwnerIdOfHitTankOnly() {
+        //setup
+        Bullet enemyTank2Bullet = new Bullet(NON_COLLIDING_B_X, NON_COLLIDING_B_Y + Wall.HEIGHT * 2, 0, 0);
+        enemyTank1.addBullet(new Bullet(NON_COLLIDING_B_X, NON_COLLIDING_B_Y + Wall.HEIGHT, 0, 0));
+        enemyTank2.addBullet(enemyTank2Bullet);
+        enemyTank2.setLocation(E1_TANK_X, E1_TANK_Y + Wall.HEIGHT * 3);
+        playerTank.addBullet(new Bullet(E1_TANK_X, E1_TANK_Y, 0, 0));
+        int enemyTank2Owner = collisionHandler.getOwnerOf(enemyTank2);
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBullets();
+        //check
+        assertEquals(List.of(enemyTank2), enemyTanks);
+        assertEquals(enemyTank2Owner, collisionHandler.getOwnerOf(enemyTank2));
+        assertEquals(BulletStore.NO_OWNER, collisionHandler.getOwnerOf(enemyTank1));
+        assertEquals(1, collisionHandler.countBulletsOf(enemyTank2));
+        assertEquals(enemyTank2Owner, collisionHandler.getBulletStore().getOwner(
+                collisionHandler.getBulletStore().rowOf(enemyTank2Bullet)));
+        assertEquals(1, collisionHandler.getBulletsWithoutTankOwner().size());
+        assertEquals(2, collisionHandler.countBulletsOf(playerTank));
+    }
+
+    @Test
+    void testUpdateBulletStoreAfterBulletListChangedInPlace() {
+        //setup
+        Bullet replacingBullet = new Bullet(P_TANK_X, P_TANK_Y + 100, 0, 0);
+        Bullet addedBullet = new Bullet(P_TANK_X, P_TANK_Y + 200, 0, 0);
+        Bullet firstBullet = playerTank.getBullets().get(0);
+        Bullet lastBullet = playerTank.getBullets().get(playerTank.getBullets().size() - 1);
+        BulletStore bulletStore = collisionHandler.updateBulletStore();
+        //execute - a bullet replaced, and another removed and added, keeping the size of the list
+        playerTank.getBullets().set(0, replacingBullet);
+        playerTank.getBullets().remove(lastBullet);
+        playerTank.getBullets().add(addedBullet);
+        collisionHandler.updateBulletStore();
+        //check
+        assertEquals(-1, bulletStore.rowOf(firstBullet));
+        assertEquals(-1, bulletStore.rowOf(lastBullet));
+        assertEquals(P_TANK_Y + 100, bulletStore.getY(bulletStore.rowOf(replacingBullet)));
+        assertEquals(P_TANK_Y + 200, bulletStore.getY(bulletStore.rowOf(addedBullet)));
+        assertEquals(playerTank.getBullets().size(), collisionHandler.countBulletsOf(playerTank));
+    }
+
+    @Test
+    void testAddBulletOfLeavesOtherBulletsInTheirRows() {
+        //setup
+        Bullet firedBullet = new Bullet(P_TANK_X, P_TANK_Y + 100, 0, 0);
+        BulletStore bulletStore = collisionHandler.updateBulletStore();
+        int collidingBulletRow = bulletStore.rowOf(collidingBullet);
+        int collidingBulletId = bulletStore.getId(collidingBulletRow);
+        int nonCollidingBulletRow = bulletStore.rowOf(nonCollidingBullet);
+        int nonCollidingBulletId = bulletStore.getId(nonCollidingBulletRow);
+        //execute
+        collisionHandler.addBulletOf(playerTank, firedBullet);
+        collisionHandler.updateBulletStore();
+        //check
+        assertEquals(collidingBulletRow, bulletStore.rowOf(collidingBullet));
+        assertEquals(collidingBulletId, bulletStore.getId(collidingBulletRow));
+        assertEquals(nonCollidingBulletRow, bulletStore.rowOf(nonCollidingBullet));
+        assertEquals(nonCollidingBulletId, bulletStore.getId(nonCollidingBulletRow));
+        assertEquals(2, bulletStore.rowOf(firedBullet));
+        assertEquals(3, collisionHandler.countBulletsOf(playerTank));
+    }
+
+    @Test
+    void testUpdateBulletStoreAfterBulletRemovedFromListKeepsIdsOfOthers() {
+        //setup
+        BulletStore bulletStore = collisionHandler.updateBulletStore();
+        int nonCollidingBulletId = bulletStore.getId(bulletStore.rowOf(nonCollidingBullet));
+        //execute
+        playerTank.getBullets().remove(collidingBullet);
+        collisionHandler.updateBulletStore();
+        //check
+        assertEquals(-1, bulletStore.rowOf(collidingBullet));
+        assertEquals(1, bulletStore.size());
+        assertEquals(bulletStore.rowOf(nonCollidingBullet), bulletStore.rowOfId(nonCollidingBulletId));
+    }
+
+    @Test
+    void testDealWithCollisionBetweenTanksAndBulletsWithDeferredRemovalKeepsRowsUntilRemoved() {
+        //setup
+        Bullet hittingBullet = new Bullet(E1_TANK_X, E1_TANK_Y, 0, 0);
+        playerTank.addBullet(hittingBullet);
+        BulletStore bulletStore = collisionHandler.updateBulletStore();
+        int hittingBulletId = bulletStore.getId(bulletStore.rowOf(hittingBullet));
+        int numberOfRows = bulletStore.size();
+        //execute
+        collisionHandler.dealWithCollisionBetweenTanksAndBulletsWithDeferredRemoval();
+        //check - the bullet is destroyed, but its row and list entry stay
+        assertEquals(1, enemyTanks.size());
+        assertFalse(bulletStore.isAlive(hittingBulletId));
+        assertEquals(-1, bulletStore.rowOf(hittingBullet));
+        assertEquals(numberOfRows, bulletStore.size());
+        assertTrue(playerTank.getBullets().contains(hittingBullet));
+        //execute
+        collisionHandler.removeDestroyedBullets();
+        //check
+        assertEquals(numberOfRows - 1, bulletStore.size());
+        assertFalse(playerTank.getBullets().contains(hittingBullet));
+    }
+
 }
@@ -0,0 +1,96 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.Wall;
+import model.tankgame.ExposedWallFaces;
+import model.tankgame.SweptCollision;
+import model.tankgame.TankGame;
+import model.tankgame.WallFace;
+import model.tankgame.WallOccupancyGrid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExposedWallFacesTest {
+    WallOccupancyGrid wallGrid;
+    Wall wall;
+    Wall wallNextToWall;
+    SweptCollision sweptCollision;
+
+    @BeforeEach
+    void runBeforeEach() {
+        wall = new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 2);
+        wallNextToWall = new Wall(Wall.WIDTH * 5, Wall.HEIGHT * 2);
+        wallGrid = new WallOccupancyGrid(List.of(wall, wallNextToWall));
+        sweptCollision = new SweptCollision();
+    }
+
+    @Test
+    void testConstructorLeavesOutFacesBetweenTouchingWalls() {
+        //execute
+        List<WallFace> faces = new ExposedWallFaces(wallGrid).getFaces();
+        //check - one face on each side of the two walls, none between them
+        assertEquals(4, faces.size());
+        for (WallFace face : faces) {
+            if (face.isVertical()) {
+                assertEquals(1, face.getNumberOfWalls());
+                assertEquals(face.getNormalX() < 0 ? wall.getLeftEdgeX() : wallNextToWall.getRightEdgeX(),
+                        face.getLeftEdgeX());
+            } else {
+                assertEquals(2, face.getNumberOfWalls());
+                assertEquals(wall.getLeftEdgeX(), face.getLeftEdgeX());
+                assertEquals(wallNextToWall.getRightEdgeX(), face.getRightEdgeX());
+            }
+        }
+    }
+
+    @Test
+    void testConstructorDefaultWalls() {
+        //setup
+        WallOccupancyGrid defaultGrid = new WallOccupancyGrid(
+                TankGame.getDefaultWallsGivenGameWidthAndHeight(TankGame.WIDTH, TankGame.HEIGHT));
+        //execute
+        List<WallFace> faces = new ExposedWallFaces(defaultGrid).getFaces();
+        //check - the outer and the inner side of each of the four borders
+        assertEquals(8, faces.size());
+        int numberOfWallsFacingInwards = 0;
+        for (WallFace face : faces) {
+            if (face.getLeftEdgeX() > 0 && face.getTopEdgeY() > 0 && face.getRightEdgeX() < TankGame.WIDTH - 1
+                    && face.getBottomEdgeY() < TankGame.HEIGHT - 1) {
+                numberOfWallsFacingInwards += face.getNumberOfWalls();
+            }
+        }
+        assertEquals(2 * (TankGame.WIDTH / Wall.WIDTH - 2) + 2 * (TankGame.HEIGHT / Wall.HEIGHT - 2),
+                numberOfWallsFacingInwards);
+    }
+
+    @Test
+    void testSweepAcrossSeamHitsFaceOnly() {
+        //setup - moving up and left, reaching the bottom face of both walls right at the seam between them
+        ExposedWallFaces exposedWallFaces = new ExposedWallFaces(wallGrid);
+        int posX = wallNextToWall.getLeftEdgeX() + 1;
+        int posY = wall.getBottomEdgeY() + 3;
+        //execute
+        exposedWallFaces.sweep(posX, posY, Bullet.WIDTH, Bullet.HEIGHT, -3, -3, sweptCollision);
+        //check
+        assertEquals(wall, sweptCollision.getWall());
+        assertEquals(0, sweptCollision.getNormalX());
+        assertEquals(1, sweptCollision.getNormalY());
+        assertEquals(wall.getBottomEdgeY() + 1, sweptCollision.getContactY());
+    }
+
+    @Test
+    void testSweepMovingAwayFromEveryFace() {
+        //setup
+        ExposedWallFaces exposedWallFaces = new ExposedWallFaces(wallGrid);
+        //execute
+        exposedWallFaces.sweep(wallNextToWall.getRightEdgeX() + 1, wall.getBottomEdgeY() + 1, Bullet.WIDTH,
+                Bullet.HEIGHT, 5, 5, sweptCollision);
+        //check
+        assertFalse(sweptCollision.hasHit());
+    }
+
+}
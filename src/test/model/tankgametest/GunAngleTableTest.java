@@ -0,0 +1,50 @@
+package model.tankgametest;
+
+import model.FixedPoint;
+import model.tankgame.GunAngleTable;
+import model.tankgame.TankGame;
+import model.tanks.Tank;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.StrictMath.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GunAngleTableTest {
+
+    @Test
+    void testTableHoldsSameValuesAsTrigonometryForEveryAngle() {
+        for (int angle = 0; angle < GunAngleTable.NUMBER_OF_ANGLES; angle++) {
+            //check
+            assertEquals(cos(toRadians(angle)), GunAngleTable.cos(angle));
+            assertEquals(sin(toRadians(angle)), GunAngleTable.sin(angle));
+            assertEquals((int) (Tank.WIDTH * 0.9 * cos(toRadians(angle))), GunAngleTable.getSpawnOffsetX(angle));
+            assertEquals((int) (Tank.HEIGHT * 0.9 * sin(toRadians(angle))), GunAngleTable.getSpawnOffsetY(angle));
+            assertEquals(FixedPoint.fromDouble(TankGame.BULLET_SPEED * cos(toRadians(angle))),
+                    GunAngleTable.getFixedBulletVelocityX(angle));
+            assertEquals(FixedPoint.fromDouble(TankGame.BULLET_SPEED * sin(toRadians(angle))),
+                    GunAngleTable.getFixedBulletVelocityY(angle));
+        }
+    }
+
+    @Test
+    void testBulletsFiredAtShallowAnglesKeepTheirSpeed() {
+        //check - a whole-pixel velocity would be (5, 0) at 5 degrees
+        assertEquals(FixedPoint.fromDouble(TankGame.BULLET_SPEED * sin(toRadians(5))),
+                GunAngleTable.getFixedBulletVelocityY(5));
+        assertEquals(0, FixedPoint.round(GunAngleTable.getFixedBulletVelocityY(5)));
+        assertTrue(GunAngleTable.getFixedBulletVelocityY(5) > 0);
+    }
+
+    @Test
+    void testAnglesOutsideOneTurnAreTakenModulo360() {
+        //check
+        assertEquals(GunAngleTable.cos(350), GunAngleTable.cos(-10));
+        assertEquals(GunAngleTable.sin(350), GunAngleTable.sin(-10));
+        assertEquals(GunAngleTable.getFixedBulletVelocityX(90), GunAngleTable.getFixedBulletVelocityX(450));
+        assertEquals(GunAngleTable.getFixedBulletVelocityY(90), GunAngleTable.getFixedBulletVelocityY(450));
+        assertEquals(GunAngleTable.getSpawnOffsetX(0), GunAngleTable.getSpawnOffsetX(-360));
+        assertEquals(GunAngleTable.getSpawnOffsetY(270), GunAngleTable.getSpawnOffsetY(-90));
+    }
+
+}
@@ -67,7 +67,7 @@ public class MovementHandlerTest {
         walls.add(wall1);
         walls.add(wall2);
 
-        collisionHandler = new CollisionHandler(playerTank, enemyTanks, walls, new ArrayList<>());
+        collisionHandler = new CollisionHandler(playerTank, enemyTanks, walls);
         movementHandler = new MovementHandler(collisionHandler);
 
 //        gameWithOnlyDefaultWallsAndPlayerTank = new TankGame("game2", playerTank, new ArrayList<>(),
@@ -329,6 +329,82 @@ public class MovementHandlerTest {
                 movementHandler.getPlayerTank().getGunAngle());
     }
 
+    @Test
+    void testMovePlayerTankBlockedByEnemyTank() {
+        //setup - the player tank can move right once before colliding with the enemy tank
+        enemyTank1.setLocation(P_TANK_X + Tank.WIDTH + 1 + Tank.SPEED, P_TANK_Y);
+        //execute
+        movementHandler.movePlayerTank(TankGame.RIGHT);
+        movementHandler.movePlayerTank(TankGame.RIGHT);
+        movementHandler.movePlayerTank(TankGame.RIGHT);
+        //check
+        assertEquals(P_TANK_X + Tank.SPEED, playerTank.getX());
+        assertEquals(P_TANK_Y, playerTank.getY());
+        assertFalse(playerTank.isCollidingWith(enemyTank1));
+    }
+
+    @Test
+    void testMovePlayerTankOutOfAnEnemyTankItIsOn() {
+        //setup
+        enemyTank1.setLocation(P_TANK_X, P_TANK_Y);
+        //execute
+        movementHandler.movePlayerTank(TankGame.LEFT);
+        movementHandler.movePlayerTank(TankGame.UP);
+        //check
+        assertEquals(P_TANK_X - Tank.SPEED, playerTank.getX());
+        assertEquals(P_TANK_Y - Tank.SPEED, playerTank.getY());
+    }
+
+    @Test
+    void testMovePlayerTankWithInputBitmaskOfSeveralCommands() {
+        //execute
+        movementHandler.movePlayerTank(TankGame.INPUT_RIGHT | TankGame.INPUT_DOWN | TankGame.INPUT_CLOCKWISE);
+        //check
+        assertEquals(P_TANK_X + Tank.SPEED, playerTank.getX());
+        assertEquals(P_TANK_Y + Tank.SPEED, playerTank.getY());
+        assertEquals((P_TANK_GA + Tank.ROTATE_SPEED) % 360, playerTank.getGunAngle());
+    }
+
+    @Test
+    void testMovePlayerTankWithOppositeCommandsInInputBitmask() {
+        //execute
+        movementHandler.movePlayerTank(TankGame.INPUT_RIGHT | TankGame.INPUT_LEFT | TankGame.INPUT_UP
+                | TankGame.INPUT_DOWN | TankGame.INPUT_CLOCKWISE | TankGame.INPUT_ANTI_CLOCKWISE);
+        //check
+        assertEquals(P_TANK_X, playerTank.getX());
+        assertEquals(P_TANK_Y, playerTank.getY());
+        assertEquals(P_TANK_GA, playerTank.getGunAngle());
+    }
+
+    @Test
+    void testMovePlayerTankDiagonallySlidesAlongBlockingEnemyTank() {
+        //setup - the enemy tank blocks the player tank on the right only
+        enemyTank1.setLocation(P_TANK_X + Tank.WIDTH + 1, P_TANK_Y);
+        //execute
+        movementHandler.movePlayerTank(TankGame.INPUT_RIGHT | TankGame.INPUT_DOWN);
+        //check
+        assertEquals(P_TANK_X, playerTank.getX());
+        assertEquals(P_TANK_Y + Tank.SPEED, playerTank.getY());
+        assertFalse(playerTank.isCollidingWith(enemyTank1));
+    }
+
+    @Test
+    void testMovePlayerTankWithStringCommandIsSameAsWithItsInputBit() {
+        //setup
+        PlayerTank otherTank = new PlayerTank(P_TANK_X, P_TANK_Y, P_TANK_GA);
+        MovementHandler otherHandler = new MovementHandler(new CollisionHandler(otherTank, new ArrayList<>(),
+                walls));
+        //execute and check
+        for (String command : List.of(TankGame.UP, TankGame.DOWN, TankGame.RIGHT, TankGame.LEFT,
+                TankGame.CLOCKWISE, TankGame.ANTI_CLOCKWISE, TankGame.FIRE)) {
+            movementHandler.movePlayerTank(command);
+            otherHandler.movePlayerTank(TankGame.inputOf(command));
+            assertEquals(otherTank.getX(), playerTank.getX());
+            assertEquals(otherTank.getY(), playerTank.getY());
+            assertEquals(otherTank.getGunAngle(), playerTank.getGunAngle());
+        }
+    }
+
     //THIS TEST STARTS TO BE USEFUL AFTER PHASE 1, WHEN TANKS START TO MOVE
     /*
     @Test
@@ -0,0 +1,92 @@
+package model.tankgametest;
+
+import model.tankgame.OverlapPairSet;
+import model.tankgame.OverlapPairs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OverlapPairSetTest {
+    private OverlapPairSet overlapPairSet;
+
+    @BeforeEach
+    void runBeforeEach() {
+        overlapPairSet = new OverlapPairSet();
+    }
+
+    @Test
+    void testAddInEitherOrder() {
+        //execute
+        overlapPairSet.add(3, 1);
+        overlapPairSet.add(1, 3);
+        //check
+        assertEquals(1, overlapPairSet.size());
+        assertTrue(overlapPairSet.contains(1, 3));
+        assertTrue(overlapPairSet.contains(3, 1));
+        assertFalse(overlapPairSet.contains(1, 2));
+    }
+
+    @Test
+    void testRemove() {
+        //setup
+        overlapPairSet.add(1, 3);
+        overlapPairSet.add(0, 2);
+        //execute
+        overlapPairSet.remove(3, 1);
+        overlapPairSet.remove(4, 5);
+        //check
+        assertEquals(1, overlapPairSet.size());
+        assertFalse(overlapPairSet.contains(1, 3));
+        assertTrue(overlapPairSet.contains(0, 2));
+    }
+
+    @Test
+    void testRemovePairsWithIndexFromAndClear() {
+        //setup
+        overlapPairSet.add(0, 1);
+        overlapPairSet.add(1, 2);
+        overlapPairSet.add(2, 3);
+        //execute
+        overlapPairSet.removePairsWithIndexFrom(2);
+        //check
+        assertEquals(1, overlapPairSet.size());
+        assertTrue(overlapPairSet.contains(0, 1));
+        //execute
+        overlapPairSet.clear();
+        //check
+        assertEquals(0, overlapPairSet.size());
+        assertFalse(overlapPairSet.contains(0, 1));
+    }
+
+    @Test
+    void testManyAddsAndRemovesMatchHashSet() {
+        //setup
+        Random random = new Random(5);
+        Set<Long> expected = new HashSet<>();
+        OverlapPairs pairs = new OverlapPairs();
+        //execute & check
+        for (int i = 0; i < 20000; i++) {
+            int first = random.nextInt(40);
+            int second = first + 1 + random.nextInt(40);
+            if (random.nextBoolean()) {
+                overlapPairSet.add(first, second);
+                expected.add(((long) first << 32) | second);
+            } else {
+                overlapPairSet.remove(second, first);
+                expected.remove(((long) first << 32) | second);
+            }
+            assertEquals(expected.contains(((long) first << 32) | second), overlapPairSet.contains(first, second));
+        }
+        overlapPairSet.copyTo(pairs);
+        assertEquals(expected.size(), pairs.size());
+        for (int n = 0; n < pairs.size(); n++) {
+            assertTrue(expected.contains(((long) pairs.getFirst(n) << 32) | pairs.getSecond(n)));
+        }
+    }
+
+}
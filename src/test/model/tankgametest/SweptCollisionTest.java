@@ -0,0 +1,222 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.Wall;
+import model.tankgame.SweptCollision;
+import model.tankgame.WallFace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SweptCollisionTest {
+    SweptCollision sweptCollision;
+    Wall wall;
+    Wall farWall;
+    Bullet bullet;
+
+    @BeforeEach
+    void runBeforeEach() {
+        sweptCollision = new SweptCollision();
+        wall = new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 2);
+        farWall = new Wall(Wall.WIDTH * 6, Wall.HEIGHT * 2);
+        bullet = new Bullet(0, 0, 0, 0);
+    }
+
+    @Test
+    void testConstructor() {
+        //check
+        assertFalse(sweptCollision.hasHit());
+        assertNull(sweptCollision.getWall());
+    }
+
+    @Test
+    void testSweepAgainstWallHitsLeftFace() {
+        //setup - 10 pixels away from touching the left face, moving right by 20
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 10, wall.getY() + 5);
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(20, 3, bullet, wall));
+        assertEquals(wall, sweptCollision.getWall());
+        assertEquals(10, sweptCollision.getTimeNumerator());
+        assertEquals(20, sweptCollision.getTimeDenominator());
+        assertEquals(-1, sweptCollision.getNormalX());
+        assertEquals(0, sweptCollision.getNormalY());
+    }
+
+    @Test
+    void testSweepAgainstWallHitsRightFace() {
+        //setup
+        bullet.setLocation(wall.getRightEdgeX() + 4, wall.getY());
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(-4, 0, bullet, wall));
+        assertEquals(4, sweptCollision.getTimeNumerator());
+        assertEquals(4, sweptCollision.getTimeDenominator());
+        assertEquals(1, sweptCollision.getNormalX());
+        assertEquals(0, sweptCollision.getNormalY());
+    }
+
+    @Test
+    void testSweepAgainstWallHitsTopAndBottomFaces() {
+        //setup
+        bullet.setLocation(wall.getX(), wall.getTopEdgeY() - Bullet.HEIGHT - 2);
+        //execute & check - top face
+        assertTrue(sweptCollision.sweepAgainstWall(1, 5, bullet, wall));
+        assertEquals(0, sweptCollision.getNormalX());
+        assertEquals(-1, sweptCollision.getNormalY());
+        //setup
+        sweptCollision.clear();
+        bullet.setLocation(wall.getX(), wall.getBottomEdgeY() + 2);
+        //execute & check - bottom face
+        assertTrue(sweptCollision.sweepAgainstWall(1, -5, bullet, wall));
+        assertEquals(0, sweptCollision.getNormalX());
+        assertEquals(1, sweptCollision.getNormalY());
+    }
+
+    @Test
+    void testSweepAgainstWallHitsCornerExactly() {
+        //setup - reaches the top left corner at the same time on both axes
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 3, wall.getTopEdgeY() - Bullet.HEIGHT - 3);
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(5, 5, bullet, wall));
+        assertEquals(-1, sweptCollision.getNormalX());
+        assertEquals(-1, sweptCollision.getNormalY());
+    }
+
+    @Test
+    void testSweepAgainstWallMissesWhenStoppingShort() {
+        //setup - would touch the wall after 6 pixels, but only moves 5
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 6, wall.getY());
+        //execute & check
+        assertFalse(sweptCollision.sweepAgainstWall(5, 0, bullet, wall));
+        assertFalse(sweptCollision.hasHit());
+    }
+
+    @Test
+    void testSweepAgainstWallMissesWhenPassingByTheCorner() {
+        //setup - leaves the rows of the wall below its bottom left corner before reaching its left face
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 3, wall.getBottomEdgeY() - 1);
+        //execute & check
+        assertFalse(sweptCollision.sweepAgainstWall(4, 4, bullet, wall));
+        assertFalse(sweptCollision.hasHit());
+    }
+
+    @Test
+    void testSweepAgainstWallMissesWhenMovingAway() {
+        //setup
+        bullet.setLocation(wall.getRightEdgeX() + 1, wall.getY());
+        //execute & check
+        assertFalse(sweptCollision.sweepAgainstWall(5, 0, bullet, wall));
+        assertFalse(sweptCollision.sweepAgainstWall(0, 0, bullet, wall));
+    }
+
+    @Test
+    void testSweepAgainstWallFastBulletDoesNotTunnel() {
+        //setup - the destination lies entirely beyond the wall
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 1, wall.getY());
+        int velX = Wall.WIDTH * 2;
+        //execute & check
+        assertFalse(wall.isCollidingWithWall(velX, 0, bullet));
+        assertTrue(sweptCollision.sweepAgainstWall(velX, 0, bullet, wall));
+        assertEquals(1, sweptCollision.getTimeNumerator());
+        assertEquals(velX, sweptCollision.getTimeDenominator());
+        assertEquals(-1, sweptCollision.getNormalX());
+    }
+
+    @Test
+    void testSweepAgainstWallAlreadyOverlapping() {
+        //setup
+        bullet.setLocation(wall.getX() + 1, wall.getY() + 1);
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(5, 5, bullet, wall));
+        assertEquals(0, sweptCollision.getTimeNumerator());
+        assertEquals(0, sweptCollision.getNormalX());
+        assertEquals(0, sweptCollision.getNormalY());
+    }
+
+    @Test
+    void testSweepAgainstWallKeepsEarlierHit() {
+        //setup - both walls on the way, the nearer one swept second
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 1, wall.getY());
+        int velX = Wall.WIDTH * 3;
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(velX, 0, bullet, farWall));
+        assertTrue(sweptCollision.sweepAgainstWall(velX, 0, bullet, wall));
+        assertFalse(sweptCollision.sweepAgainstWall(velX, 0, bullet, farWall));
+        assertEquals(wall, sweptCollision.getWall());
+    }
+
+    @Test
+    void testSweepAgainstWallFaceHitReplacesCornerHitAtSameTime() {
+        //setup - reaches the top right corner of wall while already above the wall to its right
+        Wall wallToTheRight = new Wall(wall.getX() + Wall.WIDTH, wall.getY());
+        bullet.setLocation(wallToTheRight.getX() + 2, wall.getTopEdgeY() - Bullet.HEIGHT - 3);
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(-5, 5, bullet, wall));
+        assertEquals(1, sweptCollision.getNormalX());
+        assertTrue(sweptCollision.sweepAgainstWall(-5, 5, bullet, wallToTheRight));
+        assertEquals(wall, sweptCollision.getWall());
+        assertEquals(0, sweptCollision.getNormalX());
+        assertEquals(-1, sweptCollision.getNormalY());
+        assertEquals(wall.getTopEdgeY() - Bullet.HEIGHT - 1, sweptCollision.getContactY());
+        //a corner hit at the same time does not change the face held
+        assertFalse(sweptCollision.sweepAgainstWall(-5, 5, bullet, wall));
+        assertEquals(0, sweptCollision.getNormalX());
+    }
+
+    @Test
+    void testSweepAgainstWallFaceHitsOnBothAxesAtSameTimeAddUp() {
+        //setup - the wall below-left and the wall to the right form an inside corner
+        Wall wallBelow = new Wall(wall.getX() - Wall.WIDTH, wall.getY() + Wall.HEIGHT);
+        bullet.setLocation(wall.getLeftEdgeX() - Bullet.WIDTH - 3, wallBelow.getTopEdgeY() - Bullet.HEIGHT - 3);
+        //execute & check
+        assertTrue(sweptCollision.sweepAgainstWall(5, 5, bullet, wall));
+        assertTrue(sweptCollision.sweepAgainstWall(5, 5, bullet, wallBelow));
+        assertEquals(-1, sweptCollision.getNormalX());
+        assertEquals(-1, sweptCollision.getNormalY());
+        assertEquals(wall.getLeftEdgeX() - Bullet.WIDTH - 1, sweptCollision.getContactX());
+        assertEquals(wallBelow.getTopEdgeY() - Bullet.HEIGHT - 1, sweptCollision.getContactY());
+    }
+
+    @Test
+    void testSweepAgainstWallFaceHoldsWallTouched() {
+        //setup - the bottom face of three walls in a row, from wall to farWall
+        Wall middleWall = new Wall(Wall.WIDTH * 5, Wall.HEIGHT * 2);
+        WallFace wallFace = new WallFace(0, 1, wall.getBottomEdgeY(), wall.getLeftEdgeX(), farWall.getRightEdgeX(),
+                new Wall[]{wall, middleWall, farWall});
+        bullet.setLocation(middleWall.getX() + 10, middleWall.getBottomEdgeY() + 3);
+        //execute & check - from below the middle wall
+        assertTrue(sweptCollision.sweepAgainstWallFace(bullet.getX(), bullet.getY(), Bullet.WIDTH, Bullet.HEIGHT,
+                2, -5, wallFace));
+        assertEquals(middleWall, sweptCollision.getWall());
+        assertEquals(0, sweptCollision.getNormalX());
+        assertEquals(1, sweptCollision.getNormalY());
+        assertEquals(wall.getBottomEdgeY() + 1, sweptCollision.getContactY());
+        assertEquals(3, sweptCollision.getTimeNumerator());
+        assertEquals(5, sweptCollision.getTimeDenominator());
+    }
+
+    @Test
+    void testSweepAgainstWallFaceFromBehindOrPastItsEnds() {
+        //setup - the left face of wall
+        WallFace wallFace = new WallFace(-1, 0, wall.getLeftEdgeX(), wall.getTopEdgeY(), wall.getBottomEdgeY(),
+                new Wall[]{wall});
+        //execute & check - moving left from inside the wall, towards the back of the face
+        assertFalse(sweptCollision.sweepAgainstWallFace(wall.getX() + 10, wall.getY() + 10, Bullet.WIDTH,
+                Bullet.HEIGHT, -20, 0, wallFace));
+        //execute & check - reaching the line of the face above its top end
+        assertFalse(sweptCollision.sweepAgainstWallFace(wall.getLeftEdgeX() - Bullet.WIDTH - 2,
+                wall.getTopEdgeY() - Bullet.HEIGHT - 4, Bullet.WIDTH, Bullet.HEIGHT, 4, 4, wallFace));
+        //execute & check - moving down along the line, already across it
+        assertFalse(sweptCollision.sweepAgainstWallFace(wall.getLeftEdgeX() - 2, wall.getTopEdgeY() - Bullet.HEIGHT - 4,
+                Bullet.WIDTH, Bullet.HEIGHT, 0, 10, wallFace));
+        assertFalse(sweptCollision.hasHit());
+        //execute & check - reaching the line of the face right as it reaches its top end
+        assertTrue(sweptCollision.sweepAgainstWallFace(wall.getLeftEdgeX() - Bullet.WIDTH - 4,
+                wall.getTopEdgeY() - Bullet.HEIGHT - 4, Bullet.WIDTH, Bullet.HEIGHT, 5, 5, wallFace));
+        assertEquals(wall, sweptCollision.getWall());
+        assertEquals(-1, sweptCollision.getNormalX());
+        assertEquals(0, sweptCollision.getNormalY());
+        assertEquals(wall.getLeftEdgeX() - Bullet.WIDTH - 1, sweptCollision.getContactX());
+    }
+
+}
@@ -0,0 +1,79 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.FixedPoint;
+import model.Wall;
+import model.tankgame.TankGame;
+import model.tankgame.TankGameTemplate;
+import model.tanks.EnemyTank;
+import model.tanks.PlayerTank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TankGameTemplateTest {
+    TankGame game;
+    PlayerTank playerTank;
+    EnemyTank enemyTank;
+    Bullet bullet;
+
+    @BeforeEach
+    void runBeforeEach() {
+        playerTank = new PlayerTank(TankGame.WIDTH / 2, TankGame.HEIGHT / 2, 30);
+        enemyTank = new EnemyTank(Wall.WIDTH * 3, Wall.HEIGHT * 3, 180);
+        bullet = new Bullet(Wall.WIDTH * 5, Wall.HEIGHT * 7, 0, 0);
+        bullet.setFixedPointVelocity(FixedPoint.ONE / 3, -FixedPoint.ONE);
+        bullet.setFraction(FixedPoint.HALF / 2, 0);
+        bullet.increaseBounceCount();
+        enemyTank.addBullet(bullet);
+        List<EnemyTank> enemyTanks = new ArrayList<>();
+        enemyTanks.add(enemyTank);
+        List<Wall> walls = new ArrayList<>();
+        walls.add(new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 4));
+        game = new TankGame("template", playerTank, enemyTanks, walls);
+    }
+
+    @Test
+    void testTemplateRecordsGame() {
+        //execute
+        TankGameTemplate template = new TankGameTemplate(game);
+        playerTank.setLocation(0, 0);
+        game.addWall(new Wall(Wall.WIDTH * 6, Wall.HEIGHT * 6));
+        //check - the template does not follow the game
+        assertEquals("template", template.getName());
+        assertEquals(1, template.getNumberOfEnemyTanks());
+        assertEquals(TankGame.WIDTH / 2, template.getTankX(0));
+        assertEquals(TankGame.HEIGHT / 2, template.getTankY(0));
+        assertEquals(30, template.getTankGunAngle(0));
+        assertEquals(Wall.WIDTH * 3, template.getTankX(1));
+        assertEquals(180, template.getTankGunAngle(1));
+        assertEquals(0, template.getNumberOfBullets(0));
+        assertEquals(1, template.getNumberOfBullets(1));
+        assertEquals(FixedPoint.ONE / 3, template.getBulletField(1, 0, 2));
+        assertEquals(FixedPoint.HALF / 2, template.getBulletField(1, 0, 4));
+        assertEquals(1, template.getBulletField(1, 0, 6));
+        assertEquals(game.getWalls().size() - 1, template.getWalls().size());
+        assertThrows(UnsupportedOperationException.class, () -> template.getWalls().clear());
+    }
+
+    @Test
+    void testCreateGame() {
+        //setup
+        TankGameTemplate template = new TankGameTemplate(game);
+        //execute
+        TankGame createdGame = template.createGame();
+        //check
+        assertEquals(game.toJson().toString(), createdGame.toJson().toString());
+        assertEquals(game.getWalls().size(), createdGame.getWallGrid().getNumberOfWalls());
+        Bullet createdBullet = createdGame.getEnemyTanks().get(0).getBullets().get(0);
+        assertNotSame(bullet, createdBullet);
+        assertEquals(FixedPoint.ONE / 3, createdBullet.getFixedVelX());
+        assertEquals(FixedPoint.HALF / 2, createdBullet.getFractionX());
+        assertEquals(1, createdBullet.getBounceCount());
+    }
+
+}
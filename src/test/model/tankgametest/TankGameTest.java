@@ -1,8 +1,13 @@
 package model.tankgametest;
 
 import model.Bullet;
+import model.BulletStore;
+import model.FixedPoint;
+import model.StateBackend;
 import model.Wall;
 import model.tankgame.TankGame;
+import model.tankgame.TankGameTemplate;
+import model.tankgame.WallOccupancyGrid;
 import model.tanks.EnemyTank;
 import model.tanks.PlayerTank;
 import model.tanks.Tank;
@@ -11,6 +16,8 @@ import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -194,6 +201,31 @@ public class TankGameTest {
         assertEquals(1, collidingBullet.getBounceCount());
     }
 
+    @Test
+    void testHandlePlayerTankWithInputBitmaskMovesAndFires() {
+        //setup
+        int numberOfBullets = playerTank.getBullets().size();
+        //execute
+        gameWithAllElements.handlePlayerTank(TankGame.INPUT_LEFT | TankGame.INPUT_FIRE);
+        //check
+        assertEquals(P_TANK_X - Tank.SPEED, playerTank.getX());
+        assertEquals(P_TANK_Y, playerTank.getY());
+        assertEquals(numberOfBullets + 1, playerTank.getBullets().size());
+    }
+
+    @Test
+    void testInputOf() {
+        //check
+        assertEquals(TankGame.INPUT_UP, TankGame.inputOf(TankGame.UP));
+        assertEquals(TankGame.INPUT_DOWN, TankGame.inputOf(TankGame.DOWN));
+        assertEquals(TankGame.INPUT_RIGHT, TankGame.inputOf(TankGame.RIGHT));
+        assertEquals(TankGame.INPUT_LEFT, TankGame.inputOf(TankGame.LEFT));
+        assertEquals(TankGame.INPUT_CLOCKWISE, TankGame.inputOf(TankGame.CLOCKWISE));
+        assertEquals(TankGame.INPUT_ANTI_CLOCKWISE, TankGame.inputOf(TankGame.ANTI_CLOCKWISE));
+        assertEquals(TankGame.INPUT_FIRE, TankGame.inputOf(TankGame.FIRE));
+        assertEquals(TankGame.NO_INPUT, TankGame.inputOf("x"));
+    }
+
     @Test
     void testFireBulletFireOneBullet() {
         //setup
@@ -203,8 +235,10 @@ public class TankGameTest {
                         + (int) (Tank.WIDTH * 0.9 * cos(toRadians(playerTank.getGunAngle()))),
                 playerTank.getY() + Tank.HEIGHT / 2
                         + (int) (Tank.WIDTH * 0.9 * sin(toRadians(playerTank.getGunAngle()))),
-                (int) (TankGame.BULLET_SPEED * cos(Math.toRadians(playerTank.getGunAngle()))),
-                (int) (TankGame.BULLET_SPEED * sin(Math.toRadians(playerTank.getGunAngle()))));
+                0, 0);
+        firedBullet.setFixedPointVelocity(
+                FixedPoint.fromDouble(TankGame.BULLET_SPEED * cos(toRadians(playerTank.getGunAngle()))),
+                FixedPoint.fromDouble(TankGame.BULLET_SPEED * sin(toRadians(playerTank.getGunAngle()))));
         //execute
         boolean addedBulletSuccessfully = gameWithAllElements.fireBullet(playerTank);
         //check
@@ -225,16 +259,20 @@ public class TankGameTest {
                         + (int) (Tank.WIDTH * 0.9 * cos(toRadians(playerTank.getGunAngle()))),
                 playerTank.getY() + Tank.HEIGHT / 2
                         + (int) (Tank.WIDTH * 0.9 * sin(toRadians(playerTank.getGunAngle()))),
-                (int) (TankGame.BULLET_SPEED * cos(Math.toRadians(playerTank.getGunAngle()))),
-                (int) (TankGame.BULLET_SPEED * sin(Math.toRadians(playerTank.getGunAngle()))));
+                0, 0);
+        firedBullet1.setFixedPointVelocity(
+                FixedPoint.fromDouble(TankGame.BULLET_SPEED * cos(toRadians(playerTank.getGunAngle()))),
+                FixedPoint.fromDouble(TankGame.BULLET_SPEED * sin(toRadians(playerTank.getGunAngle()))));
         int newAngle = 330;
         Bullet firedBullet2 = new Bullet(
                 playerTank.getX() + Tank.WIDTH / 2
                         + (int) (Tank.WIDTH * 0.9 * cos(toRadians(newAngle))),
                 playerTank.getY() + Tank.HEIGHT / 2
                         + (int) (Tank.WIDTH * 0.9 * sin(toRadians(newAngle))),
-                (int) (TankGame.BULLET_SPEED * cos(Math.toRadians(newAngle))),
-                (int) (TankGame.BULLET_SPEED * sin(Math.toRadians(newAngle))));
+                0, 0);
+        firedBullet2.setFixedPointVelocity(
+                FixedPoint.fromDouble(TankGame.BULLET_SPEED * cos(toRadians(newAngle))),
+                FixedPoint.fromDouble(TankGame.BULLET_SPEED * sin(toRadians(newAngle))));
         //execute
         boolean addedBullet1Successfully = gameWithAllElements.fireBullet(playerTank);
         playerTank.setGunAngle(newAngle); //330
@@ -422,6 +460,23 @@ public class TankGameTest {
         assertEquals(originalWallNumber + 1, gameWithOnlyDefaultWallsAndPlayerTank.getWalls().size());
     }
 
+    @Test
+    void testAddWallKeepsOneWallPerCellOfLargeMap() {
+        //setup
+        final int cells = 200;
+        //execute - every cell twice, the default walls included
+        for (int time = 0; time < 2; time++) {
+            for (int row = 0; row < cells; row++) {
+                for (int column = 0; column < cells; column++) {
+                    gameWithOnlyDefaultWallsAndPlayerTank.addWall(new Wall(column * Wall.WIDTH, row * Wall.HEIGHT));
+                }
+            }
+        }
+        //check
+        assertEquals(cells * cells, gameWithOnlyDefaultWallsAndPlayerTank.getWalls().size());
+        assertEquals(cells * cells, gameWithOnlyDefaultWallsAndPlayerTank.getWallGrid().getNumberOfWalls());
+    }
+
     @Test
     void testAddBulletOneTime() {
         //setup - creates a tank game with a player tank without any bullet
@@ -448,6 +503,260 @@ public class TankGameTest {
         assertTrue(gameWithAllElements.getPlayerTank().getBullets().contains(nonCollidingBullet));
     }
 
+    @Test
+    void testSetStateBackendKeepsBulletsAndLastsThroughSetUp() {
+        //setup
+        gameWithAllElements.fireBullet(playerTank);
+        Bullet firedBullet = playerTank.getBullets().get(playerTank.getBullets().size() - 1);
+        int firedBulletX = firedBullet.getX();
+        //execute
+        gameWithAllElements.setStateBackend(StateBackend.OFF_HEAP);
+        gameWithAllElements.update();
+        //check
+        assertEquals(StateBackend.OFF_HEAP, gameWithAllElements.getBulletStore().getStateBackend());
+        assertEquals(firedBulletX + firedBullet.getVelX(), firedBullet.getX());
+        //execute
+        gameWithAllElements.setUp(playerTank, enemyTanks, walls);
+        //check
+        assertEquals(StateBackend.OFF_HEAP, gameWithAllElements.getStateBackend());
+        assertEquals(StateBackend.OFF_HEAP, gameWithAllElements.getBulletStore().getStateBackend());
+    }
+
+    @Test
+    void testResetToRestoresTemplateInPlace() {
+        //setup
+        TankGameTemplate template = new TankGameTemplate(gameWithAllElements);
+        String initialState = gameWithAllElements.toJson().toString();
+        gameWithAllElements.fireBullet(playerTank);
+        gameWithAllElements.getEnemyTanks().remove(enemyTank1);
+        gameWithAllElements.addWall(new Wall(Wall.WIDTH * 6, Wall.HEIGHT * 6));
+        playerTank.setLocation(P_TANK_X + 50, P_TANK_Y);
+        playerTank.setGunAngle(90);
+        enemyTank2.setGunAngle(0);
+        for (int tick = 0; tick < 5; tick++) {
+            gameWithAllElements.update();
+        }
+        BulletStore bulletStore = gameWithAllElements.getBulletStore();
+        WallOccupancyGrid wallGrid = gameWithAllElements.getWallGrid();
+        //execute
+        gameWithAllElements.resetTo(template);
+        //check - the same objects hold the state of the template again
+        assertEquals(initialState, gameWithAllElements.toJson().toString());
+        assertFalse(gameWithAllElements.isGameOver());
+        assertSame(playerTank, gameWithAllElements.getPlayerTank());
+        assertEquals(List.of(enemyTank1, enemyTank2), gameWithAllElements.getEnemyTanks());
+        assertSame(bulletStore, gameWithAllElements.getBulletStore());
+        assertSame(wallGrid, gameWithAllElements.getWallGrid());
+        assertEquals(gameWithAllElements.getWalls().size(), wallGrid.getNumberOfWalls());
+        assertNull(wallGrid.getWallAt(6, 6));
+        //execute - the reset game plays on with its bullets
+        gameWithAllElements.update();
+        //check
+        assertEquals(2, bulletStore.size());
+        assertNotEquals(-1, bulletStore.rowOf(playerTank.getBullets().get(0)));
+        assertNotEquals(-1, bulletStore.rowOf(playerTank.getBullets().get(1)));
+        assertEquals(-1, bulletStore.rowOf(collidingBullet));
+    }
+
+    @Test
+    void testResetToReusesBulletObjects() {
+        //setup
+        TankGameTemplate template = new TankGameTemplate(gameWithAllElements);
+        gameWithAllElements.resetTo(template);
+        List<Bullet> bulletsBeforeReset = new ArrayList<>(playerTank.getBullets());
+        playerTank.getBullets().get(0).setLocation(0, 0);
+        //execute
+        gameWithAllElements.resetTo(template);
+        //check - the same Bullet objects hold the bullets of the template again, each on a row of its own
+        BulletStore bulletStore = gameWithAllElements.getBulletStore();
+        assertEquals(bulletsBeforeReset.size(), playerTank.getBullets().size());
+        assertTrue(bulletsBeforeReset.containsAll(playerTank.getBullets()));
+        assertNotSame(playerTank.getBullets().get(0), playerTank.getBullets().get(1));
+        for (int i = 0; i < template.getNumberOfBullets(0); i++) {
+            Bullet bullet = playerTank.getBullets().get(i);
+            assertSame(bullet, bulletStore.getBullet(bulletStore.rowOf(bullet)));
+            assertEquals(template.getBulletField(0, i, 0), bullet.getX());
+            assertEquals(template.getBulletField(0, i, 1), bullet.getY());
+        }
+        assertEquals(template.getNumberOfBullets(0), bulletStore.size());
+    }
+
+    @Test
+    void testHandlePlayerTankAfterPlayerTankHit() {
+        //setup - an enemy bullet right on the player tank
+        enemyTank1.addBullet(new Bullet(P_TANK_X, P_TANK_Y, 0, 0));
+        gameWithAllElements.update();
+        assertTrue(gameWithAllElements.isGameOver());
+        //execute
+        gameWithAllElements.handlePlayerTank(TankGame.INPUT_RIGHT | TankGame.INPUT_CLOCKWISE);
+        gameWithAllElements.handlePlayerTank(TankGame.RIGHT);
+        //check - the hit tank stays where it was hit
+        assertEquals(P_TANK_X, playerTank.getX());
+        assertEquals(P_TANK_Y, playerTank.getY());
+        assertEquals(P_TANK_GA, playerTank.getGunAngle());
+    }
+
+    @Test
+    void testResetToBringsBackPlayerTankAfterGameLost() {
+        //setup - an enemy bullet right on the player tank
+        TankGameTemplate template = new TankGameTemplate(gameWithAllElements);
+        enemyTank1.addBullet(new Bullet(P_TANK_X, P_TANK_Y, 0, 0));
+        gameWithAllElements.update();
+        assertTrue(gameWithAllElements.isGameOver());
+        assertFalse(gameWithAllElements.isWon());
+        //execute
+        gameWithAllElements.resetTo(template);
+        gameWithAllElements.handlePlayerTank(TankGame.INPUT_RIGHT);
+        gameWithAllElements.update();
+        //check
+        assertFalse(gameWithAllElements.isGameOver());
+        assertEquals(P_TANK_X + Tank.SPEED, playerTank.getX());
+        assertTrue(enemyTank1.getBullets().isEmpty());
+        assertEquals(2, playerTank.getBullets().size());
+    }
+
+    @Test
+    void testSnapshotAndRestorePlaysTheSameTicksAgain() {
+        //setup - bouncing bullets, and a bullet bouncing off the bottom wall left without tank owner by the enemy
+        // tank hit
+        TankGame game = createGameWithTanksAlongTopWall();
+        EnemyTank hitEnemyTank = game.getEnemyTanks().get(3);
+        addBouncingBullets(game.getPlayerTank(), game.getEnemyTanks());
+        hitEnemyTank.addBullet(new Bullet(Wall.WIDTH * 13, TankGame.HEIGHT - Wall.HEIGHT - Bullet.HEIGHT - 2, 0,
+                TankGame.BULLET_SPEED));
+        game.getPlayerTank().addBullet(new Bullet(hitEnemyTank.getX(), hitEnemyTank.getY(), 0, 0));
+        playTicks(game, 10);
+        assertFalse(game.getEnemyTanks().contains(hitEnemyTank));
+        assertTrue(game.getBulletsWithoutTankOwner().stream().anyMatch(b -> b.getBounceCount() > 0));
+        int snapshotSize = game.getSnapshotSize();
+        ByteBuffer buffer = ByteBuffer.allocate(snapshotSize + Integer.BYTES);
+        //execute
+        game.snapshot(buffer);
+        assertEquals(snapshotSize, buffer.position());
+        String snapshotState = describeState(game);
+        List<String> ticksAfterSnapshot = playTicks(game, 120);
+        buffer.flip();
+        game.restore(buffer);
+        //check
+        assertFalse(buffer.hasRemaining());
+        assertEquals(snapshotState, describeState(game));
+        assertEquals(ticksAfterSnapshot, playTicks(game, 120));
+    }
+
+    @Test
+    void testRestoreIntoAnotherGameWithTheSameWalls() {
+        //setup - a game lost, with the bullet that hit the player tank gone, and the bullet list of the player
+        // tank, no longer part of the game, emptied as restore leaves it
+        TankGame game = createGameWithTanksAlongTopWall();
+        TankGame otherGame = new TankGameTemplate(game).createGame();
+        addBouncingBullets(game.getPlayerTank(), game.getEnemyTanks());
+        game.getEnemyTanks().get(0).addBullet(new Bullet(Wall.WIDTH * 3, Wall.HEIGHT * 2, 0, 0));
+        game.update();
+        assertTrue(game.isGameOver());
+        game.getPlayerTank().getBullets().clear();
+        int snapshotSize = game.getSnapshotSize();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(snapshotSize + Integer.BYTES);
+        //execute
+        game.snapshot(buffer);
+        assertEquals(snapshotSize, buffer.position());
+        buffer.flip();
+        otherGame.restore(buffer);
+        //check
+        assertEquals(describeState(game), describeState(otherGame));
+        assertTrue(otherGame.isGameOver());
+        assertFalse(otherGame.isWon());
+        assertEquals(3, otherGame.getBulletsWithoutTankOwner().size());
+        assertNotEquals(-1, otherGame.getBulletStore().rowOf(otherGame.getBulletsWithoutTankOwner().get(0)));
+    }
+
+    @Test
+    void testGetSnapshotSizeChangesNothing() {
+        //setup - a bullet added to the list of the player tank, not in the bullet store yet
+        gameWithAllElements.update();
+        Bullet addedBullet = new Bullet(P_TANK_X, P_TANK_Y + 100, 0, 0);
+        playerTank.addBullet(addedBullet);
+        BulletStore bulletStore = gameWithAllElements.getBulletStore();
+        int rowsBefore = bulletStore.size();
+        String stateBefore = describeState(gameWithAllElements);
+        //execute
+        int snapshotSize = gameWithAllElements.getSnapshotSize();
+        //check
+        assertEquals(rowsBefore, bulletStore.size());
+        assertEquals(-1, bulletStore.rowOf(addedBullet));
+        assertEquals(stateBefore, describeState(gameWithAllElements));
+        //execute - the snapshot stores the bullet, and writes exactly the size given
+        ByteBuffer buffer = ByteBuffer.allocate(snapshotSize);
+        gameWithAllElements.snapshot(buffer);
+        //check
+        assertEquals(snapshotSize, buffer.position());
+        assertEquals(rowsBefore + 1, bulletStore.size());
+        assertNotEquals(-1, bulletStore.rowOf(addedBullet));
+    }
+
+    @Test
+    void testRestoreRefusesSnapshotTakenWithOtherWalls() {
+        //setup
+        ByteBuffer buffer = ByteBuffer.allocate(gameWithAllElements.getSnapshotSize());
+        gameWithAllElements.snapshot(buffer);
+        buffer.flip();
+        TankGame game = createGameWithTanksAlongTopWall();
+        String initialState = describeState(game);
+        //execute & check
+        assertThrows(IllegalArgumentException.class, () -> game.restore(buffer));
+        assertEquals(0, buffer.position());
+        assertEquals(initialState, describeState(game));
+    }
+
+    @Test
+    void testRestoreRefusesSnapshotTakenWithWallCoordinatesSwapped() {
+        //setup - walls at (1, 2) and (2, 1) against walls at (1, 1) and (2, 2), in cells
+        TankGame game = new TankGame("game3", new PlayerTank(P_TANK_X, P_TANK_Y, P_TANK_GA), new ArrayList<>(),
+                new ArrayList<>(List.of(new Wall(Wall.WIDTH, Wall.HEIGHT * 2), new Wall(Wall.WIDTH * 2, Wall.HEIGHT))));
+        TankGame otherGame = new TankGame("game4", new PlayerTank(P_TANK_X, P_TANK_Y, P_TANK_GA), new ArrayList<>(),
+                new ArrayList<>(List.of(new Wall(Wall.WIDTH, Wall.HEIGHT), new Wall(Wall.WIDTH * 2, Wall.HEIGHT * 2))));
+        ByteBuffer buffer = ByteBuffer.allocate(game.getSnapshotSize());
+        game.snapshot(buffer);
+        buffer.flip();
+        //execute & check
+        assertThrows(IllegalArgumentException.class, () -> otherGame.restore(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void testUpdateAllocatesNothingPerTickAfterWarmUp() {
+        //setup - tanks along the top wall, and bullets bouncing and hitting each other away from them
+        PlayerTank newPlayerTank = new PlayerTank(Wall.WIDTH * 3, Wall.HEIGHT * 2, 0);
+        List<EnemyTank> newEnemyTanks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            newEnemyTanks.add(new EnemyTank(Wall.WIDTH * (5 + 2 * i), Wall.HEIGHT * 2, 0));
+        }
+        TankGame game = new TankGame("game3", newPlayerTank, newEnemyTanks, new ArrayList<>());
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = 0;
+        int measuredTicks = 0;
+        //execute - new bullets are fired before each round, outside of the measured ticks, and the first half of
+        // the rounds only warm up
+        for (int round = 0; round < 30; round++) {
+            addBouncingBullets(newPlayerTank, newEnemyTanks);
+            game.update();
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            for (int tick = 0; tick < 200; tick++) {
+                game.update();
+                game.handlePlayerTank(tick % 2 == 0 ? TankGame.RIGHT : TankGame.LEFT);
+            }
+            if (round >= 15) {
+                allocated += threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+                measuredTicks += 200;
+            }
+        }
+        //check - once warmed up, a tick creates no object: the bytes the JVM itself now and then allocates on the
+        // thread, as when compiling a method, stay well under a byte per tick, unlike any object created per tick
+        assertFalse(game.isGameOver());
+        assertTrue(allocated < measuredTicks, allocated + " bytes allocated over " + measuredTicks + " ticks");
+    }
+
     @Test
     void testToJson() {
         //execute & setup
@@ -471,6 +780,71 @@ public class TankGameTest {
         }
     }
 
+    //EFFECTS: returns a new game with only default walls, the player tank and four enemy tanks along the top wall
+    private TankGame createGameWithTanksAlongTopWall() {
+        List<EnemyTank> newEnemyTanks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            newEnemyTanks.add(new EnemyTank(Wall.WIDTH * (5 + 2 * i), Wall.HEIGHT * 2, 0));
+        }
+        return new TankGame("game3", new PlayerTank(Wall.WIDTH * 3, Wall.HEIGHT * 2, 0), newEnemyTanks,
+                new ArrayList<>());
+    }
+
+    //MODIFIES: game
+    //EFFECTS: plays the given number of ticks of the game, the player tank moving right and left and firing now
+    // and then, and returns the state of the game after each tick
+    private List<String> playTicks(TankGame game, int ticks) {
+        List<String> states = new ArrayList<>();
+        for (int tick = 0; tick < ticks; tick++) {
+            game.handlePlayerTank((tick % 15 == 0) ? TankGame.INPUT_FIRE
+                    : (tick % 2 == 0) ? TankGame.INPUT_RIGHT : TankGame.INPUT_LEFT);
+            game.update();
+            states.add(describeState(game));
+        }
+        return states;
+    }
+
+    //EFFECTS: returns a description of the whole state of the given game: its tanks, whether it is over and
+    // won, every row of its bullet store with the tank holding the bullet, and the bullet lists of its tanks
+    private String describeState(TankGame game) {
+        StringBuilder state = new StringBuilder(game.toJson().toString());
+        state.append(game.isGameOver()).append(game.isWon());
+        BulletStore bulletStore = game.getBulletStore();
+        List<Tank> tanks = new ArrayList<>(game.getEnemyTanks());
+        tanks.add(game.getPlayerTank());
+        for (int row = 0; row < bulletStore.size(); row++) {
+            Bullet bullet = bulletStore.getBullet(row);
+            int tank = -1;
+            for (int i = 0; i < tanks.size(); i++) {
+                tank = tanks.get(i).getBullets().contains(bullet) ? i : tank;
+            }
+            state.append(List.of(bulletStore.getX(row), bulletStore.getY(row), bulletStore.getFixedVelX(row),
+                    bulletStore.getFixedVelY(row), bulletStore.getFractionX(row), bulletStore.getFractionY(row),
+                    bulletStore.getBounceCount(row), tank));
+        }
+        for (Tank tank : tanks) {
+            for (Bullet bullet : tank.getBullets()) {
+                state.append(bulletStore.rowOf(bullet)).append(',');
+            }
+        }
+        return state.toString();
+    }
+
+    //MODIFIES: playerTank, enemyTanks
+    //EFFECTS: adds to the player tank bullets moving left and right in rows below the tanks, and to each enemy
+    // tank a bullet moving up or down in a column next to the side walls, away from every tank
+    private void addBouncingBullets(PlayerTank playerTank, List<EnemyTank> enemyTanks) {
+        for (int i = 0; i < 3; i++) {
+            playerTank.addBullet(new Bullet(TankGame.WIDTH / 2, Wall.HEIGHT * (5 + 3 * i),
+                    (i % 2 == 0) ? TankGame.BULLET_SPEED : -TankGame.BULLET_SPEED, 0));
+        }
+        for (int i = 0; i < enemyTanks.size(); i++) {
+            int posX = (i % 2 == 0) ? Wall.WIDTH + 10 : TankGame.WIDTH - Wall.WIDTH - 10 - Bullet.WIDTH;
+            enemyTanks.get(i).addBullet(new Bullet(posX, Wall.HEIGHT * (4 + 3 * i), 0,
+                    (i < 2) ? TankGame.BULLET_SPEED : -TankGame.BULLET_SPEED));
+        }
+    }
+
     //EFFECTS: returns true if the given tank in JSON and Tank object have equivalent values for
     // its parameters
     private boolean equivalentJsonAndTankObjects(Tank comparedTank, JSONObject jsonTank) {
@@ -0,0 +1,149 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.Wall;
+import model.tankgame.TankGame;
+import model.tankgame.TankGameTemplate;
+import model.tankgame.VectorEnvironment;
+import model.tanks.EnemyTank;
+import model.tanks.PlayerTank;
+import model.tanks.Tank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VectorEnvironmentTest {
+    static final int WORLDS = 3;
+    static final int MEASURED_TICKS = 2000;
+
+    final int P_TANK_X = TankGame.WIDTH / 2;
+    final int P_TANK_Y = TankGame.HEIGHT / 2;
+    final int E_TANK_X = Wall.WIDTH * 3;
+    final int E_TANK_Y = Wall.HEIGHT * 3;
+
+    VectorEnvironment environment;
+    float[] observations;
+    float[] rewards;
+    boolean[] dones;
+    int[] actions;
+
+    @BeforeEach
+    void runBeforeEach() {
+        environment = new VectorEnvironment(new TankGameTemplate(createGame()), WORLDS);
+        observations = new float[WORLDS * environment.getObservationSize()];
+        rewards = new float[WORLDS];
+        dones = new boolean[WORLDS];
+        actions = new int[WORLDS];
+    }
+
+    @Test
+    void testObservationLayout() {
+        //check
+        assertEquals(1, environment.getMaxEnemyTanks());
+        assertEquals(2 * TankGame.MAX_BULLET_PER_TANK, environment.getMaxBullets());
+        assertEquals(VectorEnvironment.PLAYER_FEATURES + VectorEnvironment.ENEMY_FEATURES
+                + environment.getMaxBullets() * VectorEnvironment.BULLET_FEATURES
+                + (TankGame.WIDTH / Wall.WIDTH) * (TankGame.HEIGHT / Wall.HEIGHT), environment.getObservationSize());
+        //execute
+        environment.reset(observations);
+        //check - the last environment, with the default walls all around the map
+        int start = (WORLDS - 1) * environment.getObservationSize();
+        assertEquals(P_TANK_X, observations[start]);
+        assertEquals(P_TANK_Y, observations[start + 1]);
+        assertEquals(0, observations[start + 2]);
+        int enemyTank = start + environment.getEnemyTankOffset();
+        assertEquals(1, observations[enemyTank]);
+        assertEquals(E_TANK_X, observations[enemyTank + 1]);
+        assertEquals(E_TANK_Y, observations[enemyTank + 2]);
+        assertEquals(90, observations[enemyTank + 3]);
+        assertEquals(0, observations[start + environment.getBulletOffset()]);
+        int walls = start + environment.getWallOffset();
+        assertEquals(1, observations[walls]);
+        assertEquals(0, observations[walls + (TankGame.WIDTH / Wall.WIDTH) + 1]);
+    }
+
+    @Test
+    void testStepAppliesActionsAndWritesBullets() {
+        //setup
+        actions[0] = TankGame.INPUT_RIGHT | TankGame.INPUT_FIRE;
+        actions[1] = TankGame.INPUT_UP;
+        //execute
+        environment.step(actions, observations, rewards, dones);
+        //check
+        int size = environment.getObservationSize();
+        assertEquals(P_TANK_X + Tank.SPEED, observations[0]);
+        assertEquals(P_TANK_Y - Tank.SPEED, observations[size + 1]);
+        assertEquals(P_TANK_X, observations[2 * size]);
+        for (int index = 0; index < WORLDS; index++) {
+            assertFalse(dones[index]);
+            assertEquals(0, rewards[index]);
+        }
+        //check - the bullet fired by the player tank of the first game, moving right
+        int bullet = environment.getBulletOffset();
+        assertEquals(1, observations[bullet]);
+        assertEquals(TankGame.BULLET_SPEED, observations[bullet + 3]);
+        assertEquals(0, observations[bullet + 4]);
+        assertEquals(1, observations[bullet + 5]);
+        assertEquals(0, observations[bullet + VectorEnvironment.BULLET_FEATURES]);
+        assertEquals(0, observations[size + environment.getBulletOffset()]);
+    }
+
+    @Test
+    void testFinishedEpisodeResetsAutomatically() {
+        //setup - the enemy tank of the first game sits right in front of the player tank's gun
+        TankGame firstGame = environment.getWorld(0);
+        EnemyTank target = firstGame.getEnemyTanks().get(0);
+        target.setLocation(P_TANK_X + Tank.WIDTH * 2, P_TANK_Y);
+        actions[0] = TankGame.INPUT_FIRE;
+        //execute
+        environment.step(actions, observations, rewards, dones);
+        actions[0] = TankGame.NO_INPUT;
+        for (int tick = 0; tick < 30 && !dones[0]; tick++) {
+            environment.step(actions, observations, rewards, dones);
+        }
+        //check
+        assertTrue(dones[0]);
+        assertEquals(VectorEnvironment.ENEMY_TANK_DESTROYED_REWARD + VectorEnvironment.WON_REWARD, rewards[0]);
+        assertSame(firstGame, environment.getWorld(0));
+        assertFalse(firstGame.isGameOver());
+        assertSame(target, firstGame.getEnemyTanks().get(0));
+        assertEquals(P_TANK_X, observations[0]);
+        assertEquals(E_TANK_X, observations[environment.getEnemyTankOffset() + 1]);
+    }
+
+    @Test
+    void testStepAllocatesNothingAfterWarmUp() {
+        //setup
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int tick = 0; tick < 2000; tick++) {
+            actions[tick % WORLDS] = (tick / 40 % 2 == 0) ? TankGame.INPUT_LEFT : TankGame.INPUT_RIGHT;
+            environment.step(actions, observations, rewards, dones);
+        }
+        //execute
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+            environment.step(actions, observations, rewards, dones);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        //check - the bytes the JVM itself now and then allocates on the thread stay well under a byte per step,
+        // unlike any object created per step
+        assertTrue(allocated < MEASURED_TICKS, allocated + " bytes allocated over " + MEASURED_TICKS + " steps");
+    }
+
+    //EFFECTS: returns a game with a player tank in the middle of the map and an enemy tank near its top left
+    // corner, facing down
+    private TankGame createGame() {
+        List<EnemyTank> enemyTanks = new ArrayList<>();
+        enemyTanks.add(new EnemyTank(E_TANK_X, E_TANK_Y, 90));
+        return new TankGame("environment", new PlayerTank(P_TANK_X, P_TANK_Y, 0, new ArrayList<Bullet>()),
+                enemyTanks, new ArrayList<>());
+    }
+
+}
@@ -0,0 +1,226 @@
+package model.tankgametest;
+
+import model.Bullet;
+import model.Wall;
+import model.tankgame.SweptCollision;
+import model.tankgame.TankGame;
+import model.tankgame.WallOccupancyGrid;
+import model.tankgame.WallRectangle;
+import model.tanks.Tank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WallOccupancyGridTest {
+    WallOccupancyGrid wallGrid;
+    Wall wall1;
+    Wall wall2;
+    Wall wallNextToWall2;
+    List<Wall> walls;
+    Tank tank;
+    Bullet bullet;
+
+    @BeforeEach
+    void runBeforeEach() {
+        wall1 = new Wall(Wall.WIDTH * 3, Wall.HEIGHT * 3);
+        wall2 = new Wall(Wall.WIDTH * 4, Wall.HEIGHT * 2);
+        wallNextToWall2 = new Wall(Wall.WIDTH * 5, Wall.HEIGHT * 2);
+        walls = new ArrayList<>();
+        walls.add(wall1);
+        walls.add(wall2);
+        wallGrid = new WallOccupancyGrid(walls);
+
+        tank = new Tank(Wall.WIDTH * 8, Wall.HEIGHT * 8, 0);
+        bullet = new Bullet(Wall.WIDTH * 8, Wall.HEIGHT * 8, 0, 0);
+    }
+
+    @Test
+    void testConstructorFromList() {
+        //check
+        assertEquals(2, wallGrid.getNumberOfWalls());
+        assertEquals(TankGame.WIDTH / Wall.WIDTH, wallGrid.getColumns());
+        assertEquals(TankGame.HEIGHT / Wall.HEIGHT, wallGrid.getRows());
+        assertEquals(wall1, wallGrid.getWallAt(3, 3));
+        assertEquals(wall2, wallGrid.getWallAt(4, 2));
+        assertNull(wallGrid.getWallAt(0, 0));
+        assertNull(wallGrid.getWallAt(-1, 2));
+        assertNull(wallGrid.getWallAt(wallGrid.getColumns(), 2));
+    }
+
+    @Test
+    void testAddWallCellAlreadyOccupied() {
+        //execute & check
+        assertFalse(wallGrid.addWall(new Wall(wall1.getX(), wall1.getY())));
+        assertEquals(wall1, wallGrid.getWallAt(3, 3));
+        assertEquals(2, wallGrid.getNumberOfWalls());
+    }
+
+    @Test
+    void testAddWallOutsideGridGrowsGrid() {
+        //setup
+        Wall farWall = new Wall(Wall.WIDTH * 40, Wall.HEIGHT * 50);
+        //execute
+        assertTrue(wallGrid.addWall(farWall));
+        //check
+        assertEquals(41, wallGrid.getColumns());
+        assertEquals(51, wallGrid.getRows());
+        assertEquals(farWall, wallGrid.getWallAt(40, 50));
+        assertEquals(wall1, wallGrid.getWallAt(3, 3));
+        assertEquals(wall2, wallGrid.getWallAt(4, 2));
+    }
+
+    @Test
+    void testClear() {
+        //execute
+        wallGrid.clear();
+        //check
+        assertEquals(0, wallGrid.getNumberOfWalls());
+        assertNull(wallGrid.getWallAt(3, 3));
+        assertFalse(wallGrid.isCollidingWithAWall(0, 0, new Tank(wall1.getX(), wall1.getY(), 0)));
+    }
+
+    @Test
+    void testIsCollidingWithAWallJustAtLeftBoundary() {
+        //setup
+        tank.setLocation(wall2.getLeftEdgeX() - Tank.SPEED - Tank.WIDTH, wall2.getY());
+        //execute & check
+        assertTrue(wallGrid.isCollidingWithAWall(Tank.SPEED, 0, tank));
+        tank.setLocation(tank.getX() - 1, tank.getY());
+        assertFalse(wallGrid.isCollidingWithAWall(Tank.SPEED, 0, tank));
+    }
+
+    @Test
+    void testIsCollidingWithAWallJustAtBottomBoundary() {
+        //setup
+        bullet.setLocation(wall1.getX(), wall1.getBottomEdgeY() + Tank.SPEED);
+        //execute & check
+        assertTrue(wallGrid.isCollidingWithAWall(0, -Tank.SPEED, bullet));
+        bullet.setLocation(bullet.getX(), bullet.getY() + 1);
+        assertFalse(wallGrid.isCollidingWithAWall(0, -Tank.SPEED, bullet));
+    }
+
+    @Test
+    void testIsCollidingWithAWallOutsideGrid() {
+        //setup
+        bullet.setLocation(-Wall.WIDTH * 2, TankGame.HEIGHT * 2);
+        //execute & check
+        assertFalse(wallGrid.isCollidingWithAWall(-Wall.WIDTH, Wall.HEIGHT, bullet));
+    }
+
+    @Test
+    void testGetFirstCollidingWallMatchesScanOfWallsInListOrder() {
+        //setup - a tank overlapping wall2 and the wall next to it, the latter added first
+        List<Wall> wallsInOrder = new ArrayList<>();
+        wallsInOrder.add(wallNextToWall2);
+        wallsInOrder.add(wall2);
+        WallOccupancyGrid gridInOrder = new WallOccupancyGrid(wallsInOrder);
+        tank.setLocation(wall2.getRightEdgeX() - Tank.WIDTH / 2, wall2.getBottomEdgeY() + Tank.SPEED);
+        //execute & check
+        assertEquals(wallNextToWall2, gridInOrder.getFirstCollidingWall(0, -Tank.SPEED, tank));
+        for (Wall w : wallsInOrder) {
+            assertTrue(w.isCollidingWithWall(0, -Tank.SPEED, tank));
+        }
+    }
+
+    @Test
+    void testGetFirstCollidingWallNoCollision() {
+        //execute & check
+        assertNull(wallGrid.getFirstCollidingWall(Tank.SPEED, 0, tank));
+    }
+
+    @Test
+    void testGetFirstCollidingWallMatchesIsCollidingWithWallAroundAWall() {
+        //check every destination around wall1 against the wall's own collision test
+        for (int x = wall1.getX() - Wall.WIDTH; x <= wall1.getRightEdgeX() + Wall.WIDTH; x++) {
+            for (int y = wall1.getY() - Wall.HEIGHT; y <= wall1.getBottomEdgeY() + Wall.HEIGHT; y += 3) {
+                bullet.setLocation(x, y);
+                boolean expected = wall1.isCollidingWithWall(0, 0, bullet)
+                        || wall2.isCollidingWithWall(0, 0, bullet);
+                assertEquals(expected, wallGrid.isCollidingWithAWall(0, 0, bullet));
+            }
+        }
+    }
+
+    @Test
+    void testSweepThroughWallsHoldsNearestWallOnThePath() {
+        //setup - moving left past wallNextToWall2 and wall2, far enough to reach both
+        SweptCollision sweptCollision = new SweptCollision();
+        wallGrid.addWall(wallNextToWall2);
+        bullet.setLocation(wallNextToWall2.getRightEdgeX() + 5, wall2.getY());
+        //execute & check
+        assertTrue(wallGrid.sweepThroughWalls(-Wall.WIDTH * 3, 0, bullet, sweptCollision));
+        assertEquals(wallNextToWall2, sweptCollision.getWall());
+        assertEquals(1, sweptCollision.getNormalX());
+    }
+
+    @Test
+    void testSweepThroughWallsNoWallOnThePath() {
+        //setup
+        SweptCollision sweptCollision = new SweptCollision();
+        //execute & check
+        assertFalse(wallGrid.sweepThroughWalls(-Wall.WIDTH * 3, Wall.HEIGHT, bullet, sweptCollision));
+        assertFalse(sweptCollision.hasHit());
+    }
+
+    @Test
+    void testGetWallRectanglesDefaultWalls() {
+        //setup
+        WallOccupancyGrid defaultGrid = new WallOccupancyGrid(
+                TankGame.getDefaultWallsGivenGameWidthAndHeight(TankGame.WIDTH, TankGame.HEIGHT));
+        //execute
+        List<WallRectangle> wallRectangles = defaultGrid.getWallRectangles();
+        //check - the top row, the left and right columns below it, and the bottom row between them
+        assertEquals(4, wallRectangles.size());
+        int numberOfWalls = 0;
+        for (WallRectangle wr : wallRectangles) {
+            numberOfWalls += wr.getNumberOfWalls();
+        }
+        assertEquals(defaultGrid.getNumberOfWalls(), numberOfWalls);
+        assertEquals(TankGame.WIDTH, wallRectangles.get(0).getWidth());
+        assertEquals(Wall.HEIGHT, wallRectangles.get(0).getHeight());
+        assertEquals(TankGame.HEIGHT - Wall.HEIGHT, wallRectangles.get(1).getHeight());
+    }
+
+    @Test
+    void testGetWallRectanglesMergesRowsFirst() {
+        //setup - wall2 and the wall next to it, with a wall below wall2 only, which lies right of wall1
+        Wall wallBelowWall2 = new Wall(wall2.getX(), wall2.getY() + Wall.HEIGHT);
+        wallGrid.addWall(wallNextToWall2);
+        wallGrid.addWall(wallBelowWall2);
+        //execute
+        WallRectangle rectangleOfWall2 = wallGrid.getWallRectangleAt(4, 2);
+        //check - the row of wall2 is merged first, so the wall below it is merged with wall1 instead
+        assertEquals(2, wallGrid.getWallRectangles().size());
+        assertEquals(rectangleOfWall2, wallGrid.getWallRectangleAt(5, 2));
+        assertEquals(wall2.getLeftEdgeX(), rectangleOfWall2.getLeftEdgeX());
+        assertEquals(wallNextToWall2.getRightEdgeX(), rectangleOfWall2.getRightEdgeX());
+        assertEquals(wall2.getTopEdgeY(), rectangleOfWall2.getTopEdgeY());
+        assertEquals(wall2.getBottomEdgeY(), rectangleOfWall2.getBottomEdgeY());
+        assertEquals(wallNextToWall2, rectangleOfWall2.getWallNearest(wallNextToWall2.getX() + 1, 0));
+        assertEquals(wallGrid.getWallRectangleAt(3, 3), wallGrid.getWallRectangleAt(4, 3));
+        assertEquals(wall1, wallGrid.getWallRectangleAt(3, 3).getWallNearest(0, 0));
+        assertEquals(wallBelowWall2, wallGrid.getWallRectangleAt(3, 3).getWallNearest(wallBelowWall2.getX(),
+                wallBelowWall2.getY()));
+        assertNull(wallGrid.getWallRectangleAt(0, 0));
+    }
+
+    @Test
+    void testGetWallRectanglesMergedAgainAfterAddingWall() {
+        //setup
+        assertEquals(2, wallGrid.getWallRectangles().size());
+        //execute
+        wallGrid.addWall(wallNextToWall2);
+        //check
+        assertEquals(2, wallGrid.getWallRectangles().size());
+        assertEquals(2, wallGrid.getWallRectangleAt(5, 2).getNumberOfWalls());
+        //execute
+        wallGrid.clear();
+        //check
+        assertTrue(wallGrid.getWallRectangles().isEmpty());
+    }
+
+}